@@ -0,0 +1,38 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.service.birthday.BirthdayDispatcher;
+import com.fastcampus2.mycontact.service.birthday.BirthdayProperties;
+import com.fastcampus2.mycontact.service.birthday.BirthdaySink;
+import com.fastcampus2.mycontact.service.birthday.FileBirthdaySink;
+import com.fastcampus2.mycontact.service.birthday.LoggingBirthdaySink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+
+// 생일 축하 발송 (mycontact.birthday.enabled, 기본 사용 안 함)
+// 실제 발송 채널은 BirthdaySink Bean 을 등록해 바꾼다. 없으면 mycontact.birthday.sink 의 로그/파일 sink 를 쓴다.
+// person 테이블을 JDBC 로 직접 읽으므로 sharding 모드와 함께 켜면 기동할 때 실패한다.
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.birthday", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(BirthdayProperties.class)
+public class BirthdayConfig {
+    @Bean
+    @ConditionalOnMissingBean
+    public BirthdaySink birthdaySink(BirthdayProperties properties) {
+        if (properties.getSink() == BirthdayProperties.SinkType.FILE) {
+            return new FileBirthdaySink(Paths.get(properties.getSinkFile()));
+        }
+
+        return new LoggingBirthdaySink();
+    }
+
+    @Bean
+    public BirthdayDispatcher birthdayDispatcher(DataSource dataSource, BirthdayProperties properties, BirthdaySink birthdaySink) {
+        return new BirthdayDispatcher(dataSource, properties, birthdaySink);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.service.dedup.DuplicateDetector;
+import com.fastcampus2.mycontact.service.dedup.DuplicateProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// 중복 연락처 검사 (mycontact.duplicates)
+@Configuration
+@EnableConfigurationProperties(DuplicateProperties.class)
+public class DuplicateConfig {
+    @Bean
+    public DuplicateDetector duplicateDetector(DataSource dataSource, DuplicateProperties properties) {
+        return new DuplicateDetector(dataSource, properties);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import com.fastcampus2.mycontact.service.index.IndexSnapshotProperties;
+import com.fastcampus2.mycontact.service.index.PersonIndex;
+import com.fastcampus2.mycontact.service.index.PersonIndexSnapshotter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 메모리 색인과 스냅샷 (mycontact.index-snapshot.enabled, 기본 사용 안 함)
+// 변경 시각(modifiedAt)이 JPA 저장소에만 있으므로 sharding 모드에서는 사용하지 않는다.
+@Configuration
+@ConditionalOnExpression("${mycontact.index-snapshot.enabled:false} and !${mycontact.sharding.enabled:false}")
+@EnableConfigurationProperties(IndexSnapshotProperties.class)
+public class IndexSnapshotConfig {
+    @Bean
+    public PersonIndex personIndex() {
+        return new PersonIndex();
+    }
+
+    @Bean
+    public PersonIndexSnapshotter personIndexSnapshotter(PersonIndex personIndex, PersonStatistics personStatistics, PersonRepository personRepository,
+                                                         TransactionTemplate transactionTemplate, IndexSnapshotProperties properties) {
+        return new PersonIndexSnapshotter(personIndex, personStatistics, personRepository, transactionTemplate, properties);
+    }
+}
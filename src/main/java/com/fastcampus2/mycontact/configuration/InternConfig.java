@@ -0,0 +1,16 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.domain.intern.InternProperties;
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// Person 문자열 사전 설정 (mycontact.intern)
+// 엔티티에서 쓰는 static 사전이므로 Bean 을 만들지 않고 설정만 넣는다.
+@Configuration
+@EnableConfigurationProperties(InternProperties.class)
+public class InternConfig {
+    public InternConfig(InternProperties properties) {
+        PersonStrings.configure(properties);
+    }
+}
@@ -0,0 +1,15 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.configuration.internal.LocalAccessInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// /internal/** 는 같은 호스트에서 온 요청만 허용한다.
+@Configuration
+public class InternalAccessConfig implements WebMvcConfigurer {
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LocalAccessInterceptor()).addPathPatterns("/internal/**");
+    }
+}
@@ -0,0 +1,18 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.profiler.jfr.PersonOperationAspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// PersonService / PersonRepository 호출을 JFR 이벤트로 남긴다. (mycontact.jfr.enabled, 기본 사용)
+// recording 이 없을 때는 이벤트를 커밋하지 않으므로 비용이 거의 없다.
+// 설정 파일: resources/jfr/mycontact.jfc, 요약: JfrOperationAnalyzer
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+    @Bean
+    public PersonOperationAspect personOperationAspect() {
+        return new PersonOperationAspect();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.journal.ChangeJournal;
+import com.fastcampus2.mycontact.service.journal.JournalProperties;
+import com.fastcampus2.mycontact.service.journal.JournalReconciler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 변경 이력 저널 (mycontact.journal.enabled, 기본 사용 안 함)
+// sharding 모드에서도 쓸 수 있다. 다만 shard 에 먼저 커밋되므로 그 뒤에 기록한다. (ChangeJournal 참고)
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.journal", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(JournalProperties.class)
+public class JournalConfig {
+    @Bean
+    public ChangeJournal changeJournal(JournalProperties properties) {
+        return new ChangeJournal(properties);
+    }
+
+    @Bean
+    public JournalReconciler journalReconciler(ChangeJournal changeJournal, PersonRepository personRepository, TransactionTemplate transactionTemplate,
+                                               @Value("${mycontact.sharding.enabled:false}") boolean sharded) {
+        return new JournalReconciler(changeJournal, personRepository, transactionTemplate, sharded);
+    }
+}
@@ -5,10 +5,14 @@ import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JsonConfig {
@@ -20,9 +24,33 @@ public class JsonConfig {
         return converter;
     }
 
+    // Accept / Content-Type 이 application/cbor 인 요청
+    @Bean
+    public MappingJackson2CborHttpMessageConverter mappingJackson2CborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper());
+    }
+
+    // Accept / Content-Type 이 application/x-jackson-smile 인 요청
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter mappingJackson2SmileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(smileObjectMapper());
+    }
+
     @Bean
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = new ObjectMapper();
+        return configure(new ObjectMapper());
+    }
+
+    // 바이너리 포맷도 JSON 과 같은 모듈과 날짜 설정을 쓴다.
+    public static ObjectMapper cborObjectMapper() {
+        return configure(new ObjectMapper(new CBORFactory()));
+    }
+
+    public static ObjectMapper smileObjectMapper() {
+        return configure(new ObjectMapper(new SmileFactory()));
+    }
+
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
         objectMapper.registerModule(new BirthdayModule());
         objectMapper.registerModule(new JavaTimeModule());
 
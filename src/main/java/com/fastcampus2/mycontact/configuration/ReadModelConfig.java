@@ -0,0 +1,22 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.readmodel.PersonReadModel;
+import com.fastcampus2.mycontact.service.readmodel.ReadModelProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// off-heap 읽기 모델 (mycontact.read-model.enabled, 기본 사용 안 함)
+// PersonRepository 에서 적재하므로 sharding 모드에서는 사용하지 않는다.
+@Configuration
+@ConditionalOnExpression("${mycontact.read-model.enabled:false} and !${mycontact.sharding.enabled:false}")
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class ReadModelConfig {
+    @Bean
+    public PersonReadModel personReadModel(PersonRepository personRepository, TransactionTemplate transactionTemplate, ReadModelProperties properties) {
+        return new PersonReadModel(personRepository, transactionTemplate, properties);
+    }
+}
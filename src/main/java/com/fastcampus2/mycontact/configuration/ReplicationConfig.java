@@ -0,0 +1,72 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.configuration.replication.H2ReplicaSynchronizer;
+import com.fastcampus2.mycontact.configuration.replication.ReadYourWritesInterceptor;
+import com.fastcampus2.mycontact.configuration.replication.ReplicationProperties;
+import com.fastcampus2.mycontact.configuration.replication.ReplicationRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// mycontact.replication.enabled=true 일 때 readOnly 트랜잭션을 replica 로 보낸다.
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.replication", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig implements WebMvcConfigurer {
+    private final ReplicationProperties replicationProperties;
+
+    public ReplicationConfig(ReplicationProperties replicationProperties) {
+        this.replicationProperties = replicationProperties;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicationRoutingDataSource replicationRoutingDataSource(DataSourceProperties dataSourceProperties) {
+        DataSource primary = dataSourceProperties.initializeDataSourceBuilder().build();
+        List<DataSource> replicas = replicationProperties.getReplicaUrls().stream()
+                .map(url -> DataSourceBuilder.create()
+                        .url(url)
+                        .username(replicationProperties.getUsername())
+                        .password(replicationProperties.getPassword())
+                        .build())
+                .collect(Collectors.toList());
+
+        return new ReplicationRoutingDataSource(primary, replicas);
+    }
+
+    // 트랜잭션 시작 시점이 아니라 첫 쿼리 시점에 커넥션을 골라야 readOnly 여부가 반영된다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicationRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mycontact.replication", name = "local-sync", havingValue = "true")
+    public H2ReplicaSynchronizer h2ReplicaSynchronizer(ReplicationRoutingDataSource replicationRoutingDataSource) {
+        // 실제 replica 의 데이터를 지우지 않도록 메모리 H2 에만 허용한다.
+        for (String url : replicationProperties.getReplicaUrls()) {
+            if (!url.startsWith("jdbc:h2:mem:")) {
+                throw new IllegalStateException("mycontact.replication.local-sync 는 jdbc:h2:mem: replica 에만 쓸 수 있습니다: " + url);
+            }
+        }
+
+        return new H2ReplicaSynchronizer(replicationRoutingDataSource.getPrimary(), replicationRoutingDataSource.getReplicas(),
+                replicationProperties.getSyncInterval());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicationProperties.getStickyWindow()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.repository.shard.ShardProperties;
+import com.fastcampus2.mycontact.repository.shard.ShardRebalancer;
+import com.fastcampus2.mycontact.repository.shard.ShardedPersonRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// mycontact.sharding.enabled=true 일 때 Person 을 여러 datasource 에 나누어 저장한다.
+// shard datasource 는 Bean 으로 등록하지 않는다. (기본 datasource 자동 설정이 꺼지지 않도록)
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardingConfig {
+    @Bean(destroyMethod = "close")
+    public ShardedPersonRepository shardedPersonRepository(ShardProperties properties) {
+        List<DataSource> dataSources = properties.getUrls().stream()
+                .map(url -> DataSourceBuilder.create()
+                        .url(url)
+                        .username(properties.getUsername())
+                        .password(properties.getPassword())
+                        .build())
+                .collect(Collectors.toList());
+
+        return new ShardedPersonRepository(dataSources);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedPersonRepository shardedPersonRepository) {
+        return new ShardRebalancer(shardedPersonRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mycontact.sharding", name = "rebalance-on-startup", havingValue = "true")
+    // 웹 서버가 요청을 받기 전에(모든 singleton 을 만든 직후) 옮겨 둔다. 옮기는 동안 들어온 쓰기가 원래 shard 의 행과 섞이지 않게 한다.
+    public SmartInitializingSingleton shardRebalanceRunner(ShardRebalancer shardRebalancer) {
+        return shardRebalancer::rebalance;
+    }
+}
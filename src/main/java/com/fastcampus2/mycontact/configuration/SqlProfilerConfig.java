@@ -0,0 +1,57 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.profiler.ProfilingDataSource;
+import com.fastcampus2.mycontact.profiler.SqlProfiler;
+import com.fastcampus2.mycontact.profiler.SqlProfilerProperties;
+import com.fastcampus2.mycontact.profiler.SqlProfilingFilter;
+import com.fastcampus2.mycontact.profiler.SqlStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// 요청 단위 SQL 프로파일러 (mycontact.profiler.enabled, 기본 사용)
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlProfilerProperties.class)
+public class SqlProfilerConfig {
+    @Bean
+    public SqlProfiler sqlProfiler(SqlProfilerProperties properties) {
+        return new SqlProfiler(properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer(SqlProfiler sqlProfiler) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(sqlProfiler));
+    }
+
+    // 애플리케이션 datasource 를 감싸 실행 시간을 잰다.
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<SqlProfiler> sqlProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+                    return new ProfilingDataSource((DataSource) bean, sqlProfiler.getObject());
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(SqlProfiler sqlProfiler) {
+        FilterRegistrationBean<SqlProfilingFilter> registration = new FilterRegistrationBean<>(new SqlProfilingFilter(sqlProfiler));
+        registration.addUrlPatterns("/api/person", "/api/person/*");
+
+        return registration;
+    }
+}
@@ -0,0 +1,100 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.configuration.virtualthread.ConnectionLimitingDataSource;
+import com.fastcampus2.mycontact.configuration.virtualthread.PinningMonitor;
+import com.fastcampus2.mycontact.configuration.virtualthread.VirtualThreadProperties;
+import com.fastcampus2.mycontact.configuration.virtualthread.VirtualThreads;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+
+// 가상 스레드 실행 모드 (mycontact.virtual-threads.enabled, 기본 사용 안 함, JDK 21 이상)
+// Tomcat 요청과 Spring MVC 비동기 처리를 작업마다 새 가상 스레드에서 실행한다.
+// 요청 수가 스레드 수에 묶이지 않는 대신 커넥션이 병목이 되므로, datasource 앞에서 동시 대여 수를 막는다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "mycontact.virtual-threads", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(VirtualThreadProperties.class)
+public class VirtualThreadConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadRequestExecutor() {
+        return VirtualThreads.newExecutor("http-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadRequestExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadRequestExecutor);
+    }
+
+    // Spring MVC 비동기 처리(Callable 등)가 쓰는 executor 를 바꾼다. (@Async 는 쓰지 않으므로 켜지 않는다)
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor virtualThreadTaskExecutor() {
+        return new TaskExecutorAdapter(VirtualThreads.newExecutor("async-vt-"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "mycontact.virtual-threads", name = "pinning-diagnostics", havingValue = "true", matchIfMissing = true)
+    public PinningMonitor pinningMonitor(VirtualThreadProperties properties) {
+        return new PinningMonitor(properties.getPinningThreshold());
+    }
+
+    // 애플리케이션 datasource 앞에 동시 대여 수 제한을 둔다.
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(ObjectProvider<VirtualThreadProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+                    DataSource dataSource = (DataSource) bean;
+                    int maxConnections = maxConnections(dataSource, properties.getObject());
+
+                    log.info("가상 스레드 모드: 동시 커넥션 {} 개로 제한", maxConnections);
+
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, properties.getObject().getConnectionTimeout());
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    // 설정한 값이 있으면 HikariCP 풀 크기도 그 값으로 맞추고, 없으면 풀 크기를 따른다.
+    // 풀을 찾을 수 없는 datasource(복제 라우팅 등)면 max-connections 를 꼭 설정해야 한다.
+    private static int maxConnections(DataSource dataSource, VirtualThreadProperties properties) {
+        HikariDataSource hikari = unwrapHikari(dataSource);
+
+        if (properties.getMaxConnections() > 0) {
+            if (hikari != null) {
+                hikari.setMaximumPoolSize(properties.getMaxConnections());
+            }
+
+            return properties.getMaxConnections();
+        }
+
+        if (hikari == null) {
+            throw new IllegalStateException("커넥션 풀 크기를 알 수 없는 datasource 입니다. mycontact.virtual-threads.max-connections 를 설정하세요.");
+        }
+
+        return hikari.getMaximumPoolSize();
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fastcampus2.mycontact.configuration.internal;
+
+import com.fastcampus2.mycontact.exception.LocalAccessOnlyException;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+// 같은 호스트(loopback)에서 온 요청만 통과시킨다. 운영용 /internal/** 엔드포인트 앞에 둔다.
+public class LocalAccessInterceptor implements HandlerInterceptor {
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        try {
+            if (!InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress()) {
+                throw new LocalAccessOnlyException();
+            }
+        } catch (UnknownHostException e) {
+            throw new LocalAccessOnlyException();
+        }
+
+        return true;
+    }
+}
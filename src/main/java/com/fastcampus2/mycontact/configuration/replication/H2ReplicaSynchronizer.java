@@ -0,0 +1,117 @@
+package com.fastcampus2.mycontact.configuration.replication;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.sql.ResultSetMetaData;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 로컬 H2 환경용 복제. primary 의 테이블을 주기적으로 replica 에 통째로 복사한다.
+// replica 의 데이터는 한 트랜잭션 안에서 교체되므로 복사 중에도 읽기는 이전 데이터를 본다.
+@Slf4j
+public class H2ReplicaSynchronizer {
+    private final JdbcTemplate primary;
+    private final List<DataSource> replicas;
+    private final Duration interval;
+    private final Set<DataSource> initialized = new HashSet<>();
+
+    private ScheduledExecutorService scheduler;
+
+    public H2ReplicaSynchronizer(DataSource primary, List<DataSource> replicas, Duration interval) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        synchronize();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "h2-replica-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::synchronizeQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public synchronized void synchronize() {
+        List<String> tables = primary.queryForList(
+                "select table_name from information_schema.tables where table_schema = 'PUBLIC' and table_type in ('TABLE', 'BASE TABLE')", String.class);
+
+        for (DataSource replica : replicas) {
+            JdbcTemplate replicaTemplate = new JdbcTemplate(replica);
+
+            if (initialized.add(replica)) {
+                createSchema(replicaTemplate);
+            }
+
+            new TransactionTemplate(new DataSourceTransactionManager(replica)).execute(status -> {
+                tables.forEach(table -> copy(table, replicaTemplate));
+                return null;
+            });
+        }
+    }
+
+    private void synchronizeQuietly() {
+        try {
+            synchronize();
+        } catch (RuntimeException e) {
+            log.warn("replica 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    private void createSchema(JdbcTemplate replica) {
+        for (String statement : primary.queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("CREATE USER") && !statement.startsWith("--")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    private void copy(String table, JdbcTemplate replica) {
+        String quoted = "\"" + table + "\"";
+        List<Object[]> rows = new ArrayList<>();
+        List<String> columns = new ArrayList<>();
+
+        primary.query("select * from " + quoted, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+
+            if (columns.isEmpty()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    columns.add("\"" + metaData.getColumnName(i) + "\"");
+                }
+            }
+
+            Object[] row = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            rows.add(row);
+        });
+
+        replica.update("delete from " + quoted);
+
+        if (!rows.isEmpty()) {
+            replica.batchUpdate("insert into " + quoted + " (" + String.join(", ", columns) + ") values ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")", rows);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.fastcampus2.mycontact.configuration.replication;
+
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 쓰기 요청을 보낸 클라이언트는 stickyWindow 동안 primary 에서 읽도록 한다.
+// 클라이언트는 X-Client-Id 헤더로 구분하고, 없으면 요청한 주소로 구분한다.
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final int EVICTION_THRESHOLD = 10_000;
+
+    private final long windowMillis;
+    private final ConcurrentMap<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Long lastWrite = lastWrites.get(clientOf(request));
+
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis) {
+            ReplicationContext.stickToPrimary();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicationContext.clear();
+
+        if (isWrite(request.getMethod()) && ex == null && response.getStatus() < 400) {
+            long now = System.currentTimeMillis();
+            lastWrites.put(clientOf(request), now);
+
+            if (lastWrites.size() > EVICTION_THRESHOLD) {
+                lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+            }
+        }
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_ID_HEADER);
+
+        return StringUtils.hasText(clientId) ? clientId : request.getRemoteAddr();
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
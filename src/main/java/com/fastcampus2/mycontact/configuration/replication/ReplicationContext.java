@@ -0,0 +1,21 @@
+package com.fastcampus2.mycontact.configuration.replication;
+
+// 현재 스레드의 읽기를 primary 로 고정할지 여부
+public final class ReplicationContext {
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private ReplicationContext() {
+    }
+
+    public static void stickToPrimary() {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+    }
+
+    public static boolean isStickToPrimary() {
+        return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+    }
+
+    public static void clear() {
+        PRIMARY_ONLY.remove();
+    }
+}
@@ -0,0 +1,29 @@
+package com.fastcampus2.mycontact.configuration.replication;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.replication")
+public class ReplicationProperties {
+    private boolean enabled;
+
+    // primary 는 spring.datasource 설정을 그대로 사용한다.
+    private List<String> replicaUrls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    // 쓰기 이후 이 시간 동안은 같은 클라이언트의 읽기를 primary 로 보낸다. (read-your-writes)
+    private Duration stickyWindow = Duration.ofSeconds(5);
+
+    // 로컬(H2) 환경에서 primary 의 데이터를 replica 로 주기적으로 복사한다. (기본 꺼짐, jdbc:h2:mem: replica 에만 허용)
+    private boolean localSync;
+
+    private Duration syncInterval = Duration.ofSeconds(1);
+}
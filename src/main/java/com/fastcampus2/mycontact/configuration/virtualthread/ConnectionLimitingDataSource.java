@@ -0,0 +1,129 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 동시에 빌려 가는 커넥션 수를 semaphore 로 막는다.
+// 가상 스레드는 요청마다 하나씩 만들어지므로 수천 개가 한꺼번에 커넥션 풀에 몰릴 수 있다.
+// 풀 안에서 기다리게 두지 않고, 들어온 순서대로(fair) 여기서 기다리다 connectionTimeout 이 지나면 실패시킨다.
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements Closeable {
+    private final int maxConnections;
+    private final long timeoutNanos;
+    private final Semaphore permits;
+
+    private final LongAdder timeouts = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionLimitingDataSource(DataSource targetDataSource, int maxConnections, Duration connectionTimeout) {
+        super(targetDataSource);
+        this.maxConnections = maxConnections;
+        this.timeoutNanos = connectionTimeout.toNanos();
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (getTargetDataSource() instanceof Closeable) {
+            ((Closeable) getTargetDataSource()).close();
+        }
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getActiveConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public Duration getMaxWait() {
+        return Duration.ofNanos(maxWaitNanos.get());
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+
+        try {
+            if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("커넥션을 " + Duration.ofNanos(timeoutNanos).toMillis()
+                        + "ms 안에 얻지 못했습니다. (최대 " + maxConnections + " 개, 대기 " + permits.getQueueLength() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("커넥션을 기다리다 중단되었습니다.", e);
+        }
+
+        long waited = System.nanoTime() - start;
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+    }
+
+    // close() 를 여러 번 불러도 한 번만 반납한다.
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                } finally {
+                    permits.release();
+                }
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
@@ -0,0 +1,190 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import com.fastcampus2.mycontact.configuration.virtualthread.dto.VirtualThreadReportDto.PinnedSite;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+// 가상 스레드가 carrier 스레드에 고정된 채 멈춘 곳(jdk.VirtualThreadPinned)을 JFR 로 모은다.
+// synchronized 안에서 I/O 를 기다리는 경우(JDBC 드라이버, 커넥션 풀 등)가 대표적이다.
+// 고정된 동안 carrier 를 다른 가상 스레드가 쓰지 못하므로, 자주 나오는 곳은 처리량을 떨어뜨린다.
+// 위치는 JDK 내부를 건너뛴 첫 frame 으로 묶고, 처음 나온 위치만 stack 과 함께 로그로 남긴다.
+// JFR 이벤트 스트림(RecordingStream)은 JDK 14 부터 있으므로 VirtualThreads 처럼 reflection 으로 부른다.
+@Slf4j
+public class PinningMonitor implements InitializingBean, DisposableBean {
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String RECORDING_STREAM = "jdk.jfr.consumer.RecordingStream";
+    private static final String EVENT_SETTINGS = "jdk.jfr.EventSettings";
+    private static final String RECORDED_EVENT = "jdk.jfr.consumer.RecordedEvent";
+    private static final String RECORDED_STACK_TRACE = "jdk.jfr.consumer.RecordedStackTrace";
+    private static final String RECORDED_FRAME = "jdk.jfr.consumer.RecordedFrame";
+    private static final String RECORDED_METHOD = "jdk.jfr.consumer.RecordedMethod";
+    private static final String RECORDED_CLASS = "jdk.jfr.consumer.RecordedClass";
+    private static final int MAX_SITES = 100;
+    private static final int LOGGED_FRAMES = 10;
+
+    private final Duration threshold;
+    private final LongAdder pinned = new LongAdder();
+    private final ConcurrentMap<String, Site> sites = new ConcurrentHashMap<>();
+    private AutoCloseable stream;
+
+    public PinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            Class<?> streamType = Class.forName(RECORDING_STREAM);
+            Object recording = streamType.getConstructor().newInstance();
+            stream = (AutoCloseable) recording;
+
+            Object settings = invoke(streamType.getMethod("enable", String.class), recording, PINNED_EVENT);
+            Class<?> settingsType = Class.forName(EVENT_SETTINGS);
+            invoke(settingsType.getMethod("withThreshold", Duration.class), settings, threshold);
+            invoke(settingsType.getMethod("withStackTrace"), settings);
+
+            Consumer<Object> handler = this::onPinned;
+            invoke(streamType.getMethod("onEvent", String.class, Consumer.class), recording, PINNED_EVENT, handler);
+            invoke(streamType.getMethod("startAsync"), recording);
+        } catch (ClassNotFoundException e) {
+            log.warn("JFR 이벤트 스트림이 없어 가상 스레드 고정을 모으지 않습니다. (현재 {})", System.getProperty("java.version"));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("JFR 이벤트 스트림을 시작할 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public long getPinned() {
+        return pinned.sum();
+    }
+
+    // 많이 나온 위치부터
+    public List<PinnedSite> getSites() {
+        return sites.entrySet().stream()
+                .map(entry -> new PinnedSite(entry.getKey(), entry.getValue().count.sum(), entry.getValue().maxNanos.get() / 1_000_000.0))
+                .sorted(Comparator.comparingLong(PinnedSite::getCount).reversed())
+                .collect(Collectors.toList());
+    }
+
+    // event 는 jdk.jfr.consumer.RecordedEvent
+    void onPinned(Object event) {
+        pinned.increment();
+
+        Duration duration = (Duration) call(RECORDED_EVENT, event, "getDuration");
+        Object stackTrace = call(RECORDED_EVENT, event, "getStackTrace");
+        List<Frame> frames = stackTrace != null ? frames(stackTrace) : new ArrayList<>();
+        String location = location(frames);
+
+        Site site = sites.get(location);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                return;
+            }
+
+            Site created = new Site();
+            site = sites.putIfAbsent(location, created);
+
+            if (site == null) {
+                site = created;
+                log.warn("가상 스레드 고정 {}ms: {}\n{}", duration.toMillis(), location, format(frames));
+            }
+        }
+
+        site.count.increment();
+        site.maxNanos.accumulateAndGet(duration.toNanos(), Math::max);
+    }
+
+    // RecordedStackTrace 의 RecordedFrame 들을 읽어 둔다.
+    private static List<Frame> frames(Object stackTrace) {
+        List<Frame> frames = new ArrayList<>();
+
+        for (Object frame : (List<?>) call(RECORDED_STACK_TRACE, stackTrace, "getFrames")) {
+            Object method = call(RECORDED_FRAME, frame, "getMethod");
+            String type = (String) call(RECORDED_CLASS, call(RECORDED_METHOD, method, "getType"), "getName");
+
+            frames.add(new Frame(type, (String) call(RECORDED_METHOD, method, "getName"), (Integer) call(RECORDED_FRAME, frame, "getLineNumber")));
+        }
+
+        return frames;
+    }
+
+    private static String location(List<Frame> frames) {
+        for (Frame frame : frames) {
+            if (!frame.type.startsWith("java.") && !frame.type.startsWith("jdk.") && !frame.type.startsWith("sun.")) {
+                return frame.toString();
+            }
+        }
+
+        return "(unknown)";
+    }
+
+    private static String format(List<Frame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame)
+                .collect(Collectors.joining("\n"));
+    }
+
+    // JDK 내부 구현 클래스가 아닌 공개 타입의 메서드로 부른다.
+    private static Object call(String type, Object target, String name) {
+        try {
+            return invoke(Class.forName(type).getMethod(name), target);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getTargetException();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    private static class Frame {
+        private final String type;
+        private final String method;
+        private final int line;
+
+        private Frame(String type, String method, int line) {
+            this.type = type;
+            this.method = method;
+            this.line = line;
+        }
+
+        @Override
+        public String toString() {
+            return type + "." + method + ":" + line;
+        }
+    }
+
+    private static class Site {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
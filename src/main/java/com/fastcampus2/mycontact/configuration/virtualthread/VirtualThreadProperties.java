@@ -0,0 +1,24 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.virtual-threads")
+public class VirtualThreadProperties {
+    // 요청과 MVC 비동기 작업을 가상 스레드에서 실행한다. (JDK 21 이상)
+    private boolean enabled;
+
+    // 동시에 빌려 갈 수 있는 커넥션 수. 0 이면 커넥션 풀 크기를 따른다.
+    // 커넥션 풀이 HikariCP 이면 풀 크기도 이 값으로 맞춘다.
+    private int maxConnections;
+
+    // 커넥션을 기다리는 최대 시간. 넘으면 SQLTransientConnectionException.
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    // 가상 스레드가 carrier 스레드에 고정(pinning)된 시간이 이보다 길면 JFR 이벤트로 기록한다.
+    private boolean pinningDiagnostics = true;
+    private Duration pinningThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,65 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+// 가상 스레드 API(JDK 21)를 reflection 으로 부른다. 소스는 Java 8 로 빌드하기 때문이다.
+public final class VirtualThreads {
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method IS_VIRTUAL = method(Thread.class, "isVirtual");
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && IS_VIRTUAL != null;
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+
+        return (Boolean) invoke(IS_VIRTUAL, thread);
+    }
+
+    // 작업마다 이름이 namePrefix + 번호 인 가상 스레드를 새로 만든다.
+    public static ExecutorService newExecutor(String namePrefix) {
+        if (!isSupported()) {
+            throw new IllegalStateException("가상 스레드는 JDK 21 이상에서만 쓸 수 있습니다. (현재 " + System.getProperty("java.version") + ")");
+        }
+
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = invoke(OF_VIRTUAL, null);
+            builder = invoke(builderType.getMethod("name", String.class, long.class), builder, namePrefix, 0L);
+            ThreadFactory factory = (ThreadFactory) invoke(builderType.getMethod("factory"), builder);
+
+            return (ExecutorService) invoke(Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class), null, factory);
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드 API 를 찾을 수 없습니다.", e);
+        }
+    }
+
+    private static Method method(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getTargetException();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+}
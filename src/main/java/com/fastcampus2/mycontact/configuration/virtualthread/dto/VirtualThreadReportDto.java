@@ -0,0 +1,34 @@
+package com.fastcampus2.mycontact.configuration.virtualthread.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirtualThreadReportDto {
+    private boolean virtualThreads; // 요청이 가상 스레드에서 실행되는가
+    private String requestThread;
+
+    private int maxConnections;
+    private int activeConnections;
+    private int waitingForConnection;
+    private long connectionTimeouts;
+    private double maxConnectionWaitMillis;
+
+    private long pinned; // 기록된 jdk.VirtualThreadPinned 이벤트 수
+    private List<PinnedSite> pinnedSites;
+
+    @Data
+    @AllArgsConstructor
+    public static class PinnedSite {
+        private String location;
+        private long count;
+        private double maxMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto;
+import com.fastcampus2.mycontact.exception.BirthdayDispatchDisabledException;
+import com.fastcampus2.mycontact.service.birthday.BirthdayDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+// 생일 축하 발송 상태 확인과 수동 실행. 같은 호스트에서 온 요청만 허용한다.
+@RequestMapping(value = "/internal/birthday-dispatch")
+@RestController
+public class BirthdayController {
+    // mycontact.birthday.enabled=true 일 때만 주입된다.
+    @Autowired(required = false)
+    private BirthdayDispatcher birthdayDispatcher;
+
+    @GetMapping
+    public BirthdayDispatchReportDto getReport() {
+        return dispatcher().getReport();
+    }
+
+    // date 를 주지 않으면 오늘 생일인 사람에게 보낸다. 같은 날짜는 체크포인트부터 이어서 보낸다.
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public BirthdayDispatchReportDto start(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return date != null ? dispatcher().start(date) : dispatcher().startToday();
+    }
+
+    private BirthdayDispatcher dispatcher() {
+        if (birthdayDispatcher == null) {
+            throw new BirthdayDispatchDisabledException();
+        }
+
+        return birthdayDispatcher;
+    }
+}
@@ -0,0 +1,33 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto;
+import com.fastcampus2.mycontact.domain.dto.MergeDto;
+import com.fastcampus2.mycontact.service.dedup.DuplicateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+@RequestMapping(value = "/api/person/duplicates")
+@RestController
+public class DuplicateController {
+    @Autowired
+    private DuplicateService duplicateService;
+
+    @GetMapping
+    public DuplicateReportDto getReport() {
+        return duplicateService.getReport();
+    }
+
+    @PostMapping("/scan")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public DuplicateReportDto scan() {
+        return duplicateService.scan();
+    }
+
+    @PostMapping("/merge")
+    public void merge(@RequestBody @Valid MergeDto mergeDto) {
+        duplicateService.merge(mergeDto.getSurvivorId(), mergeDto.getDuplicateIds());
+    }
+}
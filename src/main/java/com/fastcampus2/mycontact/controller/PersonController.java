@@ -1,7 +1,13 @@
 package com.fastcampus2.mycontact.controller;
 
 import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto;
 import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.domain.dto.PersonHistoryDto;
+import com.fastcampus2.mycontact.domain.dto.PersonQueryDto;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.domain.dto.QueryPlanDto;
 import com.fastcampus2.mycontact.exception.PersonNotFoundException;
 import com.fastcampus2.mycontact.exception.RenameNotPermittedException;
 import com.fastcampus2.mycontact.exception.dto.ErrorResponse;
@@ -30,17 +36,53 @@ public class PersonController {
         return personService.getAll(pageable);
     }
 
+    // 근사치: 같은 사람을 동시에 수정하면 잠시 어긋날 수 있고, mycontact.stats.verify-interval-ms 마다 DB 값으로 맞춘다.
+    @GetMapping("/stats")
+    public PersonStatsDto getStats() {
+        return personService.getStats();
+    }
+
+    @GetMapping("/birthday")
+    public List<Person> getPeopleByBirthday(@RequestParam int month, @RequestParam(required = false) Integer day) {
+        return personService.getPeopleByBirthday(month, day);
+    }
+
+    @GetMapping("/query")
+    public Page<Person> query(PersonQueryDto query, @PageableDefault Pageable pageable) {
+        return personService.getPeopleByQuery(query, pageable);
+    }
+
+    @GetMapping("/query/explain")
+    public QueryPlanDto explainQuery(PersonQueryDto query, @PageableDefault Pageable pageable) {
+        return personService.explainQuery(query, pageable);
+    }
+
     @GetMapping("/{id}")
     public Person getPerson(@PathVariable Long id) {
         return personService.getPerson(id);
     }
 
+    @GetMapping("/{id}/history")
+    public List<PersonHistoryDto> getHistory(@PathVariable Long id) {
+        return personService.getHistory(id);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public void postPerson(@RequestBody @Valid PersonDto personDto) {
         personService.put(personDto);
     }
 
+    @PatchMapping("/bulk")
+    public BulkResultDto bulkModify(@RequestBody BulkPersonDto bulkPersonDto) {
+        return personService.bulkModify(bulkPersonDto);
+    }
+
+    @DeleteMapping("/bulk")
+    public BulkResultDto bulkDelete(@RequestBody BulkPersonDto bulkPersonDto) {
+        return personService.bulkDelete(bulkPersonDto);
+    }
+
     @PutMapping("/{id}")
     public void modifyPerson(@PathVariable Long id, @RequestBody PersonDto personDto) {
         personService.modify(id, personDto);
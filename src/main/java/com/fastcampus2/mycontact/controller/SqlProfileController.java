@@ -0,0 +1,26 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.profiler.SqlProfiler;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+// SQL 프로파일 보고서. 같은 호스트에서 온 요청만 허용한다.
+@RequestMapping(value = "/internal/sql-profile")
+@RestController
+@ConditionalOnProperty(prefix = "mycontact.profiler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfileController {
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @GetMapping
+    public SqlProfileReportDto getReport(@RequestParam(defaultValue = "10") int top) {
+        return sqlProfiler.top(top);
+    }
+
+    @DeleteMapping
+    public void reset() {
+        sqlProfiler.reset();
+    }
+}
@@ -0,0 +1,17 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.dto.StringInternReportDto;
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// 항목별 문자열 사전의 크기와 절약한 메모리. 같은 호스트에서 온 요청만 허용한다.
+@RequestMapping(value = "/internal/string-intern")
+@RestController
+public class StringInternController {
+    @GetMapping
+    public StringInternReportDto getReport() {
+        return PersonStrings.report();
+    }
+}
@@ -0,0 +1,45 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.configuration.virtualthread.ConnectionLimitingDataSource;
+import com.fastcampus2.mycontact.configuration.virtualthread.PinningMonitor;
+import com.fastcampus2.mycontact.configuration.virtualthread.VirtualThreads;
+import com.fastcampus2.mycontact.configuration.virtualthread.dto.VirtualThreadReportDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Collections;
+
+// 가상 스레드 모드의 커넥션 대기와 고정(pinning) 현황. 같은 호스트에서 온 요청만 허용한다.
+@RequestMapping(value = "/internal/virtual-threads")
+@RestController
+@ConditionalOnProperty(prefix = "mycontact.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadController {
+    @Autowired
+    private DataSource dataSource;
+
+    // mycontact.virtual-threads.pinning-diagnostics=true 일 때만 주입된다.
+    @Autowired(required = false)
+    private PinningMonitor pinningMonitor;
+
+    @GetMapping
+    public VirtualThreadReportDto getReport() throws SQLException {
+        ConnectionLimitingDataSource limiter = dataSource.unwrap(ConnectionLimitingDataSource.class);
+
+        return VirtualThreadReportDto.builder()
+                .virtualThreads(VirtualThreads.isVirtual(Thread.currentThread()))
+                .requestThread(Thread.currentThread().toString())
+                .maxConnections(limiter.getMaxConnections())
+                .activeConnections(limiter.getActiveConnections())
+                .waitingForConnection(limiter.getWaiting())
+                .connectionTimeouts(limiter.getTimeouts())
+                .maxConnectionWaitMillis(limiter.getMaxWait().toNanos() / 1_000_000.0)
+                .pinned(pinningMonitor != null ? pinningMonitor.getPinned() : 0)
+                .pinnedSites(pinningMonitor != null ? pinningMonitor.getSites() : Collections.emptyList())
+                .build();
+    }
+}
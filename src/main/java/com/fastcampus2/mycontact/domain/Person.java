@@ -2,6 +2,7 @@ package com.fastcampus2.mycontact.domain;
 
 import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
 import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
 import com.sun.istack.NotNull;
 import lombok.*;
 import org.hibernate.annotations.ColumnDefault;
@@ -13,13 +14,26 @@ import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotEmpty;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 @Entity
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Where(clause = "deleted = false")
+@Table(indexes = {
+        // 컬럼 이름은 논리 이름(속성 이름)으로 적는다.
+        @Index(name = "idx_person_name", columnList = "name"),
+        @Index(name = "idx_person_job_birth_year", columnList = "job, yearOfBirthday"),
+        @Index(name = "idx_person_birth_year", columnList = "yearOfBirthday"),
+        @Index(name = "idx_person_address", columnList = "address"),
+        @Index(name = "idx_person_birthday", columnList = "monthOfBirthday, dayOfBirthday")
+})
 public class Person {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -44,17 +58,34 @@ public class Person {
     @ColumnDefault("0") // 0 = false
     private boolean deleted;
 
+    // 마지막 변경 시각. 색인 스냅샷 이후의 변경분만 다시 읽는 데 쓴다. (일괄 UPDATE 는 직접 채운다)
+    private LocalDateTime modifiedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.modifiedAt = LocalDateTime.now();
+    }
+
+    // 같은 값이 많은 항목은 사전의 문자열을 함께 가리키게 한다. (dirty checking 은 equals 로 비교하므로 변경으로 보지 않는다)
+    @PostLoad
+    void intern() {
+        this.hobby = PersonStrings.hobby(this.hobby);
+        this.address = PersonStrings.address(this.address);
+        this.job = PersonStrings.job(this.job);
+    }
+
     public void set(PersonDto personDto) {
         if (!StringUtils.isEmpty(personDto.getHobby())) {
-            this.setHobby(personDto.getHobby());
+            this.setHobby(PersonStrings.hobby(personDto.getHobby()));
         }
 
         if(!StringUtils.isEmpty(personDto.getAddress())) {
-            this.setAddress(personDto.getAddress());
+            this.setAddress(PersonStrings.address(personDto.getAddress()));
         }
 
         if (!StringUtils.isEmpty(personDto.getJob())) {
-            this.setJob(personDto.getJob());
+            this.setJob(PersonStrings.job(personDto.getJob()));
         }
 
         if (!StringUtils.isEmpty(personDto.getPhoneNumber())) {
@@ -75,8 +106,41 @@ public class Person {
         }
     }
 
-    // 생일 여부 확인
+    // 주소의 첫 단어를 도시로 본다. (예: "서울 강남구" -> "서울")
+    public static String cityOf(String address) {
+        if (!StringUtils.hasText(address)) {
+            return null;
+        }
+
+        String trimmed = address.trim();
+        int end = 0;
+        while (end < trimmed.length() && !Character.isWhitespace(trimmed.charAt(end))) {
+            end++;
+        }
+
+        return trimmed.substring(0, end);
+    }
+
+    // 생일 여부 확인 (태어난 해는 보지 않는다)
     public boolean isBirthdayToday() {
-        return LocalDate.now().equals(LocalDate.of(this.birthday.getYearOfBirthday(), this.birthday.getMonthOfBirthday(), this.birthday.getDayOfBirthday()));
+        return isBirthdayOn(LocalDate.now());
+    }
+
+    public boolean isBirthdayOn(LocalDate date) {
+        return this.birthday != null
+                && this.birthday.getMonthOfBirthday() != null
+                && this.birthday.getDayOfBirthday() != null
+                && birthdaysOn(date).contains(MonthDay.of(this.birthday.getMonthOfBirthday(), this.birthday.getDayOfBirthday()));
+    }
+
+    // 그 날짜에 생일을 맞는 월/일. 윤년이 아니면 2월 29일생은 2월 28일에 함께 맞는다.
+    public static List<MonthDay> birthdaysOn(LocalDate date) {
+        MonthDay monthDay = MonthDay.from(date);
+
+        if (monthDay.equals(MonthDay.of(2, 28)) && !date.isLeapYear()) {
+            return Arrays.asList(monthDay, MonthDay.of(2, 29));
+        }
+
+        return Collections.singletonList(monthDay);
     }
 }
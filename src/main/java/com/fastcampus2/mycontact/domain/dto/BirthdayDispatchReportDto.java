@@ -0,0 +1,40 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BirthdayDispatchReportDto {
+    private Status status;
+    private LocalDate date; // 생일을 찾은 날짜
+    private List<LocalDate> carriedOver; // 먼저 마저 보낸 앞선 날짜들 (아래 건수에 함께 셈)
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime deadline; // startedAt + window
+    private String error;
+
+    private long matched; // 그 날 생일인 인원
+    private long sent; // 이번 실행에서 보낸 인원
+    private long skipped; // 체크포인트에 이미 보냈다고 남아 있어 건너뛴 인원 (앞선 실행에서 보냄)
+    private long failed; // 재시도 후에도 보내지 못한 인원 (다음 실행이 다시 보낸다)
+    private long batches;
+    private long failedBatches;
+    private long retries;
+
+    public enum Status {
+        IDLE,
+        RUNNING,
+        DONE,
+        INCOMPLETE, // 보내지 못한 묶음이 있거나 window 안에 끝내지 못했다. (retryInterval 뒤, 또는 다음 실행이 이어서 보낸다)
+        FAILED
+    }
+}
@@ -0,0 +1,30 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+// PATCH/DELETE /api/person/bulk 의 요청.
+// 대상은 ids 가 있으면 ids, 없으면 filter 로 고른다.
+// 변경할 값은 PATCH 에서만 쓰며, 비어 있는 값은 바꾸지 않는다. (이름과 생일은 일괄 변경하지 않는다)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPersonDto {
+    private List<Long> ids;
+    private PersonQueryDto filter;
+
+    private String hobby;
+    private String address;
+    private String job;
+    private String phoneNumber;
+
+    public boolean hasChanges() {
+        return !StringUtils.isEmpty(hobby) || !StringUtils.isEmpty(address) || !StringUtils.isEmpty(job) || !StringUtils.isEmpty(phoneNumber);
+    }
+}
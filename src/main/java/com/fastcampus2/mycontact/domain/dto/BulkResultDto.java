@@ -0,0 +1,32 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResultDto {
+    private int requested;
+    private int succeeded;
+    private List<Item> results;
+
+    public enum Status {
+        OK,
+        NOT_FOUND, // 없거나 이미 삭제됨
+        FAILED // 해당 chunk 가 롤백됨
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private Status status;
+        private String message;
+    }
+}
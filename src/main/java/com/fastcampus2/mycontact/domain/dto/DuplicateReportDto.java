@@ -0,0 +1,60 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReportDto {
+    private Status status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    private long scanned; // 읽은 행 수 (pass 마다 셈)
+    private int passes;
+    private long blocks;
+    private long skippedBlocks; // maxBlockSize 를 넘어 비교하지 않은 블록
+    private List<String> skippedKeys; // 비교하지 않은 블록의 키 (예: "n:kimminsu")
+    private long comparisons;
+    private List<Cluster> clusters;
+
+    public enum Status {
+        IDLE,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Cluster {
+        private long survivorId; // 병합할 때 남길 사람 (가장 작은 id)
+        private List<Member> members;
+        private List<Match> matches;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Member {
+        private long id;
+        private String name;
+        private String phoneNumber;
+        private Integer birthday; // yyyymmdd
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Match {
+        private long id;
+        private long otherId;
+        private double score;
+    }
+}
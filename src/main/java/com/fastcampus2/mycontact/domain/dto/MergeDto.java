@@ -0,0 +1,23 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+// survivorId 에 duplicateIds 의 값을 채우고, duplicateIds 는 삭제한다.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MergeDto {
+    @NotNull
+    private Long survivorId;
+
+    @NotEmpty
+    private List<Long> duplicateIds;
+}
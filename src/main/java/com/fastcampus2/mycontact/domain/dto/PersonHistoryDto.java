@@ -0,0 +1,22 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import com.fastcampus2.mycontact.domain.Person;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// 변경 한 건의 전/후 값. 추가는 before 가, 삭제는 after 가 삭제 표시된 값이다.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonHistoryDto {
+    private long seq;
+    private LocalDateTime changedAt;
+    private String type; // PUT, MODIFY, DELETE
+    private Person before;
+    private Person after;
+}
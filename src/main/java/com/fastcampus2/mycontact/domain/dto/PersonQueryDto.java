@@ -0,0 +1,26 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.StringUtils;
+
+// GET /api/person/query 의 조건. 값이 있는 조건만 AND 로 묶는다.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonQueryDto {
+    private String name;
+    private String job;
+    private String cityPrefix; // 주소가 이 값으로 시작
+    private Integer birthYearFrom; // 포함
+    private Integer birthYearTo; // 포함
+    private Boolean hasPhone;
+
+    public boolean hasConditions() {
+        return StringUtils.hasText(name) || StringUtils.hasText(job) || StringUtils.hasText(cityPrefix)
+                || birthYearFrom != null || birthYearTo != null || hasPhone != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PersonStatsDto {
+    private long total;
+    private Map<Integer, Long> byBirthMonth; // 월 -> 인원
+    private Map<String, Long> byAgeBucket; // "20-29" -> 인원
+    private Map<String, Long> byJob;
+    private Map<String, Long> byCity;
+}
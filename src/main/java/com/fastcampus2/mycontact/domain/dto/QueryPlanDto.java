@@ -0,0 +1,25 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanDto {
+    private List<StatementPlan> statements;
+
+    @Data
+    @AllArgsConstructor
+    public static class StatementPlan {
+        private String sql;
+        private List<Object> binds;
+        private String plan;
+        private boolean indexUsed;
+    }
+}
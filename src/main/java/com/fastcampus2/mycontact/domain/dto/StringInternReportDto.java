@@ -0,0 +1,36 @@
+package com.fastcampus2.mycontact.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StringInternReportDto {
+    private boolean enabled;
+    private List<FieldReport> fields;
+    private long dictionaryBytes;
+    private long savedBytes;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FieldReport {
+        private String field;
+        private int entries;
+        private int maxEntries;
+        private long lookups;
+        private long hits; // 사전의 String 으로 바꿔 준 횟수
+        private long rejectedTooLong;
+        private long rejectedRare; // 아직 admitAfter 번을 보지 못한 값
+        private long rejectedFull;
+        private long dictionaryBytes; // 사전이 차지하는 대략적인 크기
+        private long savedBytes; // 버려질 수 있게 된 사본의 누적 크기
+    }
+}
@@ -0,0 +1,55 @@
+package com.fastcampus2.mycontact.domain.intern;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// 값마다 본 횟수를 대략 센다. (count-min sketch, 4 줄)
+// 표 크기가 고정이라 값의 종류가 많아도 메모리가 늘지 않는다. 여러 값이 한 칸을 나눠 쓰므로 실제보다 크게 셀 수는 있다.
+// 더한 횟수가 표 크기의 10 배가 되면 모든 칸을 절반으로 줄여 오래된 빈도를 잊는다.
+final class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int width;
+    private final int mask;
+    private final int resetAfter;
+    private final AtomicIntegerArray table;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    FrequencySketch(int expectedEntries) {
+        this.width = Integer.highestOneBit(Math.max(1024, expectedEntries - 1) << 1);
+        this.mask = width - 1;
+        this.resetAfter = width * 10;
+        this.table = new AtomicIntegerArray(DEPTH * width);
+    }
+
+    // 더한 뒤의 추정 횟수
+    int increment(String value) {
+        int hash = value.hashCode();
+        int estimate = Integer.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, table.incrementAndGet(row * width + index(hash, row)));
+        }
+
+        if (additions.incrementAndGet() >= resetAfter) {
+            halve();
+        }
+
+        return estimate;
+    }
+
+    private int index(int hash, int row) {
+        int mixed = (hash ^ SEEDS[row]) * 0x9E3779B1;
+        return (mixed ^ (mixed >>> 16)) & mask;
+    }
+
+    // 동시에 더해지는 값이 조금 어긋나도 빈도 추정에는 문제가 없다.
+    private void halve() {
+        additions.set(0);
+
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+    }
+}
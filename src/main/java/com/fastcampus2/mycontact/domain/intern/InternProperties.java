@@ -0,0 +1,19 @@
+package com.fastcampus2.mycontact.domain.intern;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.intern")
+public class InternProperties {
+    private boolean enabled = true;
+
+    // 항목마다 사전에 넣을 최대 값 수
+    private int maxEntriesPerField = 10_000;
+
+    // 이보다 긴 값은 넣지 않는다. (긴 값은 대개 한 번만 나온다)
+    private int maxLength = 64;
+
+    // 이 횟수 이상 본 값만 넣는다.
+    private int admitAfter = 2;
+}
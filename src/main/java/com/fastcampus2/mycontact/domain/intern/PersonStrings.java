@@ -0,0 +1,78 @@
+package com.fastcampus2.mycontact.domain.intern;
+
+import com.fastcampus2.mycontact.domain.dto.StringInternReportDto;
+import com.fastcampus2.mycontact.domain.dto.StringInternReportDto.FieldReport;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Person 에서 같은 값이 많이 반복되는 항목(직업, 취미, 주소, 도시)의 문자열 사전.
+// 엔티티는 Bean 이 아니므로 static 으로 두고, 설정은 InternConfig 가 기동할 때 넣는다.
+public final class PersonStrings {
+    private static volatile Interners interners = new Interners(new InternProperties());
+
+    private PersonStrings() {
+    }
+
+    public static void configure(InternProperties properties) {
+        interners = new Interners(properties);
+    }
+
+    public static String job(String value) {
+        return intern(interners.job, value);
+    }
+
+    public static String hobby(String value) {
+        return intern(interners.hobby, value);
+    }
+
+    public static String address(String value) {
+        return intern(interners.address, value);
+    }
+
+    public static String city(String value) {
+        return intern(interners.city, value);
+    }
+
+    public static StringInternReportDto report() {
+        Interners current = interners;
+        List<FieldReport> fields = new ArrayList<>();
+
+        if (current.enabled) {
+            for (StringInterner interner : new StringInterner[]{current.job, current.hobby, current.address, current.city}) {
+                fields.add(interner.report());
+            }
+        }
+
+        return StringInternReportDto.builder()
+                .enabled(current.enabled)
+                .fields(fields)
+                .dictionaryBytes(fields.stream().mapToLong(FieldReport::getDictionaryBytes).sum())
+                .savedBytes(fields.stream().mapToLong(FieldReport::getSavedBytes).sum())
+                .build();
+    }
+
+    private static String intern(StringInterner interner, String value) {
+        return interner != null ? interner.intern(value) : value;
+    }
+
+    private static class Interners {
+        private final boolean enabled;
+        private final StringInterner job;
+        private final StringInterner hobby;
+        private final StringInterner address;
+        private final StringInterner city;
+
+        private Interners(InternProperties properties) {
+            this.enabled = properties.isEnabled();
+            this.job = create("job", properties);
+            this.hobby = create("hobby", properties);
+            this.address = create("address", properties);
+            this.city = create("city", properties);
+        }
+
+        private StringInterner create(String field, InternProperties properties) {
+            return enabled ? new StringInterner(field, properties.getMaxEntriesPerField(), properties.getMaxLength(), properties.getAdmitAfter()) : null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.fastcampus2.mycontact.domain.intern;
+
+import com.fastcampus2.mycontact.domain.dto.StringInternReportDto.FieldReport;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 한 항목의 문자열 사전. 같은 값이면 먼저 들어온 String 하나를 함께 가리키게 한다.
+// 값의 종류가 많은 항목에서 사전이 끝없이 커지지 않도록,
+//   - maxLength 보다 긴 값은 넣지 않고
+//   - admitAfter 번 이상 본 값만 넣고 (FrequencySketch)
+//   - maxEntries 에 이르면 더 넣지 않는다. (이미 넣은 값은 계속 공유한다)
+public class StringInterner {
+    // ConcurrentHashMap 노드와 테이블 칸의 대략적인 크기
+    private static final long ENTRY_OVERHEAD_BYTES = 40;
+
+    private final String field;
+    private final int maxEntries;
+    private final int maxLength;
+    private final int admitAfter;
+    private final ConcurrentMap<String, String> values = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+    private final LongAdder rejectedTooLong = new LongAdder();
+    private final LongAdder rejectedRare = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+
+    public StringInterner(String field, int maxEntries, int maxLength, int admitAfter) {
+        this.field = field;
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+        this.admitAfter = admitAfter;
+        this.sketch = new FrequencySketch(maxEntries);
+    }
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        lookups.increment();
+
+        String canonical = values.get(value);
+        if (canonical != null) {
+            if (canonical != value) {
+                hits.increment();
+                savedBytes.add(sizeOf(value));
+            }
+
+            return canonical;
+        }
+
+        if (value.length() > maxLength) {
+            rejectedTooLong.increment();
+            return value;
+        }
+
+        if (sketch.increment(value) < admitAfter) {
+            rejectedRare.increment();
+            return value;
+        }
+
+        if (values.size() >= maxEntries) {
+            rejectedFull.increment();
+            return value;
+        }
+
+        canonical = values.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    // savedBytes 는 사전의 값을 돌려주어 버려질 수 있게 된 사본의 누적 크기이다.
+    // 사본을 가진 객체가 오래 살지 않았다면 실제로 줄어든 힙은 이보다 작다.
+    public FieldReport report() {
+        long dictionaryBytes = 0;
+        for (String value : values.keySet()) {
+            dictionaryBytes += sizeOf(value) + ENTRY_OVERHEAD_BYTES;
+        }
+
+        return FieldReport.builder()
+                .field(field)
+                .entries(values.size())
+                .maxEntries(maxEntries)
+                .lookups(lookups.sum())
+                .hits(hits.sum())
+                .rejectedTooLong(rejectedTooLong.sum())
+                .rejectedRare(rejectedRare.sum())
+                .rejectedFull(rejectedFull.sum())
+                .dictionaryBytes(dictionaryBytes)
+                .savedBytes(savedBytes.sum())
+                .build();
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    // compressed oops 와 compact strings 를 가정한 String 크기 (객체 24 + byte[] 16 + 내용, 8 단위 정렬)
+    static long sizeOf(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+
+        return 24 + align(16 + (long) value.length() * bytesPerChar);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
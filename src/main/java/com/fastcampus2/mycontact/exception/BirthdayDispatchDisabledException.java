@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class BirthdayDispatchDisabledException extends RuntimeException {
+    private static final String MESSAGE = "생일 축하 발송(mycontact.birthday.enabled)이 꺼져 있습니다.";
+
+    public BirthdayDispatchDisabledException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
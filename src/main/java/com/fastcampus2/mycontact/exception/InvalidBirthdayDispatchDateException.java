@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class InvalidBirthdayDispatchDateException extends RuntimeException {
+    private static final String MESSAGE = "오늘 이후 날짜의 생일 축하는 미리 보낼 수 없습니다.";
+
+    public InvalidBirthdayDispatchDateException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class InvalidBulkRequestException extends RuntimeException {
+    private static final String MESSAGE = "일괄 처리 대상(ids 또는 filter)이나 변경할 값이 없습니다.";
+
+    public InvalidBulkRequestException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JournalDisabledException extends RuntimeException {
+    private static final String MESSAGE = "변경 이력 기록(mycontact.journal.enabled)이 꺼져 있습니다.";
+
+    public JournalDisabledException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
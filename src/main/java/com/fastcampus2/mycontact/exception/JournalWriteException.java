@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JournalWriteException extends RuntimeException {
+    private static final String MESSAGE = "변경 이력을 기록하지 못했습니다.";
+
+    public JournalWriteException(Throwable cause) {
+        super(MESSAGE, cause);
+        log.error(MESSAGE, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LocalAccessOnlyException extends RuntimeException {
+    private static final String MESSAGE = "로컬에서만 접근할 수 있습니다.";
+
+    public LocalAccessOnlyException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class SqlProfilerDisabledException extends RuntimeException {
+    private static final String MESSAGE = "SQL 프로파일러(mycontact.profiler.enabled)가 꺼져 있어 실행 계획을 볼 수 없습니다.";
+
+    public SqlProfilerDisabledException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.fastcampus2.mycontact.exception;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class UnsupportedInShardingModeException extends RuntimeException {
+    private static final String MESSAGE = "sharding 모드에서는 지원하지 않는 기능입니다.";
+
+    public UnsupportedInShardingModeException() {
+        super(MESSAGE);
+        log.error(MESSAGE);
+    }
+}
@@ -1,7 +1,14 @@
 package com.fastcampus2.mycontact.exception.handler;
 
+import com.fastcampus2.mycontact.exception.BirthdayDispatchDisabledException;
+import com.fastcampus2.mycontact.exception.InvalidBirthdayDispatchDateException;
+import com.fastcampus2.mycontact.exception.InvalidBulkRequestException;
+import com.fastcampus2.mycontact.exception.JournalDisabledException;
+import com.fastcampus2.mycontact.exception.LocalAccessOnlyException;
 import com.fastcampus2.mycontact.exception.PersonNotFoundException;
 import com.fastcampus2.mycontact.exception.RenameNotPermittedException;
+import com.fastcampus2.mycontact.exception.SqlProfilerDisabledException;
+import com.fastcampus2.mycontact.exception.UnsupportedInShardingModeException;
 import com.fastcampus2.mycontact.exception.dto.ErrorResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -27,6 +34,48 @@ public class GlobalExceptionHandler {
         return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
     }
 
+    @ExceptionHandler(InvalidBulkRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidBulkRequestException(InvalidBulkRequestException e) {
+        return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBirthdayDispatchDateException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidBirthdayDispatchDateException(InvalidBirthdayDispatchDateException e) {
+        return ErrorResponse.of(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    @ExceptionHandler(UnsupportedInShardingModeException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public ErrorResponse handleUnsupportedInShardingModeException(UnsupportedInShardingModeException e) {
+        return ErrorResponse.of(HttpStatus.NOT_IMPLEMENTED, e.getMessage());
+    }
+
+    @ExceptionHandler(JournalDisabledException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public ErrorResponse handleJournalDisabledException(JournalDisabledException e) {
+        return ErrorResponse.of(HttpStatus.NOT_IMPLEMENTED, e.getMessage());
+    }
+
+    @ExceptionHandler(BirthdayDispatchDisabledException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public ErrorResponse handleBirthdayDispatchDisabledException(BirthdayDispatchDisabledException e) {
+        return ErrorResponse.of(HttpStatus.NOT_IMPLEMENTED, e.getMessage());
+    }
+
+    @ExceptionHandler(SqlProfilerDisabledException.class)
+    @ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+    public ErrorResponse handleSqlProfilerDisabledException(SqlProfilerDisabledException e) {
+        return ErrorResponse.of(HttpStatus.NOT_IMPLEMENTED, e.getMessage());
+    }
+
+    @ExceptionHandler(LocalAccessOnlyException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public ErrorResponse handleLocalAccessOnlyException(LocalAccessOnlyException e) {
+        return ErrorResponse.of(HttpStatus.FORBIDDEN, e.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleMethodArgumentInvalidException(MethodArgumentNotValidException e) {
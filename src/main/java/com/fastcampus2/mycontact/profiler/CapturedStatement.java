@@ -0,0 +1,12 @@
+package com.fastcampus2.mycontact.profiler;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// SqlProfiler.capture 동안 실행된 쿼리와 바인딩 값
+@Data
+@AllArgsConstructor
+public class CapturedStatement {
+    private String sql;
+    private Object[] binds;
+}
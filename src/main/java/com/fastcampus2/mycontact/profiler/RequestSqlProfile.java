@@ -0,0 +1,41 @@
+package com.fastcampus2.mycontact.profiler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 한 요청 동안 실행된 쿼리 기록. 요청을 처리하는 스레드에서만 사용한다.
+class RequestSqlProfile {
+    private final Map<String, Integer> preparedShapes = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    void onPrepared(String shape) {
+        preparedShapes.merge(shape, 1, Integer::sum);
+    }
+
+    void onExecuted(long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+    }
+
+    int getStatements() {
+        return statements;
+    }
+
+    long getNanos() {
+        return nanos;
+    }
+
+    // 가장 많이 반복된 쿼리 모양 (없으면 null)
+    Map.Entry<String, Integer> mostRepeatedShape() {
+        Map.Entry<String, Integer> max = null;
+
+        for (Map.Entry<String, Integer> entry : preparedShapes.entrySet()) {
+            if (max == null || entry.getValue() > max.getValue()) {
+                max = entry;
+            }
+        }
+
+        return max;
+    }
+}
@@ -0,0 +1,121 @@
+package com.fastcampus2.mycontact.profiler;
+
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto.EndpointSummary;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto.FlaggedRequest;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto.StatementSummary;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 요청(endpoint)별, 쿼리 모양별 누적 통계
+class SqlProfileReport {
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Deque<FlaggedRequest> flagged = new ArrayDeque<>();
+    private final int flaggedHistorySize;
+
+    SqlProfileReport(int flaggedHistorySize) {
+        this.flaggedHistorySize = flaggedHistorySize;
+    }
+
+    void recordStatement(String shape, long nanos) {
+        ShapeStats stats = get(shapes, shape, key -> new ShapeStats());
+
+        stats.executions.increment();
+        stats.nanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+    }
+
+    void recordRequest(String endpoint, RequestSqlProfile profile, FlaggedRequest flaggedRequest) {
+        EndpointStats stats = get(endpoints, endpoint, key -> new EndpointStats());
+
+        stats.requests.increment();
+        stats.statements.add(profile.getStatements());
+        stats.maxStatements.accumulate(profile.getStatements());
+        stats.nanos.add(profile.getNanos());
+
+        if (flaggedRequest != null) {
+            stats.flagged.increment();
+
+            synchronized (flagged) {
+                flagged.addFirst(flaggedRequest);
+                while (flagged.size() > flaggedHistorySize) {
+                    flagged.removeLast();
+                }
+            }
+        }
+    }
+
+    SqlProfileReportDto top(int n) {
+        List<EndpointSummary> endpointSummaries = endpoints.entrySet().stream()
+                .map(entry -> new EndpointSummary(entry.getKey(),
+                        entry.getValue().requests.sum(),
+                        entry.getValue().statements.sum(),
+                        entry.getValue().maxStatements.get(),
+                        toMillis(entry.getValue().nanos.sum()),
+                        entry.getValue().flagged.sum()))
+                .sorted(Comparator.comparingDouble(EndpointSummary::getTotalMillis).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+
+        List<StatementSummary> statementSummaries = shapes.entrySet().stream()
+                .map(entry -> new StatementSummary(entry.getKey(),
+                        entry.getValue().executions.sum(),
+                        toMillis(entry.getValue().nanos.sum()),
+                        toMillis(entry.getValue().maxNanos.get())))
+                .sorted(Comparator.comparingDouble(StatementSummary::getTotalMillis).reversed())
+                .limit(n)
+                .collect(Collectors.toList());
+
+        List<FlaggedRequest> recentFlagged;
+        synchronized (flagged) {
+            recentFlagged = flagged.stream().limit(n).collect(Collectors.toList());
+        }
+
+        return SqlProfileReportDto.builder()
+                .endpoints(endpointSummaries)
+                .statements(statementSummaries)
+                .flagged(recentFlagged)
+                .build();
+    }
+
+    void reset() {
+        endpoints.clear();
+        shapes.clear();
+
+        synchronized (flagged) {
+            flagged.clear();
+        }
+    }
+
+    private static <V> V get(ConcurrentMap<String, V> map, String key, Function<String, V> factory) {
+        V value = map.get(key);
+
+        return value != null ? value : map.computeIfAbsent(key, factory);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static class EndpointStats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder flagged = new LongAdder();
+    }
+
+    private static class ShapeStats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+}
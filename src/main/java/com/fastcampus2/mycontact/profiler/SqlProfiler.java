@@ -0,0 +1,117 @@
+package com.fastcampus2.mycontact.profiler;
+
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto.FlaggedRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 요청 단위 SQL 프로파일러.
+// Hibernate StatementInspector 가 준비되는 쿼리의 모양을, JDBC 계층(ProfilingDataSource)이 실행 시간과 바인딩 값을 알려준다.
+// 요청 범위는 SqlProfilingFilter 가 begin/end 로 정한다.
+@Slf4j
+public class SqlProfiler {
+    private final SqlProfilerProperties properties;
+    private final SqlProfileReport report;
+    private final ThreadLocal<RequestSqlProfile> current = new ThreadLocal<>();
+    private final ThreadLocal<List<CapturedStatement>> captured = new ThreadLocal<>();
+
+    public SqlProfiler(SqlProfilerProperties properties) {
+        this.properties = properties;
+        this.report = new SqlProfileReport(properties.getFlaggedHistorySize());
+    }
+
+    public void begin() {
+        current.set(new RequestSqlProfile());
+    }
+
+    public void end(String endpoint, String uri) {
+        RequestSqlProfile profile = current.get();
+        current.remove();
+
+        if (profile == null) {
+            return;
+        }
+
+        FlaggedRequest flagged = inspect(endpoint, uri, profile);
+        if (flagged != null) {
+            log.warn("[sql-profiler] {} {}: {} (쿼리 {}건, 반복 {}회: {})", endpoint, uri, flagged.getReason(),
+                    flagged.getStatements(), flagged.getRepeated(), flagged.getRepeatedShape());
+        }
+
+        report.recordRequest(endpoint, profile, flagged);
+    }
+
+    // Hibernate 가 쿼리를 준비할 때 (SqlStatementInspector)
+    public void onPrepared(String sql) {
+        RequestSqlProfile profile = current.get();
+
+        if (profile != null) {
+            profile.onPrepared(SqlShapes.shapeOf(sql));
+        }
+    }
+
+    // JDBC 로 쿼리를 실행한 뒤 (ProfilingDataSource)
+    public void onExecuted(String sql, Object[] binds, long nanos) {
+        RequestSqlProfile profile = current.get();
+        if (profile != null) {
+            profile.onExecuted(nanos);
+        }
+
+        List<CapturedStatement> statements = captured.get();
+        if (statements != null) {
+            statements.add(new CapturedStatement(sql, binds));
+        }
+
+        report.recordStatement(SqlShapes.shapeOf(sql), nanos);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= properties.getSlowQueryThresholdMs()) {
+            log.warn("[sql-profiler] slow query {}ms: {} binds={}", millis, sql, Arrays.toString(binds));
+        }
+    }
+
+    // action 이 현재 스레드에서 실행한 쿼리를 순서대로 돌려준다. (실행 계획 확인용)
+    public List<CapturedStatement> capture(Runnable action) {
+        List<CapturedStatement> statements = new ArrayList<>();
+        captured.set(statements);
+
+        try {
+            action.run();
+        } finally {
+            captured.remove();
+        }
+
+        return statements;
+    }
+
+    public SqlProfileReportDto top(int n) {
+        return report.top(n);
+    }
+
+    public void reset() {
+        report.reset();
+    }
+
+    private FlaggedRequest inspect(String endpoint, String uri, RequestSqlProfile profile) {
+        Map.Entry<String, Integer> repeated = profile.mostRepeatedShape();
+        boolean nPlusOne = repeated != null && repeated.getValue() >= properties.getRepeatedShapeThreshold();
+        boolean tooMany = profile.getStatements() > properties.getMaxQueriesPerRequest();
+
+        if (!nPlusOne && !tooMany) {
+            return null;
+        }
+
+        return new FlaggedRequest(endpoint, uri,
+                nPlusOne ? "N+1" : "TOO_MANY_QUERIES",
+                profile.getStatements(),
+                repeated != null ? repeated.getKey() : null,
+                repeated != null ? repeated.getValue() : 0,
+                LocalDateTime.now());
+    }
+}
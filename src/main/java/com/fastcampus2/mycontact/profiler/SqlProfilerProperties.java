@@ -0,0 +1,22 @@
+package com.fastcampus2.mycontact.profiler;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.profiler")
+public class SqlProfilerProperties {
+    private boolean enabled = true;
+
+    // 한 요청에서 이보다 많은 쿼리를 실행하면 표시한다.
+    private int maxQueriesPerRequest = 10;
+
+    // 한 요청에서 같은 모양의 쿼리를 이만큼 반복하면 N+1 로 표시한다.
+    private int repeatedShapeThreshold = 5;
+
+    // 이보다 오래 걸린 쿼리는 바인딩 값과 함께 로그로 남긴다.
+    private long slowQueryThresholdMs = 100;
+
+    // 보고서에 남겨 둘 최근 표시된 요청 수
+    private int flaggedHistorySize = 50;
+}
@@ -0,0 +1,40 @@
+package com.fastcampus2.mycontact.profiler;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+// 요청이 처리되는 동안 실행된 쿼리를 그 요청에 기록한다.
+public class SqlProfilingFilter extends OncePerRequestFilter {
+    // 매핑되지 않은 요청(404, 정적 리소스 등)은 URL 마다 따로 두지 않고 한 곳에 모은다. (실제 URL 은 flagged 요청에 남는다)
+    static final String UNMATCHED = "UNMATCHED";
+
+    private final SqlProfiler sqlProfiler;
+
+    public SqlProfilingFilter(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        sqlProfiler.begin();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            sqlProfiler.end(endpointOf(request), request.getRequestURI());
+        }
+    }
+
+    // 매핑된 URL 패턴으로 묶는다. (예: GET /api/person/{id})
+    private static String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        return pattern != null ? request.getMethod() + " " + pattern : UNMATCHED;
+    }
+}
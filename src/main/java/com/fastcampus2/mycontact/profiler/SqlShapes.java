@@ -0,0 +1,22 @@
+package com.fastcampus2.mycontact.profiler;
+
+import java.util.regex.Pattern;
+
+// 값만 다른 쿼리를 같은 모양으로 묶기 위해 리터럴과 IN 목록을 ? 로 바꾼다.
+final class SqlShapes {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
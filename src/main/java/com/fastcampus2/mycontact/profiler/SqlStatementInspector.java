@@ -0,0 +1,19 @@
+package com.fastcampus2.mycontact.profiler;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate 가 만든 쿼리를 현재 요청에 기록한다. 쿼리는 바꾸지 않는다.
+public class SqlStatementInspector implements StatementInspector {
+    private final SqlProfiler sqlProfiler;
+
+    public SqlStatementInspector(SqlProfiler sqlProfiler) {
+        this.sqlProfiler = sqlProfiler;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        sqlProfiler.onPrepared(sql);
+
+        return sql;
+    }
+}
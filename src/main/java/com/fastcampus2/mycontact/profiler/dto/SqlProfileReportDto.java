@@ -0,0 +1,51 @@
+package com.fastcampus2.mycontact.profiler.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlProfileReportDto {
+    private List<EndpointSummary> endpoints; // SQL 시간 합계가 큰 순
+    private List<StatementSummary> statements; // SQL 시간 합계가 큰 순
+    private List<FlaggedRequest> flagged; // 최근 표시된 요청
+
+    @Data
+    @AllArgsConstructor
+    public static class EndpointSummary {
+        private String endpoint;
+        private long requests;
+        private long statements;
+        private long maxStatements;
+        private double totalMillis;
+        private long flagged;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class StatementSummary {
+        private String shape;
+        private long executions;
+        private double totalMillis;
+        private double maxMillis;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class FlaggedRequest {
+        private String endpoint;
+        private String uri;
+        private String reason;
+        private int statements;
+        private String repeatedShape;
+        private int repeated;
+        private LocalDateTime at;
+    }
+}
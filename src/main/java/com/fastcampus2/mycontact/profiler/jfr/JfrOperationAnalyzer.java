@@ -0,0 +1,178 @@
+package com.fastcampus2.mycontact.profiler.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+// JFR recording 을 PersonOperationEvent 의 operation 별로 요약한다.
+// CPU 샘플(jdk.ExecutionSample)과 할당 샘플은 같은 스레드에서 그 시각을 감싸는 가장 안쪽 operation 에 붙인다.
+//   java -cp <classpath> com.fastcampus2.mycontact.profiler.jfr.JfrOperationAnalyzer recording.jfr
+public class JfrOperationAnalyzer {
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+    private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+    private static final int MAX_NESTING_SCAN = 64;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: JfrOperationAnalyzer <recording.jfr>");
+            System.exit(1);
+        }
+
+        System.out.print(format(analyze(Paths.get(args[0]))));
+    }
+
+    public static List<OperationSummary> analyze(Path recording) throws IOException {
+        Map<String, OperationSummary> summaries = new TreeMap<>();
+        Map<Long, List<RecordedEvent>> operationsByThread = new HashMap<>();
+        List<RecordedEvent> samples = new ArrayList<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String type = event.getEventType().getName();
+
+                if (PersonOperationEvent.NAME.equals(type)) {
+                    summarize(summaries, event);
+
+                    if (event.getThread() != null) {
+                        operationsByThread.computeIfAbsent(event.getThread().getJavaThreadId(), id -> new ArrayList<>()).add(event);
+                    }
+                } else if (EXECUTION_SAMPLE.equals(type) || isAllocation(type)) {
+                    samples.add(event);
+                }
+            }
+        }
+
+        operationsByThread.values().forEach(events -> events.sort(Comparator.comparing(RecordedEvent::getStartTime)));
+
+        for (RecordedEvent sample : samples) {
+            boolean cpu = EXECUTION_SAMPLE.equals(sample.getEventType().getName());
+            RecordedThread thread = cpu ? sample.getThread("sampledThread") : sample.getThread();
+
+            if (thread == null) {
+                continue;
+            }
+
+            RecordedEvent operation = innermost(operationsByThread.get(thread.getJavaThreadId()), sample);
+            if (operation == null) {
+                continue;
+            }
+
+            OperationSummary summary = summaries.get(keyOf(operation));
+            if (cpu) {
+                summary.cpuSamples++;
+            } else {
+                summary.allocatedBytes += allocatedBytes(sample);
+            }
+        }
+
+        List<OperationSummary> sorted = new ArrayList<>(summaries.values());
+        sorted.sort(Comparator.comparing(OperationSummary::getTotalNanos).reversed());
+
+        return sorted;
+    }
+
+    public static String format(List<OperationSummary> summaries) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-40s %-10s %8s %8s %8s %10s %10s %8s %8s %12s%n",
+                "operation", "layer", "count", "cache", "failed", "avg ms", "max ms", "rows", "cpu", "alloc KB"));
+
+        for (OperationSummary summary : summaries) {
+            report.append(String.format("%-40s %-10s %8d %8d %8d %10.3f %10.3f %8d %8d %12d%n",
+                    summary.getOperation(), summary.getLayer(), summary.getCount(), summary.getCacheHits(), summary.getFailures(),
+                    summary.getTotalNanos() / 1_000_000.0 / Math.max(1, summary.getCount()), summary.getMaxNanos() / 1_000_000.0,
+                    summary.getRows(), summary.getCpuSamples(), summary.getAllocatedBytes() / 1024));
+        }
+
+        return report.toString();
+    }
+
+    private static void summarize(Map<String, OperationSummary> summaries, RecordedEvent event) {
+        OperationSummary summary = summaries.computeIfAbsent(keyOf(event), key -> new OperationSummary(event.getString("operation"), event.getString("layer")));
+        long nanos = event.getDuration().toNanos();
+
+        summary.count++;
+        summary.totalNanos += nanos;
+        summary.maxNanos = Math.max(summary.maxNanos, nanos);
+        summary.rows += event.getInt("rowCount");
+
+        if (PersonOperationEvent.CACHE.equals(event.getString("source"))) {
+            summary.cacheHits++;
+        }
+
+        if (event.getBoolean("failed")) {
+            summary.failures++;
+        }
+    }
+
+    // 시작 시각이 샘플보다 늦지 않은 것 중 가장 늦게 시작해 샘플 시각을 감싸는 operation
+    private static RecordedEvent innermost(List<RecordedEvent> operations, RecordedEvent sample) {
+        if (operations == null) {
+            return null;
+        }
+
+        int low = 0;
+        int high = operations.size() - 1;
+        int last = -1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (operations.get(mid).getStartTime().isAfter(sample.getStartTime())) {
+                high = mid - 1;
+            } else {
+                last = mid;
+                low = mid + 1;
+            }
+        }
+
+        for (int i = last; i >= 0 && i > last - MAX_NESTING_SCAN; i--) {
+            if (!operations.get(i).getEndTime().isBefore(sample.getStartTime())) {
+                return operations.get(i);
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isAllocation(String type) {
+        return ALLOCATION_SAMPLE.equals(type) || ALLOCATION_IN_NEW_TLAB.equals(type) || ALLOCATION_OUTSIDE_TLAB.equals(type);
+    }
+
+    private static long allocatedBytes(RecordedEvent sample) {
+        switch (sample.getEventType().getName()) {
+            case ALLOCATION_SAMPLE:
+                return sample.getLong("weight");
+            case ALLOCATION_IN_NEW_TLAB:
+                return sample.getLong("tlabSize");
+            default:
+                return sample.getLong("allocationSize");
+        }
+    }
+
+    private static String keyOf(RecordedEvent event) {
+        return event.getString("operation") + "@" + event.getString("layer");
+    }
+
+    @Data
+    public static class OperationSummary {
+        private final String operation;
+        private final String layer;
+        private long count;
+        private long cacheHits;
+        private long failures;
+        private long totalNanos;
+        private long maxNanos;
+        private long rows;
+        private long cpuSamples;
+        private long allocatedBytes;
+    }
+}
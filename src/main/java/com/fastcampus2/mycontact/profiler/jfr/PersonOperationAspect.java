@@ -0,0 +1,94 @@
+package com.fastcampus2.mycontact.profiler.jfr;
+
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// PersonService 메서드와 PersonRepository 메서드마다 PersonOperationEvent 를 남긴다.
+// 기록 중인 recording 이 없으면 shouldCommit() 이 false 라서 필드를 채우지 않는다. (이벤트 객체 하나만 만든다)
+// 서비스 메서드가 Repository 를 부르지 않았다면 source 는 cache 이다.
+// (sharding 모드의 shard JDBC 호출은 PersonRepository 가 아니므로 세지 않는다)
+@Aspect
+public class PersonOperationAspect {
+    private static final ThreadLocal<int[]> REPOSITORY_CALLS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Around("execution(public * com.fastcampus2.mycontact.service.PersonService.*(..))")
+    public Object aroundService(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] calls = REPOSITORY_CALLS.get();
+        int before = calls[0];
+
+        return record(joinPoint, PersonOperationEvent.SERVICE, "PersonService.", calls, before);
+    }
+
+    @Around("this(com.fastcampus2.mycontact.repository.PersonRepository)")
+    public Object aroundRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        int[] calls = REPOSITORY_CALLS.get();
+        calls[0]++;
+
+        return record(joinPoint, PersonOperationEvent.REPOSITORY, "PersonRepository.", null, 0);
+    }
+
+    // 상속받은 메서드(findById 등)도 PersonRepository.findById 처럼 이름 붙인다.
+    private static Object record(ProceedingJoinPoint joinPoint, String layer, String prefix, int[] calls, int callsBefore) throws Throwable {
+        PersonOperationEvent event = new PersonOperationEvent();
+        event.begin();
+
+        Object result = null;
+        boolean failed = true;
+
+        try {
+            result = joinPoint.proceed();
+            failed = false;
+
+            return result;
+        } finally {
+            event.end();
+
+            if (event.shouldCommit()) {
+                int repositoryCalls = calls != null ? calls[0] - callsBefore : 0;
+
+                event.layer = layer;
+                event.operation = prefix + joinPoint.getSignature().getName();
+                event.personId = personIdOf(joinPoint.getArgs());
+                event.rowCount = rowCountOf(result);
+                event.repositoryCalls = repositoryCalls;
+                event.source = calls == null || repositoryCalls > 0 ? PersonOperationEvent.DATABASE : PersonOperationEvent.CACHE;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static long personIdOf(Object[] args) {
+        return args.length > 0 && args[0] instanceof Long ? (Long) args[0] : 0;
+    }
+
+    private static int rowCountOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+
+        if (result instanceof Page) {
+            return ((Page<?>) result).getNumberOfElements();
+        }
+
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+
+        if (result instanceof Number) {
+            return ((Number) result).intValue();
+        }
+
+        if (result instanceof BulkResultDto) {
+            return ((BulkResultDto) result).getSucceeded();
+        }
+
+        return result != null ? 1 : 0;
+    }
+}
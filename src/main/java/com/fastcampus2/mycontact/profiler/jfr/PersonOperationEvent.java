@@ -0,0 +1,44 @@
+package com.fastcampus2.mycontact.profiler.jfr;
+
+import jdk.jfr.*;
+
+// PersonService 메서드와 PersonRepository 쿼리 한 번. (JFR 의 CPU/할당 샘플을 업무 단위로 묶는 데 쓴다)
+@Name(PersonOperationEvent.NAME)
+@Label("Person Operation")
+@Category({"mycontact", "Person"})
+@Description("PersonService / PersonRepository 호출")
+@StackTrace(false)
+public class PersonOperationEvent extends Event {
+    public static final String NAME = "mycontact.PersonOperation";
+
+    public static final String SERVICE = "service";
+    public static final String REPOSITORY = "repository";
+
+    // 메모리(색인, 읽기 모델, 통계, 합쳐진 조회)에서 처리되어 Repository 를 부르지 않음
+    public static final String CACHE = "cache";
+    public static final String DATABASE = "database";
+
+    @Label("Layer")
+    String layer;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Person Id")
+    @Description("인자로 받은 id (없으면 0)")
+    long personId;
+
+    @Label("Row Count")
+    @Description("돌려준 행 수 또는 변경된 행 수")
+    int rowCount;
+
+    @Label("Source")
+    String source;
+
+    @Label("Repository Calls")
+    @Description("서비스 메서드 안에서 호출된 PersonRepository 메서드 수")
+    int repositoryCalls;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,18 @@
+package com.fastcampus2.mycontact.repository;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// 조건에 따라 SQL 이 달라지는 일괄 처리 (PersonRepository 에 합쳐진다)
+public interface PersonBulkRepository {
+    // 조건에 맞는 id 만 id 순서로 가져온다.
+    List<Long> findIds(Specification<Person> specification);
+
+    // 비어 있지 않은 값만 SET 절에 넣는 한 번의 UPDATE. 삭제된 사람은 바꾸지 않는다.
+    int bulkModify(Collection<Long> ids, BulkPersonDto changes, LocalDateTime modifiedAt);
+}
@@ -0,0 +1,74 @@
+package com.fastcampus2.mycontact.repository;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public class PersonBulkRepositoryImpl implements PersonBulkRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Long> findIds(Specification<Person> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Person> root = query.from(Person.class);
+
+        query.select(root.get("id")).orderBy(cb.asc(root.get("id")));
+        if (specification != null) {
+            query.where(specification.toPredicate(root, query, cb));
+        }
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public int bulkModify(Collection<Long> ids, BulkPersonDto changes, LocalDateTime modifiedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Person> update = cb.createCriteriaUpdate(Person.class);
+        Root<Person> root = update.from(Person.class);
+
+        boolean changed = set(update, "hobby", changes.getHobby())
+                | set(update, "address", changes.getAddress())
+                | set(update, "job", changes.getJob())
+                | set(update, "phoneNumber", changes.getPhoneNumber());
+
+        if (!changed) {
+            return 0;
+        }
+
+        // @PreUpdate 가 불리지 않으므로 변경 시각도 직접 넣는다.
+        update.set("modifiedAt", modifiedAt);
+
+        // 일괄 UPDATE 에는 @Where 가 붙지 않으므로 deleted 조건을 직접 넣는다.
+        update.where(root.get("id").in(ids), cb.isFalse(root.get("deleted")));
+
+        // 영속성 컨텍스트를 거치지 않는 UPDATE 이므로 앞뒤로 비운다.
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+
+        return updated;
+    }
+
+    private static boolean set(CriteriaUpdate<Person> update, String attribute, String value) {
+        if (StringUtils.isEmpty(value)) {
+            return false;
+        }
+
+        update.set(attribute, value);
+
+        return true;
+    }
+}
@@ -2,12 +2,18 @@ package com.fastcampus2.mycontact.repository;
 
 import com.fastcampus2.mycontact.domain.Person;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface PersonRepository extends JpaRepository<Person, Long> {
+public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>, PersonBulkRepository {
     List<Person> findByName(String name);
 
     // JPQL
@@ -16,4 +22,35 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
 
     @Query(value = "select * from Person person where person.deleted = true", nativeQuery = true)
     List<Person> findPeopleDeleted();
+
+    // 통계 (PersonStatistics 재구성/검증용)
+    @Query(value = "select person.birthday.monthOfBirthday, count(person) from Person person group by person.birthday.monthOfBirthday")
+    List<Object[]> countByMonthOfBirthday();
+
+    @Query(value = "select person.birthday.yearOfBirthday, count(person) from Person person group by person.birthday.yearOfBirthday")
+    List<Object[]> countByYearOfBirthday();
+
+    @Query(value = "select person.job, count(person) from Person person group by person.job")
+    List<Object[]> countByJob();
+
+    @Query(value = "select person.address, count(person) from Person person group by person.address")
+    List<Object[]> countByAddress();
+
+    // 일괄 처리 (변경 전 값을 잡아 두는 동안 다른 변경이 끼어들지 않도록 잠근다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(value = "select person from Person person where person.id in :ids order by person.id")
+    List<Person> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 일괄 UPDATE 에는 @Where 가 붙지 않으므로 deleted 조건을 직접 넣는다.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update Person person set person.deleted = true, person.modifiedAt = :modifiedAt where person.id in :ids and person.deleted = false")
+    int bulkDelete(@Param("ids") Collection<Long> ids, @Param("modifiedAt") LocalDateTime modifiedAt);
+
+    // 삭제된 사람도 포함한다. (@Where 가 붙지 않는 native query)
+    @Query(value = "select * from person where modified_at >= :since order by id", nativeQuery = true)
+    List<Person> findModifiedSince(@Param("since") LocalDateTime since);
+
+    // 삭제된 사람도 포함한다. (저널 reconcile 용)
+    @Query(value = "select * from person where id in :ids", nativeQuery = true)
+    List<Person> findAllByIdIncludingDeleted(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,82 @@
+package com.fastcampus2.mycontact.repository;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.PersonQueryDto;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.criteria.Path;
+
+// PersonQueryDto 의 조건들을 하나의 쿼리로 묶는다.
+// WHERE 절의 조건 순서는 인덱스 선택에 영향을 주지 않는다. 어떤 인덱스(job + yearOfBirthday, address, name)를 쓸지는 DB 가 정하며,
+// 실제 실행 계획은 GET /api/person/query/explain 으로 확인한다.
+public final class PersonSpecifications {
+    private static final char ESCAPE = '\\';
+
+    private PersonSpecifications() {
+    }
+
+    public static Specification<Person> of(PersonQueryDto query) {
+        return Specification.where(nameEquals(query.getName()))
+                .and(jobEquals(query.getJob()))
+                .and(birthYearBetween(query.getBirthYearFrom(), query.getBirthYearTo()))
+                .and(addressStartsWith(query.getCityPrefix()))
+                .and(hasPhone(query.getHasPhone()));
+    }
+
+    // 조건 값이 없으면 null 을 돌려주고, Specification 은 null 조건을 건너뛴다.
+    public static Specification<Person> nameEquals(String name) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("name"), name);
+    }
+
+    public static Specification<Person> jobEquals(String job) {
+        if (!StringUtils.hasText(job)) {
+            return null;
+        }
+
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("job"), job);
+    }
+
+    public static Specification<Person> birthYearBetween(Integer from, Integer to) {
+        if (from == null && to == null) {
+            return null;
+        }
+
+        return (root, criteriaQuery, cb) -> {
+            Path<Integer> year = root.get("birthday").get("yearOfBirthday");
+
+            if (from != null && to != null) {
+                return cb.between(year, from, to);
+            }
+
+            return from != null ? cb.greaterThanOrEqualTo(year, from) : cb.lessThanOrEqualTo(year, to);
+        };
+    }
+
+    // LIKE 'prefix%' 는 address 인덱스의 범위 검색으로 처리된다.
+    public static Specification<Person> addressStartsWith(String prefix) {
+        if (!StringUtils.hasText(prefix)) {
+            return null;
+        }
+
+        return (root, criteriaQuery, cb) -> cb.like(root.get("address"), escape(prefix) + "%", ESCAPE);
+    }
+
+    public static Specification<Person> hasPhone(Boolean hasPhone) {
+        if (hasPhone == null) {
+            return null;
+        }
+
+        return (root, criteriaQuery, cb) -> hasPhone
+                ? cb.and(cb.isNotNull(root.get("phoneNumber")), cb.notEqual(root.get("phoneNumber"), ""))
+                : cb.or(cb.isNull(root.get("phoneNumber")), cb.equal(root.get("phoneNumber"), ""));
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,112 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+// 정렬 가능한 Person 속성과 컬럼의 대응. shard 의 ORDER BY 와 service 의 병합 정렬이 같은 순서를 쓰도록 한 곳에서 관리한다.
+final class PersonColumns {
+    private static final Map<String, String> COLUMNS = new HashMap<>();
+    private static final Map<String, Function<Person, Comparable<?>>> EXTRACTORS = new HashMap<>();
+
+    static {
+        register("id", "id", Person::getId);
+        register("name", "name", Person::getName);
+        register("hobby", "hobby", Person::getHobby);
+        register("address", "address", Person::getAddress);
+        register("job", "job", Person::getJob);
+        register("phoneNumber", "phone_number", Person::getPhoneNumber);
+        register("birthday.yearOfBirthday", "year_of_birthday", person -> birthday(person, BirthdayDto::getYearOfBirthday));
+        register("birthday.monthOfBirthday", "month_of_birthday", person -> birthday(person, BirthdayDto::getMonthOfBirthday));
+        register("birthday.dayOfBirthday", "day_of_birthday", person -> birthday(person, BirthdayDto::getDayOfBirthday));
+    }
+
+    private PersonColumns() {
+    }
+
+    static String orderBy(Sort sort) {
+        StringJoiner orderBy = new StringJoiner(", ");
+        boolean sortedById = false;
+
+        for (Sort.Order order : sort) {
+            orderBy.add(column(order.getProperty()) + (order.isAscending() ? " ASC NULLS FIRST" : " DESC NULLS LAST"));
+            sortedById |= "id".equals(order.getProperty());
+        }
+
+        // shard 간 병합 결과가 항상 같도록 id 로 순서를 고정한다.
+        if (!sortedById) {
+            orderBy.add("id ASC");
+        }
+
+        return orderBy.toString();
+    }
+
+    static Comparator<Person> comparator(Sort sort) {
+        Comparator<Person> comparator = null;
+        boolean sortedById = false;
+
+        for (Sort.Order order : sort) {
+            column(order.getProperty());
+
+            Function<Person, Comparable<?>> extractor = EXTRACTORS.get(order.getProperty());
+            Comparator<Person> next = (left, right) -> compare(extractor.apply(left), extractor.apply(right));
+
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+            sortedById |= "id".equals(order.getProperty());
+        }
+
+        if (!sortedById) {
+            Comparator<Person> byId = Comparator.comparing(Person::getId);
+            comparator = comparator == null ? byId : comparator.thenComparing(byId);
+        }
+
+        return comparator;
+    }
+
+    private static String column(String property) {
+        String column = COLUMNS.get(property);
+
+        if (column == null) {
+            throw new IllegalArgumentException("정렬할 수 없는 속성입니다: " + property);
+        }
+
+        return column;
+    }
+
+    private static void register(String property, String column, Function<Person, Comparable<?>> extractor) {
+        COLUMNS.put(property, column);
+        EXTRACTORS.put(property, extractor);
+    }
+
+    // SQL 의 ASC NULLS FIRST 와 같은 순서 (역순이면 DESC NULLS LAST)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Comparable left, Comparable right) {
+        if (left == right) {
+            return 0;
+        }
+
+        if (left == null) {
+            return -1;
+        }
+
+        if (right == null) {
+            return 1;
+        }
+
+        return left.compareTo(right);
+    }
+
+    private static Integer birthday(Person person, Function<BirthdayDto, Integer> field) {
+        return person.getBirthday() != null ? field.apply(person.getBirthday()) : null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.sharding")
+public class ShardProperties {
+    private boolean enabled;
+
+    // shard 순서가 곧 shard 번호이므로 목록의 순서를 바꾸면 안 된다.
+    private List<String> urls = new ArrayList<>();
+
+    private String username = "sa";
+
+    private String password = "";
+
+    // 기동 시 소유 shard 가 달라진 행을 옮긴다. (shard 를 추가/제거한 뒤 한 번 켠다)
+    private boolean rebalanceOnStartup;
+}
@@ -0,0 +1,79 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+import com.fastcampus2.mycontact.domain.Person;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// shard 수가 바뀐 뒤(datasource 추가/제거) 소유 shard 가 달라진 행을 옮긴다.
+// 대상 shard 에 먼저 쓰고 원래 shard 에서 지우므로, 중간에 멈추더라도 다시 실행하면 이어서 정리된다.
+// 대상 shard 에 이미 행이 있으면 shard 수가 바뀐 뒤에 쓴 것이므로 그대로 두고 원래 shard 의 행만 지운다.
+@Slf4j
+public class ShardRebalancer {
+    private static final int BATCH_SIZE = 500;
+
+    private final ShardedPersonRepository repository;
+
+    public ShardRebalancer(ShardedPersonRepository repository) {
+        this.repository = repository;
+    }
+
+    // 옮긴 행의 수를 돌려준다.
+    public int rebalance() {
+        List<JdbcTemplate> shards = repository.getShards();
+        int moved = 0;
+
+        for (int source = 0; source < shards.size(); source++) {
+            int movedFromSource = rebalance(source);
+            moved += movedFromSource;
+
+            log.info("shard {} 에서 {} 건 이동", source, movedFromSource);
+        }
+
+        return moved;
+    }
+
+    private int rebalance(int source) {
+        JdbcTemplate sourceShard = repository.getShards().get(source);
+        long lastId = 0;
+        int moved = 0;
+
+        while (true) {
+            // 삭제(soft delete)된 행도 함께 옮긴다.
+            List<Person> batch = sourceShard.query("select " + ShardedPersonRepository.COLUMNS + " from person where id > ? order by id limit ?",
+                    ShardedPersonRepository::mapRow, lastId, BATCH_SIZE);
+
+            if (batch.isEmpty()) {
+                return moved;
+            }
+
+            for (Person person : batch) {
+                int target = repository.shardOf(person.getId());
+
+                if (target != source) {
+                    move(person, source, target);
+                    moved++;
+                }
+            }
+
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private void move(Person person, int source, int target) {
+        JdbcTemplate targetShard = repository.getShards().get(target);
+
+        repository.getTransactions().get(target).execute(status -> {
+            Integer existing = targetShard.queryForObject("select count(*) from person where id = ?", Integer.class, person.getId());
+
+            if (existing == 0) {
+                ShardedPersonRepository.insert(targetShard, person);
+            }
+
+            return null;
+        });
+
+        repository.getShards().get(source).update("delete from person where id = ?", person.getId());
+    }
+}
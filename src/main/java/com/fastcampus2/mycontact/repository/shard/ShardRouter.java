@@ -0,0 +1,25 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+// id 의 hash 로 Person 이 저장될 shard 를 결정한다.
+public class ShardRouter {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int shardCount;
+
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shard 는 1개 이상이어야 합니다.");
+        }
+
+        this.shardCount = shardCount;
+    }
+
+    public int shardOf(Long id) {
+        // 연속된 id 가 한 shard 에 몰리지 않도록 섞은 뒤 나눈다.
+        return Math.floorMod(Long.hashCode(id * GOLDEN_RATIO), shardCount);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
@@ -0,0 +1,261 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
+import com.fastcampus2.mycontact.exception.PersonNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Person 을 id hash 로 여러 datasource 에 나누어 저장한다.
+// 단건 작업은 소유 shard 로 바로 보내고, 목록 조회는 모든 shard 에 병렬로 질의(scatter-gather)한다.
+@Slf4j
+public class ShardedPersonRepository implements Closeable {
+    static final String COLUMNS = "id, name, hobby, address, year_of_birthday, month_of_birthday, day_of_birthday, job, phone_number, deleted";
+    static final String INSERT = "insert into person (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "update person set name = ?, hobby = ?, address = ?, year_of_birthday = ?, month_of_birthday = ?, day_of_birthday = ?, job = ?, phone_number = ?, deleted = ? where id = ?";
+
+    private final List<DataSource> dataSources;
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final ShardRouter router;
+    private final ExecutorService executor;
+    private final AtomicLong sequence;
+
+    public ShardedPersonRepository(List<DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableList(new ArrayList<>(dataSources));
+        this.shards = this.dataSources.stream().map(JdbcTemplate::new).collect(Collectors.toList());
+        this.transactions = this.dataSources.stream()
+                .map(dataSource -> new TransactionTemplate(new DataSourceTransactionManager(dataSource)))
+                .collect(Collectors.toList());
+        this.router = new ShardRouter(this.dataSources.size());
+        this.executor = Executors.newFixedThreadPool(this.dataSources.size());
+
+        this.dataSources.forEach(dataSource ->
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("db/shard/schema.sql")), dataSource));
+
+        // id 는 shard 마다 따로 증가시킬 수 없으므로 모든 shard 의 최댓값에서 이어서 발급한다. (단일 인스턴스 기준)
+        this.sequence = new AtomicLong(scatter(shard -> shard.queryForObject("select coalesce(max(id), 0) from person", Long.class))
+                .stream().mapToLong(Long::longValue).max().orElse(0L));
+
+        log.info("sharding 활성화: {} shards", this.dataSources.size());
+    }
+
+    public int shardOf(Long id) {
+        return router.shardOf(id);
+    }
+
+    public int getShardCount() {
+        return router.getShardCount();
+    }
+
+    public Optional<Person> findById(Long id) {
+        return shard(id).query("select " + COLUMNS + " from person where id = ? and deleted = false",
+                ShardedPersonRepository::mapRow, id).stream().findFirst();
+    }
+
+    public Person insert(Person person) {
+        if (person.getId() == null) {
+            person.setId(sequence.incrementAndGet());
+        }
+
+        insert(shard(person.getId()), person);
+
+        return person;
+    }
+
+    // 소유 shard 의 트랜잭션 안에서 행을 잠그고 변경한다.
+    public Person update(Long id, Consumer<Person> change) {
+        return transactions.get(shardOf(id)).execute(status -> {
+            Person person = shard(id).query("select " + COLUMNS + " from person where id = ? and deleted = false for update",
+                    ShardedPersonRepository::mapRow, id).stream().findFirst().orElseThrow(PersonNotFoundException::new);
+
+            change.accept(person);
+
+            BirthdayDto birthday = person.getBirthday();
+            shard(id).update(UPDATE, person.getName(), person.getHobby(), person.getAddress(),
+                    birthday != null ? birthday.getYearOfBirthday() : null,
+                    birthday != null ? birthday.getMonthOfBirthday() : null,
+                    birthday != null ? birthday.getDayOfBirthday() : null,
+                    person.getJob(), person.getPhoneNumber(), person.isDeleted(), person.getId());
+
+            return person;
+        });
+    }
+
+    // 각 shard 에서 정렬된 앞부분(pageable 범위)을 가져온다. 병합은 호출하는 쪽에서 한다.
+    public List<Page<Person>> findAllOnEachShard(Pageable pageable) {
+        String orderBy = PersonColumns.orderBy(pageable.getSort());
+
+        return scatter(shard -> {
+            long total = shard.queryForObject("select count(*) from person where deleted = false", Long.class);
+
+            if (pageable.isUnpaged()) {
+                return new PageImpl<>(shard.query("select " + COLUMNS + " from person where deleted = false order by " + orderBy,
+                        ShardedPersonRepository::mapRow), pageable, total);
+            }
+
+            List<Person> content = shard.query("select " + COLUMNS + " from person where deleted = false order by " + orderBy + " limit ? offset ?",
+                    ShardedPersonRepository::mapRow, pageable.getPageSize(), pageable.getOffset());
+
+            return new PageImpl<>(content, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort()), total);
+        });
+    }
+
+    public Comparator<Person> comparator(Sort sort) {
+        return PersonColumns.comparator(sort);
+    }
+
+    public List<Person> findByName(String name) {
+        return gather(scatter(shard -> shard.query("select " + COLUMNS + " from person where name = ? and deleted = false",
+                ShardedPersonRepository::mapRow, name)));
+    }
+
+    public List<Person> findByMonthOfBirthday(int monthOfBirthday) {
+        return gather(scatter(shard -> shard.query("select " + COLUMNS + " from person where month_of_birthday = ? and deleted = false",
+                ShardedPersonRepository::mapRow, monthOfBirthday)));
+    }
+
+    // 통계 (PersonStatistics 재구성/검증용). PersonRepository 의 같은 이름 메소드와 같은 형태([값, 건수])로 돌려준다.
+    public long count() {
+        return scatter(shard -> shard.queryForObject("select count(*) from person where deleted = false", Long.class))
+                .stream().mapToLong(Long::longValue).sum();
+    }
+
+    public List<Object[]> countByMonthOfBirthday() {
+        return countGroupedBy("month_of_birthday");
+    }
+
+    public List<Object[]> countByYearOfBirthday() {
+        return countGroupedBy("year_of_birthday");
+    }
+
+    public List<Object[]> countByJob() {
+        return countGroupedBy("job");
+    }
+
+    public List<Object[]> countByAddress() {
+        return countGroupedBy("address");
+    }
+
+    private List<Object[]> countGroupedBy(String column) {
+        Map<Object, Long> counts = new HashMap<>();
+
+        for (List<Object[]> rows : scatter(shard -> shard.query("select " + column + ", count(*) from person where deleted = false group by " + column,
+                (rs, rowNum) -> new Object[]{rs.getObject(1), rs.getLong(2)}))) {
+            for (Object[] row : rows) {
+                counts.merge(row[0], (Long) row[1], Long::sum);
+            }
+        }
+
+        List<Object[]> merged = new ArrayList<>();
+        counts.forEach((key, count) -> merged.add(new Object[]{key, count}));
+
+        return merged;
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable) {
+                ((Closeable) dataSource).close();
+            }
+        }
+    }
+
+    List<JdbcTemplate> getShards() {
+        return shards;
+    }
+
+    List<TransactionTemplate> getTransactions() {
+        return transactions;
+    }
+
+    static void insert(JdbcTemplate shard, Person person) {
+        BirthdayDto birthday = person.getBirthday();
+
+        shard.update(INSERT, person.getId(), person.getName(), person.getHobby(), person.getAddress(),
+                birthday != null ? birthday.getYearOfBirthday() : null,
+                birthday != null ? birthday.getMonthOfBirthday() : null,
+                birthday != null ? birthday.getDayOfBirthday() : null,
+                person.getJob(), person.getPhoneNumber(), person.isDeleted());
+    }
+
+    static Person mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Integer year = getInteger(rs, "year_of_birthday");
+        Integer month = getInteger(rs, "month_of_birthday");
+        Integer day = getInteger(rs, "day_of_birthday");
+
+        return Person.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .hobby(PersonStrings.hobby(rs.getString("hobby")))
+                .address(PersonStrings.address(rs.getString("address")))
+                .birthday(year == null && month == null && day == null ? null : new BirthdayDto(year, month, day))
+                .job(PersonStrings.job(rs.getString("job")))
+                .phoneNumber(rs.getString("phone_number"))
+                .deleted(rs.getBoolean("deleted"))
+                .build();
+    }
+
+    private JdbcTemplate shard(Long id) {
+        return shards.get(shardOf(id));
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+                .collect(Collectors.toList());
+
+        try {
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    private static List<Person> gather(List<List<Person>> results) {
+        return results.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Person::getId))
+                .collect(Collectors.toList());
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fastcampus2.mycontact.service;
+
+import com.fastcampus2.mycontact.domain.Person;
+
+// PersonService 의 변경이 커밋된 뒤 호출된다. (트랜잭션 밖에서 호출되면 즉시)
+// 메모리에 유지하는 집계/색인은 이 인터페이스를 구현해 변경을 반영한다.
+public interface PersonChangeListener {
+    default void onPut(Person person) {
+    }
+
+    default void onModify(Person before, Person after) {
+    }
+
+    default void onDelete(Person person) {
+    }
+}
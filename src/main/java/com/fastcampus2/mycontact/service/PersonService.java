@@ -1,37 +1,198 @@
 package com.fastcampus2.mycontact.service;
 
+import com.fastcampus2.mycontact.configuration.replication.ReplicationContext;
 import com.fastcampus2.mycontact.domain.Person;
 import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto;
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto.Item;
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto.Status;
 import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.domain.dto.PersonHistoryDto;
+import com.fastcampus2.mycontact.domain.dto.PersonQueryDto;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.domain.dto.QueryPlanDto;
+import com.fastcampus2.mycontact.exception.InvalidBulkRequestException;
+import com.fastcampus2.mycontact.exception.JournalDisabledException;
 import com.fastcampus2.mycontact.exception.PersonNotFoundException;
 import com.fastcampus2.mycontact.exception.RenameNotPermittedException;
+import com.fastcampus2.mycontact.exception.UnsupportedInShardingModeException;
 import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.repository.PersonSpecifications;
+import com.fastcampus2.mycontact.repository.shard.ShardedPersonRepository;
+import com.fastcampus2.mycontact.service.index.PersonIndex;
+import com.fastcampus2.mycontact.service.journal.ChangeJournal;
+import com.fastcampus2.mycontact.service.journal.ChangeJournal.Change;
+import com.fastcampus2.mycontact.service.readmodel.PersonReadModel;
+import com.fastcampus2.mycontact.service.support.PageMerger;
+import com.fastcampus2.mycontact.service.support.QueryPlanExplainer;
+import com.fastcampus2.mycontact.service.support.SingleFlight;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 
-import java.util.List;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class PersonService {
+    // 실패한 chunk 의 항목에 남기는 메시지 (예외 메시지는 내부 정보를 담을 수 있어 로그에만 남긴다)
+    private static final String BULK_FAILED_MESSAGE = "처리하지 못했습니다. 잠시 후 다시 시도해 주세요.";
+
+    private static final int WRITE_STRIPES = 1024;
+
     @Autowired
     private PersonRepository personRepository;
 
+    // sharding 모드(mycontact.sharding.enabled=true)일 때만 주입된다.
+    @Autowired(required = false)
+    private ShardedPersonRepository shardedPersonRepository;
+
+    @Autowired
+    private PersonStatistics personStatistics;
+
+    // mycontact.index-snapshot.enabled=true 일 때만 주입된다.
+    @Autowired(required = false)
+    private PersonIndex personIndex;
+
+    // mycontact.read-model.enabled=true 일 때만 주입된다.
+    @Autowired(required = false)
+    private PersonReadModel personReadModel;
+
+    // mycontact.journal.enabled=true 일 때만 주입된다.
+    @Autowired(required = false)
+    private ChangeJournal changeJournal;
+
+    @Autowired
+    private QueryPlanExplainer queryPlanExplainer;
+
+    // 변경이 커밋된 뒤 알림을 받는 집계/색인들 (저널은 커밋 전에 따로 기록한다)
+    @Autowired(required = false)
+    private List<PersonChangeListener> personChangeListeners = new ArrayList<>();
+
+    // 일괄 처리는 chunk 마다 별도 트랜잭션으로 실행한다.
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${mycontact.bulk.chunk-size:500}")
+    private int bulkChunkSize = 500;
+
+    // 같은 id 에 대한 동시 조회는 한 번의 findById 로 합친다.
+    private final SingleFlight<FlightKey, Optional<Person>> personFlight = new SingleFlight<>();
+
+    // 방금 쓴 client(ReplicationContext.stickToPrimary)의 조회는 replica 로 간 조회에 끼지 않도록 따로 합친다.
+    private final SingleFlight<FlightKey, Optional<Person>> primaryPersonFlight = new SingleFlight<>();
+
+    // id 가 속한 칸(id % WRITE_STRIPES)에 변경이 커밋될 때마다 올린다.
+    // 조회는 (id, 세대) 로 합치므로, 커밋 전에 시작한 조회에는 커밋 뒤의 조회(방금 쓴 요청의 조회 포함)가 끼지 않는다.
+    private final AtomicLongArray writeGenerations = new AtomicLongArray(WRITE_STRIPES);
+
+    @Transactional(readOnly = true)
     public Page<Person> getAll(Pageable pageable) {
+        if (shardedPersonRepository != null) {
+            return getAllFromShards(pageable);
+        }
+
+        if (personReadModel != null && personReadModel.isReady() && personReadModel.supports(pageable)) {
+            return personReadModel.findAll(pageable);
+        }
+
         return personRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
     public List<Person> getPeopleByName(String name) {
+        if (shardedPersonRepository != null) {
+            return shardedPersonRepository.findByName(name);
+        }
+
+        if (personIndex != null && personIndex.isReady()) {
+            List<Long> ids = personIndex.idsByName(name);
+
+            return ids.isEmpty() ? new ArrayList<>() : personRepository.findAllById(ids);
+        }
+
         return personRepository.findByName(name);
     }
 
+    // day 가 없으면 그 달 전체
     @Transactional(readOnly = true)
+    public List<Person> getPeopleByBirthday(int month, Integer day) {
+        if (personReadModel != null && personReadModel.isReady()) {
+            return personReadModel.findByBirthday(month, day);
+        }
+
+        List<Person> people = shardedPersonRepository != null
+                ? shardedPersonRepository.findByMonthOfBirthday(month)
+                : personRepository.findByMonthOfBirthday(month);
+
+        if (day == null) {
+            return people;
+        }
+
+        return people.stream()
+                .filter(person -> day.equals(person.getBirthday().getDayOfBirthday()))
+                .collect(Collectors.toList());
+    }
+
+    // 조건 조합 검색은 shard 마다 인덱스를 타는 쿼리를 다시 만들어야 하므로 단일 DB 에서만 지원한다.
+    @Transactional(readOnly = true)
+    public Page<Person> getPeopleByQuery(PersonQueryDto query, Pageable pageable) {
+        if (shardedPersonRepository != null) {
+            throw new UnsupportedInShardingModeException();
+        }
+
+        return personRepository.findAll(PersonSpecifications.of(query), pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public QueryPlanDto explainQuery(PersonQueryDto query, Pageable pageable) {
+        if (shardedPersonRepository != null) {
+            throw new UnsupportedInShardingModeException();
+        }
+
+        return queryPlanExplainer.explain(() -> personRepository.findAll(PersonSpecifications.of(query), pageable));
+    }
+
+    // 대기하는 요청들이 커넥션을 잡고 있지 않도록 트랜잭션 밖에서 합치고, 조회는 Repository 의 readOnly 트랜잭션에서 실행한다.
     public Person getPerson(Long id) {
-        return personRepository.findById(id).orElse(null);
+        SingleFlight<FlightKey, Optional<Person>> flight = ReplicationContext.isStickToPrimary() ? primaryPersonFlight : personFlight;
+        FlightKey key = new FlightKey(id, writeGenerations.get(stripeOf(id)));
+
+        return flight.execute(key, () -> findById(id)).orElse(null);
+    }
+
+    // 삭제된 사람의 이력도 돌려준다.
+    public List<PersonHistoryDto> getHistory(Long id) {
+        if (changeJournal == null) {
+            throw new JournalDisabledException();
+        }
+
+        return changeJournal.history(id).stream()
+                .map(record -> PersonHistoryDto.builder()
+                        .seq(record.getSeq())
+                        .changedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getTimestamp()), ZoneId.systemDefault()))
+                        .type(record.getType().name())
+                        .before(record.getBefore())
+                        .after(record.getAfter())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     @Transactional
@@ -40,37 +201,302 @@ public class PersonService {
         person.set(personDto);
         person.setName(personDto.getName());
 
-        personRepository.save(person);
+        if (shardedPersonRepository != null) {
+            shardedPersonRepository.insert(person);
+        } else {
+            personRepository.save(person);
+        }
+
+        journal(Change.put(person));
+        publish(person.getId(), listener -> listener.onPut(person));
     }
 
     @Transactional
     public void modify(Long id, PersonDto personDto) {
-        Person person = personRepository.findById(id).orElseThrow(PersonNotFoundException::new);
+        update(id, person -> {
+            if(!person.getName().equals(personDto.getName())) {
+                throw new RenameNotPermittedException();
+            }
 
-        if(!person.getName().equals(personDto.getName())) {
-            throw new RenameNotPermittedException();
-        }
+            person.set(personDto);
+        });
+    }
 
-        person.set(personDto);
+    @Transactional
+    public void modify(Long id, String name) {
+        update(id, person -> person.setName(name));
+    }
 
-        personRepository.save(person);
+    @Transactional
+    public void delete(Long id) {
+        update(id, person -> person.setDeleted(true));
     }
 
+    // 중복으로 확인된 사람들을 survivor 하나로 합친다.
+    // survivor 의 빈 항목만 중복 쪽 값으로 채우고(앞선 id 우선), 중복은 삭제한다.
     @Transactional
-    public void modify(Long id, String name) {
-        Person person = personRepository.findById(id).orElseThrow(PersonNotFoundException::new);
+    public void merge(Long survivorId, List<Long> duplicateIds) {
+        List<Person> duplicates = duplicateIds.stream()
+                .filter(id -> !id.equals(survivorId))
+                .distinct()
+                .sorted()
+                .map(id -> findById(id).orElseThrow(PersonNotFoundException::new))
+                .collect(Collectors.toList());
 
-        person.setName(name);
+        update(survivorId, survivor -> duplicates.forEach(duplicate -> fillBlanks(survivor, duplicate)));
 
-        personRepository.save(person);
+        duplicates.forEach(duplicate -> update(duplicate.getId(), person -> person.setDeleted(true)));
     }
 
-    @Transactional
-    public void delete(Long id) {
-        Person person = personRepository.findById(id).orElseThrow(PersonNotFoundException::new);
+    // 일괄 변경/삭제는 트랜잭션 없이 호출한다. 실패한 chunk 만 롤백되고, 나머지 chunk 의 결과는 남는다.
+    // 바꿀 값이 하나도 없으면 행을 잠그지 않고 거절한다.
+    public BulkResultDto bulkModify(BulkPersonDto request) {
+        if (!request.hasChanges()) {
+            throw new InvalidBulkRequestException();
+        }
+
+        return bulk(request, (ids, modifiedAt) -> personRepository.bulkModify(ids, request, modifiedAt), person -> {
+            if (!StringUtils.isEmpty(request.getHobby())) {
+                person.setHobby(request.getHobby());
+            }
+
+            if (!StringUtils.isEmpty(request.getAddress())) {
+                person.setAddress(request.getAddress());
+            }
+
+            if (!StringUtils.isEmpty(request.getJob())) {
+                person.setJob(request.getJob());
+            }
+
+            if (!StringUtils.isEmpty(request.getPhoneNumber())) {
+                person.setPhoneNumber(request.getPhoneNumber());
+            }
+        });
+    }
+
+    public BulkResultDto bulkDelete(BulkPersonDto request) {
+        return bulk(request, personRepository::bulkDelete, person -> person.setDeleted(true));
+    }
+
+    public PersonStatsDto getStats() {
+        if (personReadModel != null && personReadModel.isReady()) {
+            return personReadModel.getStats();
+        }
 
-        person.setDeleted(true);
+        return personStatistics.getStats();
+    }
+
+    private static void fillBlanks(Person survivor, Person duplicate) {
+        if (StringUtils.isEmpty(survivor.getHobby())) {
+            survivor.setHobby(duplicate.getHobby());
+        }
+
+        if (StringUtils.isEmpty(survivor.getAddress())) {
+            survivor.setAddress(duplicate.getAddress());
+        }
+
+        if (survivor.getBirthday() == null) {
+            survivor.setBirthday(duplicate.getBirthday());
+        }
+
+        if (StringUtils.isEmpty(survivor.getJob())) {
+            survivor.setJob(duplicate.getJob());
+        }
+
+        if (StringUtils.isEmpty(survivor.getPhoneNumber())) {
+            survivor.setPhoneNumber(duplicate.getPhoneNumber());
+        }
+    }
+
+    private Optional<Person> findById(Long id) {
+        if (shardedPersonRepository != null) {
+            return shardedPersonRepository.findById(id);
+        }
+
+        return personRepository.findById(id);
+    }
+
+    // 단건 변경은 sharding 모드라면 소유 shard 에서 바로 처리한다.
+    private void update(Long id, Consumer<Person> change) {
+        Person before;
+        Person after;
+
+        if (shardedPersonRepository != null) {
+            Person[] snapshot = new Person[1];
+            after = shardedPersonRepository.update(id, person -> {
+                snapshot[0] = person.toBuilder().build();
+                change.accept(person);
+            });
+            before = snapshot[0];
+        } else {
+            after = personRepository.findById(id).orElseThrow(PersonNotFoundException::new);
+            before = after.toBuilder().build();
+
+            change.accept(after);
+
+            // 저널에는 DB 에 쓴 변경 시각(modifiedAt)이 남아야 하므로 바로 flush 한다.
+            if (changeJournal != null) {
+                personRepository.saveAndFlush(after);
+            } else {
+                personRepository.save(after);
+            }
+        }
+
+        if (!before.isDeleted() && after.isDeleted()) {
+            journal(Change.delete(before, after));
+            publish(id, listener -> listener.onDelete(before));
+        } else {
+            journal(Change.modify(before, after));
+            publish(id, listener -> listener.onModify(before, after));
+        }
+    }
+
+    private BulkResultDto bulk(BulkPersonDto request, BiFunction<List<Long>, LocalDateTime, Integer> statement, Consumer<Person> change) {
+        if (shardedPersonRepository != null) {
+            throw new UnsupportedInShardingModeException();
+        }
+
+        List<Long> ids = targetIds(request);
+        Map<Long, Item> results = new LinkedHashMap<>();
+
+        for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+
+            try {
+                results.putAll(transactionTemplate.execute(status -> bulkChunk(chunk, statement, change)));
+            } catch (RuntimeException e) {
+                log.error("일괄 처리 실패: {} 건 롤백 ({} ~ {})", chunk.size(), chunk.get(0), chunk.get(chunk.size() - 1), e);
+
+                for (Long id : chunk) {
+                    results.put(id, new Item(id, Status.FAILED, BULK_FAILED_MESSAGE));
+                }
+            }
+        }
+
+        int succeeded = (int) results.values().stream().filter(item -> item.getStatus() == Status.OK).count();
+
+        return BulkResultDto.builder()
+                .requested(ids.size())
+                .succeeded(succeeded)
+                .results(new ArrayList<>(results.values()))
+                .build();
+    }
+
+    private List<Long> targetIds(BulkPersonDto request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            return new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        }
+
+        // 조건 없는 filter 로 전체를 바꾸는 일은 막는다.
+        if (request.getFilter() == null || !request.getFilter().hasConditions()) {
+            throw new InvalidBulkRequestException();
+        }
+
+        return personRepository.findIds(PersonSpecifications.of(request.getFilter()));
+    }
+
+    // 대상 행을 잠그고 변경 전 값을 잡아 둔 뒤, 한 번의 UPDATE 로 바꾸고 커밋 후에 알린다.
+    private Map<Long, Item> bulkChunk(List<Long> chunk, BiFunction<List<Long>, LocalDateTime, Integer> statement, Consumer<Person> change) {
+        Map<Long, Item> results = new LinkedHashMap<>();
+        List<Person> befores = new ArrayList<>();
+        LocalDateTime modifiedAt = LocalDateTime.now();
+
+        for (Person person : personRepository.findAllByIdForUpdate(chunk)) {
+            befores.add(person.toBuilder().build());
+        }
+
+        List<Long> found = new ArrayList<>();
+        befores.forEach(person -> found.add(person.getId()));
+
+        if (!found.isEmpty()) {
+            statement.apply(found, modifiedAt);
+        }
+
+        for (Long id : chunk) {
+            results.put(id, new Item(id, Status.NOT_FOUND, null));
+        }
+
+        for (Person before : befores) {
+            Person after = before.toBuilder().modifiedAt(modifiedAt).build();
+            change.accept(after);
+
+            results.put(before.getId(), new Item(before.getId(), Status.OK, null));
+
+            if (after.isDeleted()) {
+                journal(Change.delete(before, after));
+                publish(before.getId(), listener -> listener.onDelete(before));
+            } else {
+                journal(Change.modify(before, after));
+                publish(before.getId(), listener -> listener.onModify(before, after));
+            }
+        }
+
+        return results;
+    }
+
+    // 저널은 커밋 전에 기록한다. 기록하지 못하면 트랜잭션이 롤백되고 호출한 쪽에 JournalWriteException 이 전달된다.
+    // sharding 모드는 shard 에 이미 커밋되었으므로 바로 기록한다.
+    private void journal(Change change) {
+        if (changeJournal == null) {
+            return;
+        }
+
+        if (shardedPersonRepository != null) {
+            changeJournal.record(change);
+        } else {
+            changeJournal.append(change);
+        }
+    }
+
+    // 트랜잭션 안이라면 커밋된 뒤에, 아니라면 바로 알린다. (롤백된 변경은 알리지 않는다)
+    // 조회 세대도 커밋된 뒤에 올려야, 올린 뒤에 시작한 조회가 바뀐 값을 읽는다.
+    private void publish(Long id, Consumer<PersonChangeListener> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    markWritten(id);
+                    notifyListeners(event);
+                }
+            });
+        } else {
+            markWritten(id);
+            notifyListeners(event);
+        }
+    }
+
+    private void markWritten(Long id) {
+        if (id != null) {
+            writeGenerations.incrementAndGet(stripeOf(id));
+        }
+    }
+
+    private static int stripeOf(Long id) {
+        return (int) Math.floorMod(id, (long) WRITE_STRIPES);
+    }
+
+    private void notifyListeners(Consumer<PersonChangeListener> event) {
+        for (PersonChangeListener listener : personChangeListeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("PersonChangeListener 처리 실패: {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // 각 shard 에서 요청한 페이지 끝까지의 정렬된 결과를 가져와 병합한다.
+    private Page<Person> getAllFromShards(Pageable pageable) {
+        Pageable head = pageable.isPaged()
+                ? PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort())
+                : pageable;
+
+        return PageMerger.merge(shardedPersonRepository.findAllOnEachShard(head), pageable, shardedPersonRepository.comparator(pageable.getSort()));
+    }
 
-        personRepository.save(person);
+    @lombok.Value
+    private static class FlightKey {
+        Long id;
+        long generation;
     }
 }
@@ -0,0 +1,206 @@
+package com.fastcampus2.mycontact.service;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.repository.shard.ShardedPersonRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// 생월/나이대/직업/도시별 인원 집계.
+// 변경될 때마다 LongAdder 를 증감하므로 조회 비용은 데이터 건수와 무관하다.
+// 기동 시 DB 에서 다시 만들고, 주기적으로 DB 의 GROUP BY 결과와 비교해 어긋나면 교체한다.
+// 같은 행을 동시에 바꾸면 두 변경이 같은 이전 값을 빼므로 카운터가 어긋날 수 있다. 따라서 값은 검사(verify) 사이에는 근사치이고,
+// 다음 검사에서 DB 값으로 바로잡힌다. (정확한 값이 필요하면 DB 에서 직접 집계한다)
+// DB 집계는 sharding 모드면 모든 shard 를 합치고, 아니면 primary 에서 한다. (readOnly 트랜잭션은 뒤처진 replica 로 갈 수 있다)
+// 값이 없는 항목(생일, 직업, 주소가 없는 경우)은 해당 집계에서 빠진다.
+@Slf4j
+@Component
+public class PersonStatistics implements PersonChangeListener, ApplicationRunner {
+    @Autowired
+    private PersonRepository personRepository;
+
+    // sharding 모드(mycontact.sharding.enabled=true)일 때만 주입된다.
+    @Autowired(required = false)
+    private ShardedPersonRepository shardedPersonRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile Counters counters = new Counters();
+
+    // 먼저 실행된 PersonIndexSnapshotter 가 이미 채웠다면 기동 시 다시 만들지 않는다.
+    private volatile boolean loaded;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!loaded) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void onPut(Person person) {
+        add(counters, person, 1);
+    }
+
+    // before 는 잠그지 않고 읽은 값이므로, 동시에 바뀐 행이면 실제 이전 값과 다를 수 있다. (verify 에서 바로잡는다)
+    @Override
+    public void onModify(Person before, Person after) {
+        Counters current = counters;
+        add(current, before, -1);
+        add(current, after, 1);
+    }
+
+    @Override
+    public void onDelete(Person person) {
+        add(counters, person, -1);
+    }
+
+    public PersonStatsDto getStats() {
+        return toDto(counters);
+    }
+
+    private static PersonStatsDto toDto(Counters current) {
+        return PersonStatsDto.builder()
+                .total(current.total.sum())
+                .byBirthMonth(sums(current.byBirthMonth))
+                .byAgeBucket(ageBuckets(sums(current.byBirthYear)))
+                .byJob(sums(current.byJob))
+                .byCity(sums(current.byCity))
+                .build();
+    }
+
+    public void rebuild() {
+        counters = load();
+        loaded = true;
+
+        log.info("Person 통계 재구성: {} 건", counters.total.sum());
+    }
+
+    // DB 를 읽지 않고 주어진 사람들로 다시 만든다. (스냅샷 복원)
+    public void restore(Collection<Person> people) {
+        Counters restored = new Counters();
+        people.forEach(person -> add(restored, person, 1));
+
+        counters = restored;
+        loaded = true;
+    }
+
+    // DB 와 다르면 DB 값으로 교체하고 false 를 돌려준다.
+    // 검사 도중 들어온 변경 때문에 어긋날 수도 있으나, 그 경우에도 교체된 값은 DB 기준이다.
+    @Scheduled(fixedDelayString = "${mycontact.stats.verify-interval-ms:300000}", initialDelayString = "${mycontact.stats.verify-interval-ms:300000}")
+    public boolean verify() {
+        Counters loaded = load();
+        PersonStatsDto expected = toDto(loaded);
+        PersonStatsDto actual = getStats();
+
+        if (expected.equals(actual)) {
+            return true;
+        }
+
+        log.warn("Person 통계가 DB 와 다릅니다. 다시 만듭니다. (expected total={}, actual total={})", expected.getTotal(), actual.getTotal());
+        counters = loaded;
+
+        return false;
+    }
+
+    private Counters load() {
+        if (shardedPersonRepository != null) {
+            return load(shardedPersonRepository.count(), shardedPersonRepository.countByMonthOfBirthday(), shardedPersonRepository.countByYearOfBirthday(),
+                    shardedPersonRepository.countByJob(), shardedPersonRepository.countByAddress());
+        }
+
+        // 읽기 전용 트랜잭션이 아니어야 replica 가 아닌 primary 에서 읽는다.
+        return transactionTemplate.execute(status -> load(personRepository.count(), personRepository.countByMonthOfBirthday(),
+                personRepository.countByYearOfBirthday(), personRepository.countByJob(), personRepository.countByAddress()));
+    }
+
+    private static Counters load(long total, List<Object[]> byBirthMonth, List<Object[]> byBirthYear, List<Object[]> byJob, List<Object[]> byAddress) {
+        Counters loaded = new Counters();
+
+        loaded.total.add(total);
+        fill(loaded.byBirthMonth, byBirthMonth, key -> ((Number) key).intValue());
+        fill(loaded.byBirthYear, byBirthYear, key -> ((Number) key).intValue());
+        fill(loaded.byJob, byJob, key -> (String) key);
+        fill(loaded.byCity, byAddress, key -> Person.cityOf((String) key));
+
+        return loaded;
+    }
+
+    private static <K> void fill(ConcurrentMap<K, LongAdder> counter, List<Object[]> rows, Function<Object, K> keyMapper) {
+        for (Object[] row : rows) {
+            increment(counter, row[0] != null ? keyMapper.apply(row[0]) : null, ((Number) row[1]).longValue());
+        }
+    }
+
+    private static void add(Counters counters, Person person, long delta) {
+        BirthdayDto birthday = person.getBirthday();
+
+        counters.total.add(delta);
+        increment(counters.byBirthMonth, birthday != null ? birthday.getMonthOfBirthday() : null, delta);
+        increment(counters.byBirthYear, birthday != null ? birthday.getYearOfBirthday() : null, delta);
+        increment(counters.byJob, person.getJob(), delta);
+        increment(counters.byCity, Person.cityOf(person.getAddress()), delta);
+    }
+
+    private static <K> void increment(ConcurrentMap<K, LongAdder> counter, K key, long delta) {
+        if (key == null) {
+            return;
+        }
+
+        LongAdder adder = counter.get(key);
+        if (adder == null) {
+            adder = counter.computeIfAbsent(key, k -> new LongAdder());
+        }
+
+        adder.add(delta);
+    }
+
+    private static <K> Map<K, Long> sums(ConcurrentMap<K, LongAdder> counter) {
+        Map<K, Long> sums = new TreeMap<>();
+
+        counter.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (sum != 0) {
+                sums.put(key, sum);
+            }
+        });
+
+        return sums;
+    }
+
+    // 나이는 Person.getAge 와 같이 계산하므로, 출생연도별 인원만 있으면 된다.
+    public static Map<String, Long> ageBuckets(Map<Integer, Long> byBirthYear) {
+        int currentYear = LocalDate.now().getYear();
+        Map<Integer, Long> buckets = new TreeMap<>();
+
+        byBirthYear.forEach((year, count) -> buckets.merge((currentYear - year + 1) / 10 * 10, count, Long::sum));
+
+        Map<String, Long> labeled = new LinkedHashMap<>();
+        buckets.forEach((bucket, count) -> labeled.put(bucket + "-" + (bucket + 9), count));
+
+        return labeled;
+    }
+
+    private static class Counters {
+        private final LongAdder total = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> byBirthMonth = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Integer, LongAdder> byBirthYear = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byJob = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byCity = new ConcurrentHashMap<>();
+    }
+}
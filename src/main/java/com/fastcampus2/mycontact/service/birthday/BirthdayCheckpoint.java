@@ -0,0 +1,243 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import com.fastcampus2.mycontact.domain.Person;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 하루치 발송 진행 상황. 날짜마다 directory/yyyy-MM-dd.checkpoint 파일 하나를 두고, 생일(월/일)마다
+//   - watermark: 이 id 까지는 빠짐없이 보냈다.
+//   - done: watermark 뒤에서 먼저 끝난 묶음의 id 구간 (from, to]
+// 을 둔다. 묶음이 끝날 때마다 임시 파일에 쓰고 rename 하므로, 도중에 멈춰도 파일은 마지막으로 끝난 묶음까지를 가리킨다.
+// 다시 시작하면 watermark 뒤부터 읽고 done 구간의 사람은 건너뛴다. 다시 보내는 것은 멈출 때 보내고 있던 묶음뿐이다.
+// complete 가 아닌 파일은 날짜가 바뀌어도 지우지 않는다. (다음 실행이 그 날짜부터 마저 보낸다)
+@Slf4j
+public class BirthdayCheckpoint {
+    private static final String SUFFIX = ".checkpoint";
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})" + Pattern.quote(SUFFIX));
+
+    private final Path path;
+    private final LocalDate date;
+    private final Map<MonthDay, Progress> progress = new TreeMap<>();
+    private boolean complete;
+
+    private BirthdayCheckpoint(Path path, LocalDate date) {
+        this.path = path;
+        this.date = date;
+    }
+
+    public static BirthdayCheckpoint load(Path directory, LocalDate date) {
+        Path path = directory.resolve(date + SUFFIX);
+        BirthdayCheckpoint checkpoint = new BirthdayCheckpoint(path, date);
+
+        if (!Files.exists(path)) {
+            return checkpoint;
+        }
+
+        Properties properties = read(path);
+
+        checkpoint.complete = Boolean.parseBoolean(properties.getProperty("complete"));
+        for (MonthDay birthday : checkpoint.birthdays()) {
+            Progress restored = checkpoint.progressOf(birthday);
+            restored.watermark = Long.parseLong(properties.getProperty(name(birthday) + ".watermark", "0"));
+
+            String done = properties.getProperty(name(birthday) + ".done", "");
+            for (String range : done.split(",")) {
+                if (!range.isEmpty()) {
+                    String[] bounds = range.split("-");
+                    restored.done.put(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]));
+                }
+            }
+        }
+
+        return checkpoint;
+    }
+
+    // 체크포인트 파일이 있는 날짜 (오래된 것부터)
+    public static SortedMap<LocalDate, Boolean> saved(Path directory) {
+        SortedMap<LocalDate, Boolean> saved = new TreeMap<>();
+
+        if (!Files.isDirectory(directory)) {
+            return saved;
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    saved.put(LocalDate.parse(matcher.group(1)), Boolean.parseBoolean(read(file).getProperty("complete")));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return saved;
+    }
+
+    // 끝나지 않은 날짜 (오래된 것부터)
+    public static List<LocalDate> pending(Path directory) {
+        List<LocalDate> pending = new ArrayList<>();
+        saved(directory).forEach((date, complete) -> {
+            if (!complete) {
+                pending.add(date);
+            }
+        });
+
+        return pending;
+    }
+
+    // date 보다 앞선 날짜 중 끝난 파일을 지운다. (같은 날 다시 실행할 때를 위해 date 의 파일은 남긴다)
+    public static void deleteCompleteBefore(Path directory, LocalDate date) {
+        saved(directory).headMap(date).forEach((saved, complete) -> {
+            if (complete) {
+                try {
+                    Files.deleteIfExists(directory.resolve(saved + SUFFIX));
+                } catch (IOException e) {
+                    log.warn("생일 발송 체크포인트를 지우지 못했습니다: {}", saved, e);
+                }
+            }
+        });
+    }
+
+    // 더 이상 보내지 않을 날짜. 남은 진행 상황을 확인할 수 있도록 파일 이름만 바꿔 둔다.
+    public static void abandon(Path directory, LocalDate date) {
+        try {
+            Files.move(directory.resolve(date + SUFFIX), directory.resolve(date + SUFFIX + ".abandoned"), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 아무것도 보내기 전에 파일을 만들어, 첫 묶음 전에 멈춰도 끝나지 않은 날짜로 남게 한다.
+    public synchronized void begin() {
+        complete = false;
+        save();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<MonthDay> birthdays() {
+        return Person.birthdaysOn(date);
+    }
+
+    public synchronized long watermark(MonthDay birthday) {
+        return progressOf(birthday).watermark;
+    }
+
+    public synchronized boolean isDone(MonthDay birthday, long id) {
+        Progress current = progressOf(birthday);
+        if (id <= current.watermark) {
+            return true;
+        }
+
+        Map.Entry<Long, Long> range = current.done.lowerEntry(id);
+        return range != null && id <= range.getValue();
+    }
+
+    // (from, to] 구간을 모두 보냈다.
+    public synchronized void markDone(MonthDay birthday, long from, long to) {
+        Progress current = progressOf(birthday);
+        complete = false;
+        current.done.merge(from, to, Math::max);
+
+        boolean advanced = true;
+        while (advanced) {
+            advanced = false;
+
+            Iterator<Map.Entry<Long, Long>> ranges = current.done.headMap(current.watermark, true).entrySet().iterator();
+            while (ranges.hasNext()) {
+                long end = ranges.next().getValue();
+                ranges.remove();
+
+                if (end > current.watermark) {
+                    current.watermark = end;
+                    advanced = true;
+                }
+            }
+        }
+
+        save();
+    }
+
+    public synchronized void markComplete() {
+        complete = true;
+        save();
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    private Progress progressOf(MonthDay birthday) {
+        return progress.computeIfAbsent(birthday, key -> new Progress());
+    }
+
+    private static Properties read(Path path) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return properties;
+    }
+
+    private void save() {
+        Properties properties = new Properties();
+        properties.setProperty("date", date.toString());
+        properties.setProperty("complete", Boolean.toString(complete));
+
+        progress.forEach((birthday, current) -> {
+            StringJoiner done = new StringJoiner(",");
+            current.done.forEach((from, to) -> done.add(from + "-" + to));
+
+            properties.setProperty(name(birthday) + ".watermark", Long.toString(current.watermark));
+            properties.setProperty(name(birthday) + ".done", done.toString());
+        });
+
+        try {
+            Path absolute = path.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+
+            Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, null);
+            }
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String name(MonthDay birthday) {
+        return String.format("%02d-%02d", birthday.getMonthValue(), birthday.getDayOfMonth());
+    }
+
+    private static class Progress {
+        private long watermark;
+        private final TreeMap<Long, Long> done = new TreeMap<>();
+    }
+}
@@ -0,0 +1,416 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto.Status;
+import com.fastcampus2.mycontact.exception.InvalidBirthdayDispatchDateException;
+import com.fastcampus2.mycontact.exception.UnsupportedInShardingModeException;
+import com.fastcampus2.mycontact.repository.shard.ShardedPersonRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 매일 그 날 생일인 사람에게 축하 메시지를 보낸다.
+//   1. 생일(월/일)마다 idx_person_birthday 로 batchSize 명씩 id 순서로 읽는다. (keyset: id > 마지막 id)
+//   2. 읽은 묶음을 sink 로 보낸다. 동시에 보내는 묶음은 concurrency 개까지이고, 모두 차 있으면 읽기를 멈추고 기다린다.
+//   3. 실패한 묶음은 maxAttempts 번까지 다시 보내고, 보낸 묶음은 체크포인트에 남긴다.
+// window 가 지나면 새 묶음을 보내지 않고 INCOMPLETE 로 끝내고, retryInterval 뒤에 체크포인트부터 이어서 보낸다.
+// 날짜가 바뀌어도 끝나지 않은 날짜는 버리지 않고, 다음 실행(기동, cron, 재시도)이 새 날짜보다 먼저 마저 보낸다.
+@Slf4j
+public class BirthdayDispatcher implements ApplicationRunner {
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM person "
+            + "WHERE month_of_birthday = ? AND day_of_birthday = ? AND deleted = FALSE";
+    private static final String BATCH_SQL = "SELECT id, name, phone_number FROM person "
+            + "WHERE month_of_birthday = ? AND day_of_birthday = ? AND deleted = FALSE AND id > ? ORDER BY id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BirthdayProperties properties;
+    private final BirthdaySink sink;
+    private final Path checkpointDirectory;
+
+    // sharding 모드(mycontact.sharding.enabled=true)일 때만 주입된다.
+    @Autowired(required = false)
+    private ShardedPersonRepository shardedPersonRepository;
+
+    // 실행과 재시도 예약을 한 스레드에서 처리한다.
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "birthday-dispatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile BirthdayDispatchReportDto report = BirthdayDispatchReportDto.builder().status(Status.IDLE).build();
+
+    public BirthdayDispatcher(DataSource dataSource, BirthdayProperties properties, BirthdaySink sink) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.sink = sink;
+        this.checkpointDirectory = Paths.get(properties.getCheckpointDirectory());
+    }
+
+    // 멈추기 전에 끝내지 못한 날짜(자정을 넘겨 다시 뜬 경우 포함)가 있으면 이어서 보낸다.
+    @Override
+    public void run(ApplicationArguments args) {
+        checkSupported();
+
+        if (properties.isResumeOnStartup()) {
+            resume();
+        }
+    }
+
+    @Scheduled(cron = "${mycontact.birthday.cron:0 0 9 * * *}", zone = "${mycontact.birthday.zone:Asia/Seoul}")
+    public void dispatchToday() {
+        startToday();
+    }
+
+    public BirthdayDispatchReportDto startToday() {
+        return start(today());
+    }
+
+    public BirthdayDispatchReportDto getReport() {
+        return report;
+    }
+
+    // 앞선 날짜 중 끝나지 않았거나 실행하지 못한 날짜를 먼저 보내고 date 를 보낸다.
+    // 이미 실행 중이면 새로 시작하지 않고 현재 상태를 돌려준다.
+    // 오늘(zone 기준) 이후 날짜는 체크포인트가 앞서 나가 그 사이 날짜를 건너뛰게 되므로 받지 않는다.
+    public BirthdayDispatchReportDto start(LocalDate date) {
+        checkSupported();
+
+        if (date.isAfter(today())) {
+            throw new InvalidBirthdayDispatchDateException();
+        }
+
+        return submit(() -> datesUpTo(date, true));
+    }
+
+    // 끝나지 않은 날짜만 이어서 보낸다. (기동할 때, INCOMPLETE 로 끝난 뒤 retryInterval 마다)
+    public BirthdayDispatchReportDto resume() {
+        checkSupported();
+
+        LocalDate today = today();
+        return submit(() -> datesUpTo(today, BirthdayCheckpoint.pending(checkpointDirectory).contains(today)));
+    }
+
+    // 호출한 스레드에서 바로 실행한다. (테스트용) 실행 중인 발송이 있으면 새로 시작하지 않는다.
+    synchronized BirthdayDispatchReportDto dispatchNow(LocalDate date) {
+        checkSupported();
+
+        if (report.getStatus() == Status.RUNNING) {
+            return report;
+        }
+
+        report = run(datesUpTo(date, true), LocalDateTime.now());
+
+        return report;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private synchronized BirthdayDispatchReportDto submit(Supplier<List<LocalDate>> dates) {
+        if (report.getStatus() == Status.RUNNING) {
+            return report;
+        }
+
+        List<LocalDate> toDispatch = dates.get();
+        if (toDispatch.isEmpty()) {
+            return report;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        report = BirthdayDispatchReportDto.builder()
+                .status(Status.RUNNING)
+                .date(toDispatch.get(toDispatch.size() - 1))
+                .carriedOver(toDispatch.subList(0, toDispatch.size() - 1))
+                .startedAt(startedAt)
+                .build();
+
+        executor.execute(() -> {
+            report = run(toDispatch, startedAt);
+
+            // 못 보낸 사람이 남았으면 다음 날 cron 까지 기다리지 않고 다시 시도한다.
+            if (report.getStatus() != Status.DONE && !executor.isShutdown()) {
+                log.info("생일 발송을 {} 뒤에 다시 시도합니다.", properties.getRetryInterval());
+                executor.schedule(this::resume, properties.getRetryInterval().toMillis(), TimeUnit.MILLISECONDS);
+            }
+        });
+
+        return report;
+    }
+
+    // date 앞의 끝나지 않은 날짜와, 마지막 체크포인트 뒤로 멈춰 있어 실행하지 못한 날짜 (maxCarryOverDays 안쪽만)
+    private List<LocalDate> datesUpTo(LocalDate date, boolean includeDate) {
+        SortedMap<LocalDate, Boolean> saved = BirthdayCheckpoint.saved(checkpointDirectory);
+        LocalDate oldest = date.minusDays(properties.getMaxCarryOverDays());
+        TreeSet<LocalDate> dates = new TreeSet<>();
+
+        saved.headMap(date).forEach((savedDate, complete) -> {
+            if (complete) {
+                return;
+            }
+
+            if (savedDate.isBefore(oldest)) {
+                log.error("{} 의 생일 발송을 {} 일이 지나도록 끝내지 못해 더 이상 보내지 않습니다. ({})", savedDate, properties.getMaxCarryOverDays(), checkpointDirectory);
+                BirthdayCheckpoint.abandon(checkpointDirectory, savedDate);
+            } else {
+                dates.add(savedDate);
+            }
+        });
+
+        if (!saved.isEmpty() && saved.lastKey().isBefore(date)) {
+            LocalDate from = saved.lastKey().plusDays(1).isAfter(oldest) ? saved.lastKey().plusDays(1) : oldest;
+            for (LocalDate missed = from; missed.isBefore(date); missed = missed.plusDays(1)) {
+                dates.add(missed);
+            }
+        }
+
+        if (includeDate) {
+            dates.add(date);
+        }
+
+        return new ArrayList<>(dates);
+    }
+
+    // 모든 날짜의 체크포인트를 먼저 만들어 두어, 도중에 멈춰도 남은 날짜가 끝나지 않은 날짜로 남게 한다.
+    private BirthdayDispatchReportDto run(List<LocalDate> dates, LocalDateTime startedAt) {
+        LocalDateTime deadline = startedAt.plus(properties.getWindow());
+        List<Dispatch> dispatches = new ArrayList<>();
+        Status status = Status.DONE;
+        String error = null;
+
+        try {
+            for (LocalDate date : dates) {
+                BirthdayCheckpoint checkpoint = BirthdayCheckpoint.load(checkpointDirectory, date);
+                checkpoint.begin();
+                dispatches.add(new Dispatch(checkpoint));
+            }
+
+            for (Dispatch dispatch : dispatches) {
+                Status dispatched = dispatch.run(deadline);
+
+                if (dispatched == Status.DONE) {
+                    dispatch.checkpoint.markComplete();
+                } else {
+                    status = dispatched;
+                }
+            }
+
+            BirthdayCheckpoint.deleteCompleteBefore(checkpointDirectory, dates.get(dates.size() - 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = Status.INCOMPLETE;
+            error = "중단됨";
+        } catch (RuntimeException e) {
+            log.error("생일 발송 실패", e);
+            status = Status.FAILED;
+            error = e.getMessage();
+        }
+
+        LocalDate date = dates.get(dates.size() - 1);
+        BirthdayDispatchReportDto result = BirthdayDispatchReportDto.builder()
+                .status(status)
+                .date(date)
+                .carriedOver(dates.subList(0, dates.size() - 1))
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .deadline(deadline)
+                .error(error)
+                .matched(dispatches.stream().mapToLong(dispatch -> dispatch.matched).sum())
+                .sent(dispatches.stream().mapToLong(dispatch -> dispatch.sent.sum()).sum())
+                .skipped(dispatches.stream().mapToLong(dispatch -> dispatch.skipped).sum())
+                .failed(dispatches.stream().mapToLong(dispatch -> dispatch.failed.sum()).sum())
+                .batches(dispatches.stream().mapToLong(dispatch -> dispatch.batches).sum())
+                .failedBatches(dispatches.stream().mapToLong(dispatch -> dispatch.failedBatches.sum()).sum())
+                .retries(dispatches.stream().mapToLong(dispatch -> dispatch.retries.sum()).sum())
+                .build();
+
+        if (status == Status.DONE) {
+            log.info("{} 생일 발송 완료 (이월 {}): {} 명 중 {} 명 보냄, {} 명은 이미 보냄", date, result.getCarriedOver(), result.getMatched(), result.getSent(), result.getSkipped());
+        } else {
+            log.warn("{} 생일 발송 {} (이월 {}): {} 명 중 {} 명 보냄, {} 명 실패 (retryInterval 뒤에 이어서 보냅니다)", date, status, result.getCarriedOver(),
+                    result.getMatched(), result.getSent(), result.getFailed());
+        }
+
+        return result;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneId.of(properties.getZone()));
+    }
+
+    private void checkSupported() {
+        if (shardedPersonRepository != null) {
+            throw new UnsupportedInShardingModeException();
+        }
+    }
+
+    // 한 번의 실행
+    private class Dispatch {
+        private final BirthdayCheckpoint checkpoint;
+        private final Semaphore inFlight = new Semaphore(properties.getConcurrency());
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder failedBatches = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private long matched;
+        private long skipped;
+        private long batches;
+
+        private Dispatch(BirthdayCheckpoint checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+
+        private Status run(LocalDateTime deadline) throws InterruptedException {
+            AtomicInteger threads = new AtomicInteger();
+            ExecutorService senders = Executors.newFixedThreadPool(properties.getConcurrency(), runnable -> {
+                Thread thread = new Thread(runnable, "birthday-sender-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            boolean timedOut = false;
+
+            try {
+                for (MonthDay birthday : checkpoint.birthdays()) {
+                    matched += jdbcTemplate.queryForObject(COUNT_SQL, Long.class, birthday.getMonthValue(), birthday.getDayOfMonth());
+                    skipped += jdbcTemplate.queryForObject(COUNT_SQL + " AND id <= ?", Long.class,
+                            birthday.getMonthValue(), birthday.getDayOfMonth(), checkpoint.watermark(birthday));
+                }
+
+                read:
+                for (MonthDay birthday : checkpoint.birthdays()) {
+                    long after = checkpoint.watermark(birthday);
+
+                    while (true) {
+                        if (LocalDateTime.now().isAfter(deadline)) {
+                            timedOut = true;
+                            break read;
+                        }
+
+                        List<BirthdayGreeting> batch = jdbcTemplate.query(BATCH_SQL,
+                                (rs, rowNum) -> new BirthdayGreeting(checkpoint.getDate(), rs.getLong("id"), rs.getString("name"), rs.getString("phone_number")),
+                                birthday.getMonthValue(), birthday.getDayOfMonth(), after, properties.getBatchSize());
+
+                        if (batch.isEmpty()) {
+                            break;
+                        }
+
+                        long from = after;
+                        long to = batch.get(batch.size() - 1).getPersonId();
+                        after = to;
+
+                        List<BirthdayGreeting> pending = batch.stream()
+                                .filter(greeting -> !checkpoint.isDone(birthday, greeting.getPersonId()))
+                                .collect(Collectors.toList());
+                        skipped += batch.size() - pending.size();
+                        batches++;
+
+                        inFlight.acquire();
+                        senders.execute(() -> {
+                            try {
+                                send(birthday, from, to, pending, deadline);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+
+                        if (batch.size() < properties.getBatchSize()) {
+                            break;
+                        }
+                    }
+                }
+
+                // 보내고 있는 묶음이 끝나기를 기다린다. window 를 넘기면 더 기다리지 않는다. (체크포인트에 남지 않아 다음에 다시 보낸다)
+                long remaining = Math.max(0, Duration.between(LocalDateTime.now(), deadline).toMillis());
+                if (!inFlight.tryAcquire(properties.getConcurrency(), remaining, TimeUnit.MILLISECONDS)) {
+                    timedOut = true;
+                }
+            } finally {
+                senders.shutdownNow();
+            }
+
+            return timedOut || failedBatches.sum() > 0 ? Status.INCOMPLETE : Status.DONE;
+        }
+
+        private void send(MonthDay birthday, long from, long to, List<BirthdayGreeting> greetings, LocalDateTime deadline) {
+            long backoff = properties.getRetryBackoff().toMillis();
+
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (!greetings.isEmpty()) {
+                        sink.send(greetings);
+                    }
+
+                    break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    fail(greetings, from, to, e);
+                    return;
+                } catch (Exception e) {
+                    if (attempt >= properties.getMaxAttempts() || LocalDateTime.now().plusNanos(backoff * 1_000_000).isAfter(deadline)) {
+                        fail(greetings, from, to, e);
+                        return;
+                    }
+
+                    retries.increment();
+                    log.debug("생일 발송 재시도 ({}/{}): ({}, {}]", attempt, properties.getMaxAttempts(), from, to, e);
+
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        fail(greetings, from, to, interrupted);
+                        return;
+                    }
+
+                    backoff *= 2;
+                }
+            }
+
+            sent.add(greetings.size());
+
+            try {
+                checkpoint.markDone(birthday, from, to);
+            } catch (RuntimeException e) {
+                // 보내기는 했으므로 다음 실행에서 이 묶음을 한 번 더 보내게 된다.
+                failedBatches.increment();
+                log.error("생일 발송 체크포인트를 남기지 못했습니다: id ({}, {}]", from, to, e);
+            }
+        }
+
+        private void fail(List<BirthdayGreeting> greetings, long from, long to, Exception e) {
+            failed.add(greetings.size());
+            failedBatches.increment();
+
+            log.warn("생일 축하 {} 명을 보내지 못했습니다: id ({}, {}]", greetings.size(), from, to, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+public class BirthdayGreeting {
+    private LocalDate date; // 발송 날짜
+    private Long personId;
+    private String name;
+    private String phoneNumber;
+
+    // 같은 날 같은 사람이면 같은 값. sink 가 중복 발송을 걸러 낼 때 쓴다.
+    public String getKey() {
+        return date + ":" + personId;
+    }
+}
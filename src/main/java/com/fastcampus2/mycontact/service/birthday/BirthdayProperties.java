@@ -0,0 +1,53 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.birthday")
+public class BirthdayProperties {
+    private boolean enabled;
+
+    // 매일 발송을 시작하는 시각 (Spring cron, zone 기준)
+    private String cron = "0 0 9 * * *";
+
+    private String zone = "Asia/Seoul";
+
+    // 시작한 뒤 이 시간 안에 끝내야 한다. 넘으면 새 묶음을 보내지 않고 멈춘다.
+    private Duration window = Duration.ofHours(1);
+
+    // INCOMPLETE 로 끝나면 이 시간 뒤에 남은 사람을 다시 보낸다. (끝날 때까지 반복)
+    private Duration retryInterval = Duration.ofMinutes(10);
+
+    // 끝내지 못했거나 멈춰 있어 실행하지 못한 날짜는 다음 실행이 먼저 보낸다. 이보다 오래된 날짜는 포기하고 오류 로그를 남긴다.
+    private int maxCarryOverDays = 7;
+
+    // 한 번에 읽어 sink 로 보내는 인원
+    private int batchSize = 500;
+
+    // 동시에 보내는 묶음 수
+    private int concurrency = 8;
+
+    // 묶음마다 보내기를 시도하는 최대 횟수. 다시 시도할 때마다 retryBackoff 를 두 배로 늘려 기다린다.
+    private int maxAttempts = 3;
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    // 날짜마다 yyyy-MM-dd.checkpoint 파일을 둔다.
+    private String checkpointDirectory = "data/birthday";
+
+    // 기동할 때 끝나지 않은 날짜가 있으면 이어서 보낸다.
+    private boolean resumeOnStartup = true;
+
+    // BirthdaySink Bean 을 따로 등록하지 않았을 때 쓸 sink
+    private SinkType sink = SinkType.LOG;
+
+    private String sinkFile = "data/birthday-greetings.log";
+
+    public enum SinkType {
+        LOG,
+        FILE
+    }
+}
@@ -0,0 +1,10 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import java.util.List;
+
+// 생일 축하 메시지를 실제로 내보내는 곳. 여러 스레드에서 동시에 호출된다.
+// 예외를 던지면 묶음 전체를 다시 보낸다. 보내는 도중 멈췄던 묶음도 다시 올 수 있으므로,
+// 받는 쪽에서 BirthdayGreeting.getKey 로 중복을 걸러 낼 수 있어야 한다.
+public interface BirthdaySink {
+    void send(List<BirthdayGreeting> greetings) throws Exception;
+}
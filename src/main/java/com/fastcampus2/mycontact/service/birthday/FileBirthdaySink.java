@@ -0,0 +1,43 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 묶음마다 "key\tname\tphoneNumber" 줄을 파일 끝에 붙이고 fsync 한다. (로컬 확인/테스트용)
+public class FileBirthdaySink implements BirthdaySink {
+    private final Path path;
+
+    public FileBirthdaySink(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public synchronized void send(List<BirthdayGreeting> greetings) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (BirthdayGreeting greeting : greetings) {
+            lines.append(greeting.getKey()).append('\t')
+                    .append(greeting.getName()).append('\t')
+                    .append(greeting.getPhoneNumber() != null ? greeting.getPhoneNumber() : "")
+                    .append('\n');
+        }
+
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(false);
+        }
+    }
+}
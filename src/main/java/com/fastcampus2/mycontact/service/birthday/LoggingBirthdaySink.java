@@ -0,0 +1,15 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+public class LoggingBirthdaySink implements BirthdaySink {
+    @Override
+    public void send(List<BirthdayGreeting> greetings) {
+        for (BirthdayGreeting greeting : greetings) {
+            log.info("생일 축하: {} {} ({})", greeting.getKey(), greeting.getName(), greeting.getPhoneNumber());
+        }
+    }
+}
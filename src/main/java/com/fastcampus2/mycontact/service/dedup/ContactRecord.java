@@ -0,0 +1,95 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+
+// 중복 검사에 필요한 값만 담은 한 행. 정규화한 값은 만들 때 한 번만 계산한다.
+@Getter
+class ContactRecord {
+    static final String NAME_KEY = "n:";
+    static final String BIRTH_KEY = "b:";
+    static final String PHONE_KEY = "p:";
+
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private final long id;
+    private final String name;
+    private final String phoneNumber;
+    private final int birth; // yyyymmdd, 없으면 0
+
+    private final String normalizedName;
+    private final String normalizedPhone;
+    private final String[] blockingKeys;
+
+    ContactRecord(long id, String name, String phoneNumber, int birth) {
+        this.id = id;
+        this.name = name;
+        this.phoneNumber = phoneNumber;
+        this.birth = birth;
+        this.normalizedName = normalizeName(name);
+        this.normalizedPhone = normalizePhone(phoneNumber);
+
+        // 블록 키 (이름, 생년월일, 연락처 순). 값이 없는 키는 null.
+        this.blockingKeys = new String[]{
+                normalizedName.isEmpty() ? null : NAME_KEY + normalizedName,
+                birth == 0 ? null : BIRTH_KEY + birth,
+                normalizedPhone.length() < MIN_PHONE_DIGITS ? null : PHONE_KEY + normalizedPhone
+        };
+    }
+
+    // keyType 보다 앞선 키 중, 실제로 비교한 블록(comparedKeys)의 키를 공유하는가. (같은 쌍을 여러 블록에서 비교하지 않기 위해)
+    // 크기를 넘어 건너뛴 블록의 키는 공유해도 비교하지 않았으므로 false 이다.
+    boolean sharesComparedKeyBefore(ContactRecord other, int keyType, Set<String> comparedKeys) {
+        for (int i = 0; i < keyType; i++) {
+            if (blockingKeys[i] != null && blockingKeys[i].equals(other.blockingKeys[i]) && comparedKeys.contains(blockingKeys[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // 대소문자, 공백, 문장 부호, 전각/반각 차이를 없앤다.
+    static String normalizeName(String name) {
+        if (!StringUtils.hasText(name)) {
+            return "";
+        }
+
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(normalized.length());
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    // 숫자만 남기고, 국가 번호(+82)는 0 으로 바꾼다. (예: +82 10-1234-5678 -> 01012345678)
+    static String normalizePhone(String phoneNumber) {
+        if (!StringUtils.hasText(phoneNumber)) {
+            return "";
+        }
+
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+
+        if (digits.length() >= 11 && digits.charAt(0) == '8' && digits.charAt(1) == '2') {
+            digits.replace(0, 2, "0");
+        }
+
+        return digits.toString();
+    }
+}
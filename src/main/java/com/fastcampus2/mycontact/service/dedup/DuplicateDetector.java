@@ -0,0 +1,260 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Cluster;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Match;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+// 중복 연락처 찾기.
+//   1. person 테이블을 JDBC 로 흘려 읽으며 블록 키(정규화한 이름, 생년월일, 정규화한 연락처)로 묶는다.
+//      건수가 maxRecordsInMemory 를 넘으면 키의 hash 로 나누어 여러 번 읽는다. (한 번에 한 조각만 메모리에 둔다)
+//   2. 블록 안의 쌍만 fork/join 으로 나누어 점수를 매긴다. (전체 쌍 비교 O(n²) 를 피한다)
+//   3. 기준 이상인 쌍을 union-find 로 묶어 cluster 로 만든다.
+@Slf4j
+public class DuplicateDetector {
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM person WHERE deleted = FALSE";
+    private static final String SCAN_SQL = "SELECT id, name, phone_number, year_of_birthday, month_of_birthday, day_of_birthday "
+            + "FROM person WHERE deleted = FALSE";
+
+    // 이보다 작은 일은 나누지 않고 한 스레드에서 비교한다.
+    private static final long PAIRS_PER_TASK = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DuplicateProperties properties;
+    private final DuplicateScorer scorer = new DuplicateScorer();
+
+    public DuplicateDetector(DataSource dataSource, DuplicateProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.properties = properties;
+    }
+
+    public DuplicateReportDto detect() {
+        long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        int passes = (int) Math.max(1, (total + properties.getMaxRecordsInMemory() - 1) / properties.getMaxRecordsInMemory());
+
+        ForkJoinPool pool = properties.getParallelism() > 0 ? new ForkJoinPool(properties.getParallelism()) : new ForkJoinPool();
+        LongAdder comparisons = new LongAdder();
+        long scanned = 0;
+        long blockCount = 0;
+        long skippedBlocks = 0;
+        List<String> skippedKeys = new ArrayList<>();
+        List<Pair> pairs = new ArrayList<>();
+
+        try {
+            for (int pass = 0; pass < passes; pass++) {
+                Map<String, Block> blocks = new HashMap<>();
+                int current = pass;
+                long[] rows = new long[1];
+
+                jdbcTemplate.query(SCAN_SQL, resultSet -> {
+                    ContactRecord record = toRecord(resultSet);
+                    rows[0]++;
+
+                    for (int keyType = 0; keyType < record.getBlockingKeys().length; keyType++) {
+                        String key = record.getBlockingKeys()[keyType];
+
+                        if (key != null && Math.floorMod(key.hashCode(), passes) == current) {
+                            int type = keyType;
+                            blocks.computeIfAbsent(key, k -> new Block(type)).records.add(record);
+                        }
+                    }
+                });
+
+                List<Block> comparable = new ArrayList<>();
+                Set<String> comparedKeys = new HashSet<>();
+                for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+                    Block block = entry.getValue();
+                    if (block.records.size() < 2) {
+                        continue;
+                    }
+
+                    blockCount++;
+                    if (block.records.size() > properties.getMaxBlockSize()) {
+                        skippedBlocks++;
+                        skippedKeys.add(entry.getKey());
+                        continue;
+                    }
+
+                    comparable.add(block);
+                    comparedKeys.add(entry.getKey());
+                }
+
+                pairs.addAll(pool.invoke(new CompareTask(comparable, 0, comparable.size(), comparedKeys, comparisons)));
+                scanned += rows[0];
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (skippedBlocks > 0) {
+            log.warn("중복 검사: {} 명을 넘는 블록 {} 개는 비교하지 않았습니다. {}", properties.getMaxBlockSize(), skippedBlocks, skippedKeys);
+        }
+
+        return DuplicateReportDto.builder()
+                .scanned(scanned)
+                .passes(passes)
+                .blocks(blockCount)
+                .skippedBlocks(skippedBlocks)
+                .skippedKeys(skippedKeys)
+                .comparisons(comparisons.sum())
+                .clusters(clusters(pairs))
+                .build();
+    }
+
+    private static List<Cluster> clusters(List<Pair> pairs) {
+        UnionFind unionFind = new UnionFind();
+        Map<Long, ContactRecord> records = new HashMap<>();
+
+        for (Pair pair : pairs) {
+            unionFind.union(pair.a.getId(), pair.b.getId());
+            records.put(pair.a.getId(), pair.a);
+            records.put(pair.b.getId(), pair.b);
+        }
+
+        Map<Long, List<Match>> matchesByRoot = new HashMap<>();
+        Set<List<Long>> matched = new HashSet<>();
+        for (Pair pair : pairs) {
+            // 여러 pass 에서 같은 쌍을 비교했을 수 있다.
+            if (!matched.add(Arrays.asList(Math.min(pair.a.getId(), pair.b.getId()), Math.max(pair.a.getId(), pair.b.getId())))) {
+                continue;
+            }
+
+            matchesByRoot.computeIfAbsent(unionFind.find(pair.a.getId()), root -> new ArrayList<>())
+                    .add(new Match(Math.min(pair.a.getId(), pair.b.getId()), Math.max(pair.a.getId(), pair.b.getId()), pair.score));
+        }
+
+        List<Cluster> clusters = new ArrayList<>();
+        for (List<Long> ids : unionFind.clusters()) {
+            List<Member> members = new ArrayList<>();
+            for (Long id : ids) {
+                ContactRecord record = records.get(id);
+                members.add(new Member(id, record.getName(), record.getPhoneNumber(), record.getBirth() != 0 ? record.getBirth() : null));
+            }
+
+            List<Match> matches = matchesByRoot.get(ids.get(0));
+            matches.sort(Comparator.comparingLong(Match::getId).thenComparingLong(Match::getOtherId));
+
+            clusters.add(new Cluster(ids.get(0), members, matches));
+        }
+
+        return clusters;
+    }
+
+    private static ContactRecord toRecord(ResultSet resultSet) throws SQLException {
+        int year = resultSet.getInt("year_of_birthday");
+        boolean hasBirthday = !resultSet.wasNull();
+        int month = resultSet.getInt("month_of_birthday");
+        hasBirthday &= !resultSet.wasNull();
+        int day = resultSet.getInt("day_of_birthday");
+        hasBirthday &= !resultSet.wasNull();
+
+        return new ContactRecord(resultSet.getLong("id"), resultSet.getString("name"), resultSet.getString("phone_number"),
+                hasBirthday ? year * 10000 + month * 100 + day : 0);
+    }
+
+    private static class Block {
+        private final int keyType;
+        private final List<ContactRecord> records = new ArrayList<>();
+
+        private Block(int keyType) {
+            this.keyType = keyType;
+        }
+
+        private long pairs() {
+            long size = records.size();
+            return size * (size - 1) / 2;
+        }
+    }
+
+    private static class Pair {
+        private final ContactRecord a;
+        private final ContactRecord b;
+        private final double score;
+
+        private Pair(ContactRecord a, ContactRecord b, double score) {
+            this.a = a;
+            this.b = b;
+            this.score = score;
+        }
+    }
+
+    // 블록 목록을 비교할 쌍 수가 PAIRS_PER_TASK 이하가 될 때까지 반으로 나눈다.
+    private class CompareTask extends RecursiveTask<List<Pair>> {
+        private final List<Block> blocks;
+        private final int from;
+        private final int to;
+        private final Set<String> comparedKeys;
+        private final LongAdder comparisons;
+
+        private CompareTask(List<Block> blocks, int from, int to, Set<String> comparedKeys, LongAdder comparisons) {
+            this.blocks = blocks;
+            this.from = from;
+            this.to = to;
+            this.comparedKeys = comparedKeys;
+            this.comparisons = comparisons;
+        }
+
+        @Override
+        protected List<Pair> compute() {
+            long work = 0;
+            for (int i = from; i < to; i++) {
+                work += blocks.get(i).pairs();
+            }
+
+            if (to - from <= 1 || work <= PAIRS_PER_TASK) {
+                return compare();
+            }
+
+            int middle = (from + to) >>> 1;
+            CompareTask left = new CompareTask(blocks, from, middle, comparedKeys, comparisons);
+            left.fork();
+
+            List<Pair> pairs = new CompareTask(blocks, middle, to, comparedKeys, comparisons).compute();
+            pairs.addAll(left.join());
+
+            return pairs;
+        }
+
+        private List<Pair> compare() {
+            List<Pair> pairs = new ArrayList<>();
+
+            for (int i = from; i < to; i++) {
+                Block block = blocks.get(i);
+                List<ContactRecord> records = block.records;
+
+                for (int x = 0; x < records.size(); x++) {
+                    for (int y = x + 1; y < records.size(); y++) {
+                        ContactRecord a = records.get(x);
+                        ContactRecord b = records.get(y);
+
+                        // 앞선 키의 블록에서 이미 비교한 쌍
+                        // (그 블록이 다른 pass 에 있으면 비교했는지 알 수 없으므로 여기서도 비교하고, 겹친 쌍은 clusters 에서 하나로 합친다)
+                        if (a.sharesComparedKeyBefore(b, block.keyType, comparedKeys)) {
+                            continue;
+                        }
+
+                        comparisons.increment();
+
+                        double score = scorer.score(a, b);
+                        if (score >= properties.getThreshold()) {
+                            pairs.add(new Pair(a, b, score));
+                        }
+                    }
+                }
+            }
+
+            return pairs;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.duplicates")
+public class DuplicateProperties {
+    // 이 점수(0~1) 이상인 쌍을 같은 사람으로 본다.
+    private double threshold = 0.7;
+
+    // 한 블록에서 비교할 최대 인원. 넘는 블록(흔한 이름 등)은 건너뛰고 보고서에 남긴다.
+    private int maxBlockSize = 200;
+
+    // 한 번에 메모리에 올릴 최대 건수. 넘으면 블록 키의 hash 로 나누어 테이블을 여러 번 읽는다.
+    private int maxRecordsInMemory = 200_000;
+
+    // 비교에 쓸 스레드 수 (0 이면 CPU 수)
+    private int parallelism;
+
+    private int fetchSize = 1000;
+}
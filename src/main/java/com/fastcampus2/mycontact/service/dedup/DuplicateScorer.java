@@ -0,0 +1,85 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+// 두 사람이 같은 사람일 가능성 (0~1).
+//   이름 Jaro-Winkler 유사도 0.4 + 연락처 일치 0.35 + 생년월일 일치 0.25
+//   둘 다 값이 있는데 다르면 연락처 -0.2, 생년월일 -0.25
+class DuplicateScorer {
+    private static final double NAME_WEIGHT = 0.4;
+    private static final double PHONE_WEIGHT = 0.35;
+    private static final double BIRTH_WEIGHT = 0.25;
+    private static final double PHONE_CONFLICT = 0.2;
+    private static final double BIRTH_CONFLICT = 0.25;
+
+    double score(ContactRecord a, ContactRecord b) {
+        double score = NAME_WEIGHT * jaroWinkler(a.getNormalizedName(), b.getNormalizedName());
+
+        if (!a.getNormalizedPhone().isEmpty() && !b.getNormalizedPhone().isEmpty()) {
+            score += a.getNormalizedPhone().equals(b.getNormalizedPhone()) ? PHONE_WEIGHT : -PHONE_CONFLICT;
+        }
+
+        if (a.getBirth() != 0 && b.getBirth() != 0) {
+            score += a.getBirth() == b.getBirth() ? BIRTH_WEIGHT : -BIRTH_CONFLICT;
+        }
+
+        return Math.max(0, Math.min(1, score));
+    }
+
+    static double jaroWinkler(String a, String b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+
+        if (a.equals(b)) {
+            return 1;
+        }
+
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+        int matches = 0;
+
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+
+            for (int j = from; j <= to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+
+        if (matches == 0) {
+            return 0;
+        }
+
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (!aMatched[i]) {
+                continue;
+            }
+
+            while (!bMatched[j]) {
+                j++;
+            }
+
+            if (a.charAt(i) != b.charAt(j)) {
+                transpositions++;
+            }
+            j++;
+        }
+
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3;
+
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+
+        return jaro + prefix * 0.1 * (1 - jaro);
+    }
+}
@@ -0,0 +1,107 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Status;
+import com.fastcampus2.mycontact.exception.UnsupportedInShardingModeException;
+import com.fastcampus2.mycontact.repository.shard.ShardedPersonRepository;
+import com.fastcampus2.mycontact.service.PersonService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 중복 검사 작업을 백그라운드에서 한 번에 하나씩 실행하고, 마지막 결과를 보관한다.
+@Slf4j
+@Service
+public class DuplicateService {
+    @Autowired
+    private DuplicateDetector duplicateDetector;
+
+    @Autowired
+    private PersonService personService;
+
+    // sharding 모드(mycontact.sharding.enabled=true)일 때만 주입된다.
+    @Autowired(required = false)
+    private ShardedPersonRepository shardedPersonRepository;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "duplicate-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile DuplicateReportDto report = DuplicateReportDto.builder().status(Status.IDLE).build();
+
+    public DuplicateReportDto getReport() {
+        return report;
+    }
+
+    // 이미 실행 중이면 새로 시작하지 않고 현재 상태를 돌려준다.
+    public synchronized DuplicateReportDto scan() {
+        checkSupported();
+
+        if (report.getStatus() == Status.RUNNING) {
+            return report;
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        report = DuplicateReportDto.builder().status(Status.RUNNING).startedAt(startedAt).build();
+        executor.execute(() -> report = run(startedAt));
+
+        return report;
+    }
+
+    // 호출한 스레드에서 바로 실행한다.
+    public DuplicateReportDto scanNow() {
+        checkSupported();
+
+        report = run(LocalDateTime.now());
+
+        return report;
+    }
+
+    // 여러 shard 에 걸친 병합은 한 트랜잭션으로 묶을 수 없으므로 sharding 모드에서는 막는다.
+    public void merge(Long survivorId, List<Long> duplicateIds) {
+        checkSupported();
+
+        personService.merge(survivorId, duplicateIds);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private DuplicateReportDto run(LocalDateTime startedAt) {
+        try {
+            DuplicateReportDto result = duplicateDetector.detect();
+            result.setStatus(Status.DONE);
+            result.setStartedAt(startedAt);
+            result.setFinishedAt(LocalDateTime.now());
+
+            log.info("중복 검사 완료: {} 건 읽음, {} 번 비교, 후보 {} 묶음", result.getScanned(), result.getComparisons(), result.getClusters().size());
+
+            return result;
+        } catch (RuntimeException e) {
+            log.error("중복 검사 실패", e);
+
+            return DuplicateReportDto.builder()
+                    .status(Status.FAILED)
+                    .startedAt(startedAt)
+                    .finishedAt(LocalDateTime.now())
+                    .error(e.getMessage())
+                    .build();
+        }
+    }
+
+    private void checkSupported() {
+        if (shardedPersonRepository != null) {
+            throw new UnsupportedInShardingModeException();
+        }
+    }
+}
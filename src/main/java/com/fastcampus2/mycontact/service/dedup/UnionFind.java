@@ -0,0 +1,57 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import java.util.*;
+
+// 일치한 쌍을 묶어 cluster 로 만든다. 쌍에 나온 id 만 담는다.
+class UnionFind {
+    private final Map<Long, Long> parents = new HashMap<>();
+
+    void union(long a, long b) {
+        long rootA = find(a);
+        long rootB = find(b);
+
+        if (rootA != rootB) {
+            // 작은 id 를 대표로 둔다.
+            parents.put(Math.max(rootA, rootB), Math.min(rootA, rootB));
+        }
+    }
+
+    long find(long id) {
+        if (!parents.containsKey(id)) {
+            parents.put(id, id);
+            return id;
+        }
+
+        long root = id;
+        while (parents.get(root) != root) {
+            root = parents.get(root);
+        }
+
+        // 지나온 경로를 대표에 바로 붙인다.
+        long current = id;
+        while (current != root) {
+            long next = parents.get(current);
+            parents.put(current, root);
+            current = next;
+        }
+
+        return root;
+    }
+
+    // 대표 id 순서, 각 cluster 안은 id 순서
+    List<List<Long>> clusters() {
+        Map<Long, List<Long>> clusters = new TreeMap<>();
+
+        for (Long id : parents.keySet()) {
+            clusters.computeIfAbsent(find(id), root -> new ArrayList<>()).add(id);
+        }
+
+        List<List<Long>> result = new ArrayList<>();
+        for (List<Long> members : clusters.values()) {
+            Collections.sort(members);
+            result.add(members);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,21 @@
+package com.fastcampus2.mycontact.service.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.index-snapshot")
+public class IndexSnapshotProperties {
+    private boolean enabled;
+
+    private String path = "data/person-index.snap";
+
+    // 저장 주기 (종료할 때도 저장한다)
+    private long saveIntervalMs = 60_000;
+
+    // 스냅샷 시각보다 이만큼 이전에 변경된 행부터 다시 읽는다.
+    // 스냅샷 직전에 시각이 찍히고 늦게 커밋된 변경을 놓치지 않기 위한 여유이다.
+    private Duration catchUpMargin = Duration.ofMinutes(1);
+}
@@ -0,0 +1,138 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.service.PersonChangeListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// 삭제되지 않은 Person 의 메모리 색인 (이름 -> id, 생일(월/일) -> id, id -> 항목).
+// 변경은 PersonChangeListener 로 받고, 기동 시에는 PersonIndexSnapshotter 가 스냅샷에서 복원한다.
+// 읽기는 잠금 없이, 쓰기는 항목과 파생 색인을 함께 바꾸도록 직렬화한다.
+public class PersonIndex implements PersonChangeListener {
+    private final ConcurrentMap<Long, PersonIndexEntry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Long>> byName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Set<Long>> byBirthday = new ConcurrentHashMap<>();
+
+    // 복원/재구성이 끝나기 전에는 조회에 쓰지 않는다.
+    private volatile boolean ready;
+
+    @Override
+    public void onPut(Person person) {
+        put(PersonIndexEntry.of(person));
+    }
+
+    @Override
+    public void onModify(Person before, Person after) {
+        put(PersonIndexEntry.of(after));
+    }
+
+    @Override
+    public void onDelete(Person person) {
+        remove(person.getId());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void setReady(boolean ready) {
+        this.ready = ready;
+    }
+
+    public List<Long> idsByName(String name) {
+        return sorted(byName.get(name));
+    }
+
+    public List<Long> idsByBirthday(int month, int day) {
+        return sorted(byBirthday.get(birthdayKey(month, day)));
+    }
+
+    public PersonIndexEntry get(long id) {
+        return entries.get(id);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 스냅샷 저장용 복사본
+    public List<PersonIndexEntry> entries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void put(PersonIndexEntry entry) {
+        PersonIndexEntry previous = entries.put(entry.getId(), entry);
+
+        unlink(previous);
+        link(entry);
+    }
+
+    public synchronized void remove(long id) {
+        unlink(entries.remove(id));
+    }
+
+    public synchronized void replaceAll(Collection<PersonIndexEntry> loaded) {
+        entries.clear();
+        byName.clear();
+        byBirthday.clear();
+
+        for (PersonIndexEntry entry : loaded) {
+            entries.put(entry.getId(), entry);
+            link(entry);
+        }
+    }
+
+    private void link(PersonIndexEntry entry) {
+        if (entry.getName() != null) {
+            byName.computeIfAbsent(entry.getName(), key -> ConcurrentHashMap.newKeySet()).add(entry.getId());
+        }
+
+        if (entry.getMonthOfBirthday() != null && entry.getDayOfBirthday() != null) {
+            byBirthday.computeIfAbsent(birthdayKey(entry.getMonthOfBirthday(), entry.getDayOfBirthday()), key -> ConcurrentHashMap.newKeySet())
+                    .add(entry.getId());
+        }
+    }
+
+    private void unlink(PersonIndexEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.getName() != null) {
+            remove(byName, entry.getName(), entry.getId());
+        }
+
+        if (entry.getMonthOfBirthday() != null && entry.getDayOfBirthday() != null) {
+            remove(byBirthday, birthdayKey(entry.getMonthOfBirthday(), entry.getDayOfBirthday()), entry.getId());
+        }
+    }
+
+    private static <K> void remove(ConcurrentMap<K, Set<Long>> index, K key, long id) {
+        Set<Long> ids = index.get(key);
+
+        if (ids != null) {
+            ids.remove(id);
+
+            if (ids.isEmpty()) {
+                index.remove(key, ids);
+            }
+        }
+    }
+
+    private static int birthdayKey(int month, int day) {
+        return month * 100 + day;
+    }
+
+    private static List<Long> sorted(Set<Long> ids) {
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+
+        List<Long> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+
+        return sorted;
+    }
+}
@@ -0,0 +1,59 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 색인이 사람마다 들고 있는 값. 통계(PersonStatistics)를 다시 만들 수 있을 만큼만 가진다.
+@Data
+@AllArgsConstructor
+public class PersonIndexEntry {
+    public static final long NO_STAMP = Long.MIN_VALUE;
+
+    private long id;
+    private String name;
+    private Integer yearOfBirthday;
+    private Integer monthOfBirthday;
+    private Integer dayOfBirthday;
+    private String job;
+    private String city;
+    private long modifiedAt; // epoch millis, 없으면 NO_STAMP
+
+    public static PersonIndexEntry of(Person person) {
+        BirthdayDto birthday = person.getBirthday();
+
+        return new PersonIndexEntry(
+                person.getId(),
+                person.getName(),
+                birthday != null ? birthday.getYearOfBirthday() : null,
+                birthday != null ? birthday.getMonthOfBirthday() : null,
+                birthday != null ? birthday.getDayOfBirthday() : null,
+                PersonStrings.job(person.getJob()),
+                PersonStrings.city(Person.cityOf(person.getAddress())),
+                toMillis(person.getModifiedAt()));
+    }
+
+    // 통계 갱신용. 주소는 도시만 남아 있다.
+    public Person toPerson() {
+        BirthdayDto birthday = monthOfBirthday != null || yearOfBirthday != null || dayOfBirthday != null
+                ? new BirthdayDto(yearOfBirthday, monthOfBirthday, dayOfBirthday)
+                : null;
+
+        return Person.builder()
+                .id(id)
+                .name(name)
+                .birthday(birthday)
+                .job(job)
+                .address(city)
+                .build();
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : NO_STAMP;
+    }
+}
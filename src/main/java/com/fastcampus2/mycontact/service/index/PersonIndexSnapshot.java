@@ -0,0 +1,163 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.intern.PersonStrings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// PersonIndex 스냅샷 파일 (big-endian)
+//   header : magic(int) version(int) watermark(long, epoch millis) count(int)
+//   entry  : id(long) modifiedAt(long) year(int) month(byte) day(byte) name job city (문자열은 길이(int, null 이면 -1) + UTF-8)
+//   trailer: CRC32(long) - header 부터 마지막 entry 까지
+// 형식이 바뀌면 VERSION 을 올린다. 버전이 다른 파일은 읽지 않고 DB 에서 다시 만든다.
+public final class PersonIndexSnapshot {
+    static final int MAGIC = 0x4D434958; // "MCIX"
+    static final int VERSION = 1;
+
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4;
+    private static final int TRAILER_BYTES = 8;
+
+    private PersonIndexSnapshot() {
+    }
+
+    // 임시 파일에 쓴 뒤 교체하므로, 쓰는 도중 종료되어도 이전 스냅샷은 남는다.
+    public static void write(Path path, long watermark, Collection<PersonIndexEntry> entries) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            DataOutputStream body = new DataOutputStream(new CheckedOutputStream(out, crc));
+
+            body.writeInt(MAGIC);
+            body.writeInt(VERSION);
+            body.writeLong(watermark);
+            body.writeInt(entries.size());
+
+            for (PersonIndexEntry entry : entries) {
+                body.writeLong(entry.getId());
+                body.writeLong(entry.getModifiedAt());
+                body.writeInt(entry.getYearOfBirthday() != null ? entry.getYearOfBirthday() : NO_YEAR);
+                body.writeByte(entry.getMonthOfBirthday() != null ? entry.getMonthOfBirthday() : 0);
+                body.writeByte(entry.getDayOfBirthday() != null ? entry.getDayOfBirthday() : 0);
+                writeString(body, entry.getName());
+                writeString(body, entry.getJob());
+                writeString(body, entry.getCity());
+            }
+
+            body.flush();
+            out.writeLong(crc.getValue());
+        }
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 파일을 메모리에 매핑해 읽는다. 파일이 없으면 null, 손상되었거나 버전이 다르면 IOException.
+    public static Loaded read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("잘못된 스냅샷 크기: " + size);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            verifyChecksum(buffer, (int) size);
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("PersonIndex 스냅샷 파일이 아닙니다: " + path);
+            }
+
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 스냅샷 버전: " + version + " (expected " + VERSION + ")");
+            }
+
+            long watermark = buffer.getLong();
+            int count = buffer.getInt();
+            List<PersonIndexEntry> entries = new ArrayList<>(count);
+
+            try {
+                for (int i = 0; i < count; i++) {
+                    long id = buffer.getLong();
+                    long modifiedAt = buffer.getLong();
+                    int year = buffer.getInt();
+                    byte month = buffer.get();
+                    byte day = buffer.get();
+
+                    entries.add(new PersonIndexEntry(id, readString(buffer), year != NO_YEAR ? year : null,
+                            month != 0 ? (int) month : null, day != 0 ? (int) day : null,
+                            PersonStrings.job(readString(buffer)), PersonStrings.city(readString(buffer)), modifiedAt));
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("스냅샷을 읽을 수 없습니다: " + path, e);
+            }
+
+            return new Loaded(watermark, entries);
+        }
+    }
+
+    private static void verifyChecksum(ByteBuffer buffer, int size) throws IOException {
+        ByteBuffer body = buffer.duplicate();
+        body.limit(size - TRAILER_BYTES);
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        if (crc.getValue() != buffer.getLong(size - TRAILER_BYTES)) {
+            throw new IOException("스냅샷 checksum 이 맞지 않습니다.");
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Loaded {
+        private final long watermark;
+        private final List<PersonIndexEntry> entries;
+    }
+}
@@ -0,0 +1,160 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// PersonIndex 와 PersonStatistics 를 스냅샷 파일에서 복원하고, 주기적으로/종료 시 저장한다.
+// 기동 시 (ApplicationRunner 라서 끝나기 전에는 ready 가 되지 않는다)
+//   1. 스냅샷을 읽어 색인을 채우고, 통계는 색인 항목에서 다시 계산한다.
+//   2. 스냅샷 시각(- catchUpMargin) 이후 변경된 행만 DB 에서 읽어 반영한다.
+//   3. 색인 건수가 DB 건수와 다르면 (스냅샷 밖에서 바뀐 데이터) 전체를 다시 만든다.
+// 스냅샷이 없거나 읽을 수 없을 때도 전체를 다시 만든다.
+@Slf4j
+public class PersonIndexSnapshotter implements ApplicationRunner, Ordered, DisposableBean {
+    private final PersonIndex personIndex;
+    private final PersonStatistics personStatistics;
+    private final PersonRepository personRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IndexSnapshotProperties properties;
+
+    public PersonIndexSnapshotter(PersonIndex personIndex, PersonStatistics personStatistics, PersonRepository personRepository,
+                                  TransactionTemplate transactionTemplate, IndexSnapshotProperties properties) {
+        this.personIndex = personIndex;
+        this.personStatistics = personStatistics;
+        this.personRepository = personRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    // PersonStatistics 의 기동 시 재구성보다 먼저 실행한다.
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        restore();
+    }
+
+    // 읽기 전용 트랜잭션이 아니어야 replica 가 아닌 primary 에서 읽는다.
+    public void restore() {
+        long start = System.currentTimeMillis();
+        PersonIndexSnapshot.Loaded loaded = null;
+
+        try {
+            loaded = PersonIndexSnapshot.read(path());
+        } catch (IOException e) {
+            log.warn("PersonIndex 스냅샷을 사용할 수 없습니다. 다시 만듭니다: {}", e.getMessage());
+        }
+
+        if (loaded == null) {
+            transactionTemplate.execute(status -> {
+                rebuild();
+                return null;
+            });
+        } else {
+            PersonIndexSnapshot.Loaded snapshot = loaded;
+            transactionTemplate.execute(status -> {
+                catchUp(snapshot);
+                return null;
+            });
+        }
+
+        personIndex.setReady(true);
+
+        log.info("PersonIndex 준비 완료: {} 건 ({}ms)", personIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${mycontact.index-snapshot.save-interval-ms:60000}", initialDelayString = "${mycontact.index-snapshot.save-interval-ms:60000}")
+    public void save() {
+        if (!personIndex.isReady()) {
+            return;
+        }
+
+        // 시각을 먼저 잡는다. 이후의 변경은 다음 기동 때 다시 읽는다.
+        long watermark = System.currentTimeMillis();
+        List<PersonIndexEntry> entries = personIndex.entries();
+
+        try {
+            PersonIndexSnapshot.write(path(), watermark, entries);
+            log.debug("PersonIndex 스냅샷 저장: {} 건", entries.size());
+        } catch (IOException e) {
+            log.error("PersonIndex 스냅샷 저장 실패: {}", path(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        save();
+    }
+
+    private void catchUp(PersonIndexSnapshot.Loaded snapshot) {
+        personIndex.replaceAll(snapshot.getEntries());
+
+        List<Person> people = new ArrayList<>();
+        snapshot.getEntries().forEach(entry -> people.add(entry.toPerson()));
+        personStatistics.restore(people);
+
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(snapshot.getWatermark()), ZoneId.systemDefault())
+                .minus(properties.getCatchUpMargin());
+        List<Person> changed = personRepository.findModifiedSince(since);
+
+        // 이미 반영된 변경을 다시 적용해도 결과는 같다.
+        for (Person after : changed) {
+            PersonIndexEntry entry = personIndex.get(after.getId());
+            Person before = entry != null ? entry.toPerson() : null;
+
+            if (after.isDeleted()) {
+                if (before != null) {
+                    personIndex.onDelete(before);
+                    personStatistics.onDelete(before);
+                }
+            } else if (before != null) {
+                personIndex.onModify(before, after);
+                personStatistics.onModify(before, after);
+            } else {
+                personIndex.onPut(after);
+                personStatistics.onPut(after);
+            }
+        }
+
+        long expected = personRepository.count();
+        if (personIndex.size() != expected) {
+            log.warn("PersonIndex 건수({})가 DB({})와 다릅니다. 다시 만듭니다.", personIndex.size(), expected);
+            rebuild();
+            return;
+        }
+
+        log.info("PersonIndex 스냅샷 복원: {} 건, 이후 변경 {} 건 반영", snapshot.getEntries().size(), changed.size());
+    }
+
+    private void rebuild() {
+        List<PersonIndexEntry> entries = new ArrayList<>();
+        personRepository.findAll().forEach(person -> entries.add(PersonIndexEntry.of(person)));
+
+        personIndex.replaceAll(entries);
+        personStatistics.rebuild();
+    }
+
+    private Path path() {
+        return Paths.get(properties.getPath());
+    }
+}
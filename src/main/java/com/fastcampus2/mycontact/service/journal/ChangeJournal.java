@@ -0,0 +1,564 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.exception.JournalWriteException;
+import com.fastcampus2.mycontact.service.journal.JournalProperties.Durability;
+import com.fastcampus2.mycontact.service.journal.JournalRecord.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// 변경 이력을 세그먼트 파일에 이어 쓰는 저널.
+// 트랜잭션 안의 변경은 모아 두었다가 커밋 직전에 기록하고(JournalTransaction), 커밋/롤백된 뒤에 COMMIT/ABORT 표시를 남긴다.
+// 조회는 COMMIT 표시가 있는 변경만 돌려준다.
+// 기록은 전용 스레드 하나가 대기열에서 모인 만큼 꺼내 쓰고 한 번에 fsync 한다. (group commit)
+//
+// durability 에 따른 보장
+//   PER_WRITE, GROUP : 변경은 DB 커밋 전에 fsync 된다. 기록하지 못하면 JournalWriteException 으로 트랜잭션이 롤백된다.
+//                      표시는 기다리지 않으므로 남기기 전에 종료될 수 있다. 그런 변경은 기동 시 DB 와 비교해 표시를 채운다. (reconcile)
+//   ASYNC            : 커밋 전에 대기열에 넣기만 한다. 종료되면 asyncFlushInterval 안의 기록을 잃을 수 있고, 기록 실패는 로그로만 남는다.
+// sharding 모드의 변경은 shard 에 바로 커밋되므로 그 뒤에 변경과 COMMIT 표시를 함께 기록한다. (record)
+// 이때 기록 실패는 호출한 쪽에 알리지만 변경은 이미 반영되어 있고, 기록 전에 종료되면 그 변경은 남지 않는다.
+@Slf4j
+public class ChangeJournal implements DisposableBean {
+    private static final long POLL_MILLIS = 100;
+
+    private final JournalProperties properties;
+    private final Path directory;
+    private final long segmentBytes;
+    private final BlockingQueue<Pending> queue;
+    private final Thread writer;
+
+    // history 는 read lock, 세그먼트 목록을 바꿀 때(rotate, compact)는 write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile List<JournalSegment> segments;
+    private JournalSegment active;
+
+    // seq 는 대기열에 넣을 때 정한다. (대기열 순서 = seq 순서)
+    private final Object appendLock = new Object();
+    private long nextSeq;
+
+    // 기동 시 COMMIT/ABORT 표시가 없던 변경. reconcile 에서 표시를 채운다.
+    private volatile List<JournalRecord> inDoubt;
+
+    private long lastForceNanos = System.nanoTime();
+    private boolean dirty;
+    private volatile boolean running = true;
+
+    public ChangeJournal(JournalProperties properties) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath();
+        this.segmentBytes = properties.getSegmentSize().toBytes();
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+
+        try {
+            open();
+            inDoubt = findInDoubt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("저널을 열 수 없습니다: " + directory, e);
+        }
+
+        this.writer = new Thread(this::writeLoop, "change-journal");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // 트랜잭션 안이면 커밋 직전에 모아서 기록하고, 아니면 바로 기록한다.
+    public void append(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(change);
+            return;
+        }
+
+        JournalTransaction transaction = (JournalTransaction) TransactionSynchronizationManager.getResource(this);
+        if (transaction == null) {
+            transaction = new JournalTransaction(this);
+            TransactionSynchronizationManager.bindResource(this, transaction);
+            TransactionSynchronizationManager.registerSynchronization(transaction);
+        }
+
+        transaction.add(change);
+    }
+
+    // 이미 반영된 변경을 COMMIT 표시와 함께 바로 기록한다. durability 에 따라 fsync 까지 기다린다.
+    public void record(Change change) {
+        long timestamp = System.currentTimeMillis();
+        Pending pending = enqueue(change.encode(timestamp), change.personId, timestamp);
+        Pending commit = enqueue(marker(ChangeType.COMMIT, change.personId, pending.seq, timestamp), change.personId, timestamp);
+
+        await(Arrays.asList(pending, commit));
+    }
+
+    // 커밋 전에 변경들을 기록한다. durability 에 따라 fsync 까지 기다리고, 실패하면 JournalWriteException 을 던진다.
+    // 돌려준 seq 로 complete 에서 결과 표시를 남긴다.
+    long[] prepare(List<Change> changes) {
+        long timestamp = System.currentTimeMillis();
+        List<Pending> batch = new ArrayList<>();
+
+        for (Change change : changes) {
+            batch.add(enqueue(change.encode(timestamp), change.personId, timestamp));
+        }
+
+        await(batch);
+
+        return batch.stream().mapToLong(pending -> pending.seq).toArray();
+    }
+
+    // 커밋/롤백 결과를 남긴다. 파일에 쓰일 때까지만 기다리고(곧바로 history 에 보이도록) fsync 는 기다리지 않는다.
+    // 남기지 못한 표시는 다음 기동 때 reconcile 에서 채운다.
+    void complete(List<Change> changes, long[] seqs, boolean committed) {
+        long timestamp = System.currentTimeMillis();
+        ChangeType type = committed ? ChangeType.COMMIT : ChangeType.ABORT;
+
+        try {
+            List<Pending> markers = new ArrayList<>();
+            for (int i = 0; i < changes.size(); i++) {
+                markers.add(enqueue(marker(type, changes.get(i).personId, seqs[i], timestamp), changes.get(i).personId, timestamp));
+            }
+
+            if (properties.getDurability() != Durability.ASYNC) {
+                for (Pending marker : markers) {
+                    marker.written.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("저널 {} 표시를 기다리다 중단되었습니다.", type);
+        } catch (JournalWriteException | ExecutionException e) {
+            log.warn("저널 {} 표시를 남기지 못했습니다. 다음 기동 때 채웁니다.", type, e);
+        }
+    }
+
+    public List<JournalRecord> getInDoubt() {
+        return inDoubt;
+    }
+
+    // 기동 시 결과를 모르던 변경에 committed 로 판정한 결과를 남긴다.
+    public void reconcile(Predicate<JournalRecord> committed) {
+        List<JournalRecord> records = inDoubt;
+        if (records.isEmpty()) {
+            return;
+        }
+
+        long timestamp = System.currentTimeMillis();
+        List<Pending> markers = new ArrayList<>();
+        int committedCount = 0;
+
+        for (JournalRecord record : records) {
+            boolean commit = committed.test(record);
+            committedCount += commit ? 1 : 0;
+
+            markers.add(enqueue(marker(commit ? ChangeType.COMMIT : ChangeType.ABORT, record.getPersonId(), record.getSeq(), timestamp), record.getPersonId(), timestamp));
+        }
+
+        await(markers);
+        inDoubt = Collections.emptyList();
+
+        log.info("저널 reconcile: 결과를 모르던 변경 {} 건 중 {} 건 COMMIT, {} 건 ABORT", records.size(), committedCount, records.size() - committedCount);
+    }
+
+    // seq 순서로 돌려준다. COMMIT 표시가 없는 변경(진행 중, 롤백, 결과를 모르는 변경)은 빠진다.
+    // ASYNC 에서는 아직 쓰지 않은 변경이 빠질 수 있다.
+    public List<JournalRecord> history(long personId) {
+        lock.readLock().lock();
+
+        try {
+            List<JournalRecord> records = new ArrayList<>();
+            for (JournalSegment segment : segments) {
+                records.addAll(segment.read(personId));
+            }
+
+            Set<Long> committed = records.stream()
+                    .filter(record -> record.getType() == ChangeType.COMMIT)
+                    .map(JournalRecord::getRef)
+                    .collect(Collectors.toSet());
+
+            return records.stream()
+                    .filter(record -> record.isChange() && committed.contains(record.getSeq()))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 1. retention 보다 오래된 세그먼트를 지운다.
+    // 2. 이어지는 닫힌 세그먼트들을 segmentSize 이하가 되도록 하나로 합친다.
+    // 합친 파일은 따로 만든 뒤 첫 세그먼트 자리로 옮기므로, 그동안에도 조회할 수 있다.
+    @Scheduled(fixedDelayString = "${mycontact.journal.compact-interval-ms:3600000}", initialDelayString = "${mycontact.journal.compact-interval-ms:3600000}")
+    public synchronized void compact() {
+        try {
+            expire();
+
+            for (List<JournalSegment> run : mergeCandidates()) {
+                JournalSegment merged = JournalSegment.merge(JournalSegment.compactionPath(directory, run.get(0).getBaseSeq()), run, properties.getIndexBlockBytes());
+
+                replace(run, merged);
+
+                log.info("저널 세그먼트 {} 개를 합쳤습니다. ({} ~ {})", run.size(), merged.getBaseSeq(), merged.getLastSeq());
+            }
+        } catch (IOException e) {
+            log.error("저널 정리 실패", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException, IOException {
+        running = false;
+        writer.join();
+
+        for (JournalSegment segment : segments) {
+            segment.close();
+        }
+    }
+
+    private Pending enqueue(byte[] body, long personId, long timestamp) {
+        synchronized (appendLock) {
+            if (!running) {
+                throw new JournalWriteException(new IllegalStateException("저널이 닫혔습니다."));
+            }
+
+            Pending pending = new Pending(body, nextSeq, personId, timestamp);
+
+            try {
+                queue.put(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JournalWriteException(e);
+            }
+
+            nextSeq++;
+            return pending;
+        }
+    }
+
+    private void await(List<Pending> batch) {
+        if (properties.getDurability() == Durability.ASYNC) {
+            return;
+        }
+
+        try {
+            for (Pending pending : batch) {
+                pending.done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JournalWriteException(e);
+        } catch (ExecutionException e) {
+            throw new JournalWriteException(e.getCause());
+        }
+    }
+
+    private static byte[] marker(ChangeType type, long personId, long ref, long timestamp) {
+        return JournalCodec.encodeBody(timestamp, type, personId, ref, null, null);
+    }
+
+    private void writeLoop() {
+        List<Pending> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, properties.getMaxBatch() - 1);
+                    write(batch);
+                    batch.clear();
+                }
+
+                if (dirty && properties.getDurability() == Durability.ASYNC
+                        && System.nanoTime() - lastForceNanos >= properties.getAsyncFlushInterval().toNanos()) {
+                    force();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (IOException e) {
+                log.error("저널 fsync 실패", e);
+            }
+        }
+
+        try {
+            if (dirty) {
+                force();
+            }
+        } catch (IOException e) {
+            log.error("저널 fsync 실패", e);
+        }
+
+        // 닫히는 동안 들어온 기록은 기다리지 않도록 실패로 끝낸다.
+        queue.drainTo(batch);
+        batch.forEach(pending -> pending.fail(new IllegalStateException("저널이 닫혔습니다.")));
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            for (Pending pending : batch) {
+                ByteBuffer frame = JournalCodec.frame(pending.body, pending.seq);
+
+                if (active.getSize() + frame.remaining() > segmentBytes && !active.isEmpty()) {
+                    rotate(pending.seq);
+                }
+
+                active.append(frame, pending.seq, pending.personId, pending.timestamp);
+                pending.written.complete(null);
+                dirty = true;
+
+                if (properties.getDurability() == Durability.PER_WRITE) {
+                    force();
+                }
+            }
+
+            if (properties.getDurability() == Durability.GROUP) {
+                force();
+            }
+
+            batch.forEach(pending -> pending.done.complete(null));
+        } catch (IOException | RuntimeException e) {
+            log.error("저널 기록 실패: {} 건", batch.size(), e);
+            batch.forEach(pending -> pending.fail(e));
+        }
+    }
+
+    private void force() throws IOException {
+        active.force();
+        dirty = false;
+        lastForceNanos = System.nanoTime();
+    }
+
+    private void rotate(long baseSeq) throws IOException {
+        active.seal();
+
+        JournalSegment next = JournalSegment.create(JournalSegment.logPath(directory, baseSeq), baseSeq, properties.getIndexBlockBytes());
+
+        lock.writeLock().lock();
+        try {
+            List<JournalSegment> rotated = new ArrayList<>(segments);
+            rotated.add(next);
+            segments = Collections.unmodifiableList(rotated);
+            active = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 마지막(쓰고 있는) 세그먼트를 뺀 닫힌 세그먼트들을 앞에서부터 segmentSize 까지 묶는다.
+    private List<List<JournalSegment>> mergeCandidates() {
+        List<JournalSegment> sealed = segments.subList(0, segments.size() - 1);
+        List<List<JournalSegment>> runs = new ArrayList<>();
+        List<JournalSegment> run = new ArrayList<>();
+        long runBytes = 0;
+
+        for (JournalSegment segment : sealed) {
+            long bytes = segment.getSize() - JournalSegment.HEADER_BYTES;
+
+            if (!run.isEmpty() && runBytes + bytes > segmentBytes - JournalSegment.HEADER_BYTES) {
+                if (run.size() > 1) {
+                    runs.add(run);
+                }
+
+                run = new ArrayList<>();
+                runBytes = 0;
+            }
+
+            run.add(segment);
+            runBytes += bytes;
+        }
+
+        if (run.size() > 1) {
+            runs.add(run);
+        }
+
+        return runs;
+    }
+
+    private void replace(List<JournalSegment> run, JournalSegment merged) throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            merged.renameTo(run.get(0).getPath());
+
+            List<JournalSegment> replaced = new ArrayList<>();
+            for (JournalSegment segment : segments) {
+                if (segment == run.get(0)) {
+                    replaced.add(merged);
+                } else if (!run.contains(segment)) {
+                    replaced.add(segment);
+                }
+            }
+            segments = Collections.unmodifiableList(replaced);
+
+            // 첫 세그먼트 파일은 합친 파일로 바뀌었다. 열려 있던 채널만 닫는다.
+            run.get(0).close();
+            for (JournalSegment segment : run.subList(1, run.size())) {
+                segment.delete();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void expire() throws IOException {
+        if (properties.getRetention() == null) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - properties.getRetention().toMillis();
+        List<JournalSegment> expired = segments.subList(0, segments.size() - 1).stream()
+                .filter(segment -> segment.getLastTimestamp() < cutoff)
+                .collect(Collectors.toList());
+
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<JournalSegment> kept = new ArrayList<>(segments);
+            kept.removeAll(expired);
+            segments = Collections.unmodifiableList(kept);
+
+            for (JournalSegment segment : expired) {
+                segment.delete();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("보관 기간이 지난 저널 세그먼트 {} 개를 지웠습니다.", expired.size());
+    }
+
+    // 세그먼트를 baseSeq 순서로 연다. 마지막 세그먼트에 이어 쓴다.
+    // 합치기 도중 종료되어 앞 세그먼트에 이미 들어 있는 세그먼트가 남았다면 지운다.
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.sorted().collect(Collectors.toList());
+        }
+
+        List<JournalSegment> opened = new ArrayList<>();
+        List<Path> logs = paths.stream().filter(JournalSegment::isLog).collect(Collectors.toList());
+
+        for (Path path : paths) {
+            if (JournalSegment.isCompactionLeftover(path)) {
+                Files.delete(path);
+            }
+        }
+
+        for (int i = 0; i < logs.size(); i++) {
+            JournalSegment segment = JournalSegment.open(logs.get(i), properties.getIndexBlockBytes(), i < logs.size() - 1);
+            JournalSegment previous = opened.isEmpty() ? null : opened.get(opened.size() - 1);
+
+            if (previous != null && segment.getBaseSeq() <= previous.getLastSeq()) {
+                log.warn("이미 합쳐진 저널 세그먼트 {} 를 지웁니다.", logs.get(i).getFileName());
+                segment.delete();
+                continue;
+            }
+
+            opened.add(segment);
+        }
+
+        if (opened.isEmpty()) {
+            opened.add(JournalSegment.create(JournalSegment.logPath(directory, 1), 1, properties.getIndexBlockBytes()));
+        }
+
+        segments = Collections.unmodifiableList(opened);
+        active = opened.get(opened.size() - 1);
+        nextSeq = active.getLastSeq() + 1;
+
+        log.info("저널 {}: 세그먼트 {} 개, 다음 seq {}", directory, opened.size(), nextSeq);
+    }
+
+    // COMMIT/ABORT 표시가 없는 변경을 찾는다. 표시는 변경 뒤의 다른 세그먼트에 있을 수도 있으므로 기동 시 모두 한 번 훑는다.
+    private List<JournalRecord> findInDoubt() throws IOException {
+        Map<Long, JournalRecord> changes = new LinkedHashMap<>();
+
+        for (JournalSegment segment : segments) {
+            segment.forEach(record -> {
+                if (record.isChange()) {
+                    changes.put(record.getSeq(), record);
+                } else {
+                    changes.remove(record.getRef());
+                }
+            });
+        }
+
+        if (!changes.isEmpty()) {
+            log.warn("저널에 결과를 모르는 변경이 {} 건 있습니다. (COMMIT/ABORT 표시 전에 종료)", changes.size());
+        }
+
+        return Collections.unmodifiableList(new ArrayList<>(changes.values()));
+    }
+
+    // 기록할 변경 하나. 만들 때 값을 복사해 두므로 이후에 엔티티가 바뀌어도 섞이지 않는다.
+    // after 의 modifiedAt 은 DB 에 쓴 값이어야 한다. (reconcile 에서 비교한다)
+    public static final class Change {
+        private final ChangeType type;
+        private final long personId;
+        private final Person before;
+        private final Person after;
+
+        private Change(ChangeType type, long personId, Person before, Person after) {
+            this.type = type;
+            this.personId = personId;
+            this.before = before != null ? before.toBuilder().build() : null;
+            this.after = after != null ? after.toBuilder().build() : null;
+        }
+
+        public static Change put(Person person) {
+            return new Change(ChangeType.PUT, person.getId(), null, person);
+        }
+
+        public static Change modify(Person before, Person after) {
+            return new Change(ChangeType.MODIFY, after.getId(), before, after);
+        }
+
+        public static Change delete(Person before, Person after) {
+            return new Change(ChangeType.DELETE, before.getId(), before, after);
+        }
+
+        private byte[] encode(long timestamp) {
+            return JournalCodec.encodeBody(timestamp, type, personId, 0, before, after);
+        }
+    }
+
+    private static class Pending {
+        private final byte[] body;
+        private final long seq;
+        private final long personId;
+        private final long timestamp;
+        private final CompletableFuture<Void> written = new CompletableFuture<>(); // 파일에 쓰였다.
+        private final CompletableFuture<Void> done = new CompletableFuture<>();    // durability 에 맞게 fsync 되었다.
+
+        private Pending(byte[] body, long seq, long personId, long timestamp) {
+            this.body = body;
+            this.seq = seq;
+            this.personId = personId;
+            this.timestamp = timestamp;
+        }
+
+        private void fail(Throwable cause) {
+            written.completeExceptionally(cause);
+            done.completeExceptionally(cause);
+        }
+    }
+}
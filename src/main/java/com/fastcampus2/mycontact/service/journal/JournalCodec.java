@@ -0,0 +1,154 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.service.journal.JournalRecord.ChangeType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.zip.CRC32;
+
+// 저널 레코드 (big-endian)
+//   frame : length(int, body 크기) crc(int, body 의 CRC32) body
+//   body  : seq(long) timestamp(long) type(byte) personId(long) ref(long) before after
+//   image : present(byte) [deleted(byte) year(int) month(byte) day(byte) modifiedAt(long) name hobby address job phoneNumber]
+//   문자열은 길이(int, null 이면 -1) + UTF-8
+// seq 는 기록하는 스레드가 정하므로, body 는 seq 자리를 비워 만들고 frame 에서 채운다.
+final class JournalCodec {
+    static final int FRAME_HEADER_BYTES = 8;
+
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final long NO_STAMP = Long.MIN_VALUE;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encodeBody(long timestamp, ChangeType type, long personId, long ref, Person before, Person after) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeLong(0);
+            out.writeLong(timestamp);
+            out.writeByte(type.ordinal());
+            out.writeLong(personId);
+            out.writeLong(ref);
+            writeImage(out, before);
+            writeImage(out, after);
+            out.flush();
+
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static ByteBuffer frame(byte[] body, long seq) {
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES + body.length);
+        frame.putInt(body.length);
+        frame.putInt(0);
+        frame.put(body);
+        frame.putLong(FRAME_HEADER_BYTES, seq);
+
+        CRC32 crc = new CRC32();
+        crc.update(frame.array(), FRAME_HEADER_BYTES, body.length);
+        frame.putInt(4, (int) crc.getValue());
+
+        frame.flip();
+        return frame;
+    }
+
+    static boolean verify(ByteBuffer body, int crc) {
+        CRC32 actual = new CRC32();
+        actual.update(body.duplicate());
+
+        return (int) actual.getValue() == crc;
+    }
+
+    static JournalRecord decode(ByteBuffer body) {
+        long seq = body.getLong();
+        long timestamp = body.getLong();
+        ChangeType type = ChangeType.values()[body.get()];
+        long personId = body.getLong();
+        long ref = body.getLong();
+
+        return new JournalRecord(seq, timestamp, type, personId, ref, readImage(body, personId), readImage(body, personId));
+    }
+
+    private static void writeImage(DataOutputStream out, Person person) throws IOException {
+        if (person == null) {
+            out.writeByte(0);
+            return;
+        }
+
+        BirthdayDto birthday = person.getBirthday();
+
+        out.writeByte(1);
+        out.writeByte(person.isDeleted() ? 1 : 0);
+        out.writeInt(birthday != null && birthday.getYearOfBirthday() != null ? birthday.getYearOfBirthday() : NO_YEAR);
+        out.writeByte(birthday != null && birthday.getMonthOfBirthday() != null ? birthday.getMonthOfBirthday() : 0);
+        out.writeByte(birthday != null && birthday.getDayOfBirthday() != null ? birthday.getDayOfBirthday() : 0);
+        out.writeLong(person.getModifiedAt() != null ? person.getModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : NO_STAMP);
+        writeString(out, person.getName());
+        writeString(out, person.getHobby());
+        writeString(out, person.getAddress());
+        writeString(out, person.getJob());
+        writeString(out, person.getPhoneNumber());
+    }
+
+    private static Person readImage(ByteBuffer buffer, long personId) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+
+        boolean deleted = buffer.get() != 0;
+        int year = buffer.getInt();
+        byte month = buffer.get();
+        byte day = buffer.get();
+        long modifiedAt = buffer.getLong();
+
+        return Person.builder()
+                .id(personId)
+                .deleted(deleted)
+                .birthday(year != NO_YEAR || month != 0 || day != 0
+                        ? new BirthdayDto(year != NO_YEAR ? year : null, month != 0 ? (int) month : null, day != 0 ? (int) day : null)
+                        : null)
+                .modifiedAt(modifiedAt != NO_STAMP ? LocalDateTime.ofInstant(Instant.ofEpochMilli(modifiedAt), ZoneId.systemDefault()) : null)
+                .name(readString(buffer))
+                .hobby(readString(buffer))
+                .address(readString(buffer))
+                .job(readString(buffer))
+                .phoneNumber(readString(buffer))
+                .build();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,44 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.journal")
+public class JournalProperties {
+    private boolean enabled;
+
+    private String directory = "data/journal";
+
+    private Durability durability = Durability.GROUP;
+
+    // 한 번의 fsync 로 묶을 최대 건수 (GROUP)
+    private int maxBatch = 512;
+
+    // ASYNC 에서 fsync 하는 주기
+    private Duration asyncFlushInterval = Duration.ofSeconds(1);
+
+    // 기록 대기열 크기. 가득 차면 변경 요청이 기다린다.
+    private int queueCapacity = 10_000;
+
+    // 이 크기를 넘으면 새 세그먼트로 넘어간다. 작은 세그먼트는 이 크기까지 합친다.
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    // 사람마다 이 크기의 구간 하나에 색인 항목 하나만 둔다.
+    private int indexBlockBytes = 4096;
+
+    // 이보다 오래된 세그먼트는 지운다. (없으면 모두 보관)
+    private Duration retention;
+
+    private long compactIntervalMs = 3_600_000;
+
+    // 보장하는 내용은 ChangeJournal 참고
+    public enum Durability {
+        PER_WRITE, // 기록할 때마다 fsync 하고 기다린다. 변경은 DB 커밋 전에 디스크에 남는다.
+        GROUP,     // 모인 기록을 한 번에 fsync 하고 기다린다. 변경은 DB 커밋 전에 디스크에 남는다.
+        ASYNC      // 기다리지 않는다. asyncFlushInterval 마다 fsync 하므로 종료되면 그 사이의 기록을 잃을 수 있다.
+    }
+}
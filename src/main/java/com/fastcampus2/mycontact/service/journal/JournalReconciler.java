@@ -0,0 +1,71 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 기동 시 결과를 모르는 변경(커밋 전에 기록했지만 COMMIT/ABORT 표시를 남기기 전에 종료)을 DB 와 비교해 표시를 채운다.
+// 커밋되었다면 DB 의 modifiedAt 이 기록한 변경 후 값의 modifiedAt 과 같거나 그 뒤다. (롤백되었다면 이전 값이 남아 있거나 행이 없다)
+// sharding 모드의 변경은 shard 에 커밋된 뒤에 기록하므로 모두 커밋된 것으로 본다.
+// 새 쓰기가 들어오면 롤백된 변경도 커밋된 것처럼 보이므로, 웹 서버가 요청을 받기 전에(모든 singleton 을 만든 직후) 맞춘다.
+public class JournalReconciler implements SmartInitializingSingleton {
+    private final ChangeJournal changeJournal;
+    private final PersonRepository personRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean sharded;
+
+    public JournalReconciler(ChangeJournal changeJournal, PersonRepository personRepository, TransactionTemplate transactionTemplate, boolean sharded) {
+        this.changeJournal = changeJournal;
+        this.personRepository = personRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sharded = sharded;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    public void reconcile() {
+        List<JournalRecord> inDoubt = changeJournal.getInDoubt();
+        if (inDoubt.isEmpty()) {
+            return;
+        }
+
+        if (sharded) {
+            changeJournal.reconcile(record -> true);
+            return;
+        }
+
+        Set<Long> ids = inDoubt.stream().map(JournalRecord::getPersonId).collect(Collectors.toSet());
+
+        // 읽기 전용 트랜잭션이 아니어야 replica 가 아닌 primary 에서 읽는다.
+        Map<Long, Person> current = transactionTemplate.execute(status -> personRepository.findAllByIdIncludingDeleted(ids).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity())));
+
+        changeJournal.reconcile(record -> isCommitted(record, current.get(record.getPersonId())));
+    }
+
+    // 저널에는 밀리초까지만 남으므로 DB 값도 밀리초로 맞춰 비교한다.
+    static boolean isCommitted(JournalRecord record, Person current) {
+        if (current == null) {
+            return false;
+        }
+
+        LocalDateTime written = record.getAfter() != null ? record.getAfter().getModifiedAt() : null;
+        if (written == null || current.getModifiedAt() == null) {
+            return written == null;
+        }
+
+        return !current.getModifiedAt().truncatedTo(ChronoUnit.MILLIS).isBefore(written);
+    }
+}
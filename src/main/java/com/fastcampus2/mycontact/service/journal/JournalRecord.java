@@ -0,0 +1,31 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 변경 한 건. 추가는 before 가, 삭제는 after 가 없다.
+// COMMIT, ABORT 는 ref(변경의 seq)가 가리키는 변경의 결과를 남기는 표시다. (before, after 없음)
+@Data
+@AllArgsConstructor
+public class JournalRecord {
+    private long seq;
+    private long timestamp; // epoch millis
+    private ChangeType type;
+    private long personId;
+    private long ref;
+    private Person before;
+    private Person after;
+
+    public boolean isChange() {
+        return type != ChangeType.COMMIT && type != ChangeType.ABORT;
+    }
+
+    public enum ChangeType {
+        PUT,
+        MODIFY,
+        DELETE,
+        COMMIT,
+        ABORT
+    }
+}
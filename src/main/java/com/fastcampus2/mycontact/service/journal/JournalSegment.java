@@ -0,0 +1,454 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+// 저널 세그먼트 파일 하나 (<baseSeq 20자리>.log, big-endian)
+//   header : magic(int) version(int) baseSeq(long)
+//   이후 JournalCodec 의 frame 이 이어진다.
+// 끝에서 잘렸거나 CRC 가 맞지 않는 frame 은 기록 도중 종료된 것으로 보고 열 때 잘라낸다.
+//
+// 색인은 sparse 하다. 사람마다 indexBlockBytes 구간 하나에 그 구간의 첫 레코드 위치 하나만 둔다.
+// 조회할 때는 그 위치부터 구간 끝까지 읽으며 같은 사람의 레코드를 고른다.
+// 닫힌(sealed) 세그먼트는 색인을 <baseSeq>.idx 로 저장해 두고, 다시 열 때 파일을 훑지 않는다.
+//   idx : magic(int) version(int) segmentSize(long) lastSeq(long) lastTimestamp(long) count(int)
+//         (personId(long) n(int) offset(long) * n) * count, CRC32(long)
+@Slf4j
+class JournalSegment implements Closeable {
+    static final int MAGIC = 0x4D434A4C; // "MCJL"
+    static final int INDEX_MAGIC = 0x4D434A49; // "MCJI"
+    static final int VERSION = 2; // 2: COMMIT, ABORT 표시와 ref 추가
+    static final int HEADER_BYTES = 4 + 4 + 8;
+
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String COMPACTION_PREFIX = "compact-";
+
+    private Path path;
+    private final long baseSeq;
+    private final int blockBytes;
+    private final FileChannel channel;
+    private final ConcurrentMap<Long, long[]> index = new ConcurrentHashMap<>();
+
+    private volatile long size;
+    private volatile long lastSeq;
+    private volatile long lastTimestamp;
+    private volatile boolean sealed;
+
+    private JournalSegment(Path path, long baseSeq, int blockBytes, FileChannel channel) {
+        this.path = path;
+        this.baseSeq = baseSeq;
+        this.blockBytes = blockBytes;
+        this.channel = channel;
+        this.size = HEADER_BYTES;
+        this.lastSeq = baseSeq - 1;
+    }
+
+    static Path logPath(Path directory, long baseSeq) {
+        return directory.resolve(String.format("%020d%s", baseSeq, LOG_SUFFIX));
+    }
+
+    // 합치는 도중의 임시 파일. 다 만든 뒤 첫 세그먼트 자리로 옮긴다.
+    static Path compactionPath(Path directory, long baseSeq) {
+        return directory.resolve(COMPACTION_PREFIX + logPath(directory, baseSeq).getFileName());
+    }
+
+    static boolean isLog(Path path) {
+        return path.getFileName().toString().matches("\\d{20}\\" + LOG_SUFFIX);
+    }
+
+    static boolean isCompactionLeftover(Path path) {
+        return path.getFileName().toString().startsWith(COMPACTION_PREFIX);
+    }
+
+    static JournalSegment create(Path path, long baseSeq, int blockBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC).putInt(VERSION).putLong(baseSeq).flip();
+        writeFully(channel, header, 0);
+        channel.force(true);
+
+        return new JournalSegment(path, baseSeq, blockBytes, channel);
+    }
+
+    // sealed 이면 idx 파일을 먼저 읽고, 없거나 맞지 않으면 파일을 훑어 색인을 다시 만든다.
+    static JournalSegment open(Path path, int blockBytes, boolean sealed) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            ByteBuffer header = readAt(channel, 0, HEADER_BYTES);
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException("저널 세그먼트 파일이 아닙니다: " + path);
+            }
+
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("지원하지 않는 저널 버전: " + version + " (expected " + VERSION + ")");
+            }
+
+            JournalSegment segment = new JournalSegment(path, header.getLong(), blockBytes, channel);
+
+            if (!sealed || !segment.loadIndex()) {
+                segment.recover();
+            }
+
+            segment.sealed = sealed;
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    void append(ByteBuffer frame, long seq, long personId, long timestamp) throws IOException {
+        long position = size;
+        int length = frame.remaining();
+
+        writeFully(channel, frame, position);
+
+        size = position + length;
+        lastSeq = seq;
+        lastTimestamp = timestamp;
+        addToIndex(personId, position);
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    List<JournalRecord> read(long personId) throws IOException {
+        long[] offsets = index.get(personId);
+        if (offsets == null) {
+            return Collections.emptyList();
+        }
+
+        List<JournalRecord> records = new ArrayList<>();
+        Cursor cursor = new Cursor(size);
+
+        for (long offset : offsets) {
+            long blockEnd = (offset / blockBytes + 1) * blockBytes;
+            long position = offset;
+
+            while (position < blockEnd) {
+                Frame frame = cursor.next(position);
+                if (frame == null) {
+                    break;
+                }
+
+                if (frame.record.getPersonId() == personId) {
+                    records.add(frame.record);
+                }
+                position = frame.next;
+            }
+        }
+
+        return records;
+    }
+
+    void forEach(Consumer<JournalRecord> consumer) throws IOException {
+        Cursor cursor = new Cursor(size);
+
+        for (Frame frame = cursor.next(HEADER_BYTES); frame != null; frame = cursor.next(frame.next)) {
+            consumer.accept(frame.record);
+        }
+    }
+
+    // 더 쓰지 않는다. 색인을 파일로 남긴다.
+    void seal() throws IOException {
+        channel.force(true);
+        writeIndex();
+        sealed = true;
+    }
+
+    // 레코드를 그대로 이어 붙여 하나의 세그먼트로 만든다. (색인은 새 위치로 다시 만든다)
+    static JournalSegment merge(Path path, List<JournalSegment> sources, int blockBytes) throws IOException {
+        JournalSegment merged = create(path, sources.get(0).baseSeq, blockBytes);
+
+        try {
+            merged.channel.position(HEADER_BYTES);
+
+            for (JournalSegment source : sources) {
+                long position = HEADER_BYTES;
+
+                while (position < source.size) {
+                    position += source.channel.transferTo(position, source.size - position, merged.channel);
+                }
+            }
+
+            merged.channel.force(true);
+            merged.recover();
+            merged.seal();
+
+            return merged;
+        } catch (IOException | RuntimeException e) {
+            merged.delete();
+            throw e;
+        }
+    }
+
+    void renameTo(Path target) throws IOException {
+        Files.move(path, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(indexPath(target));
+
+        path = target;
+
+        if (sealed) {
+            writeIndex();
+        }
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(indexPath(path));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getBaseSeq() {
+        return baseSeq;
+    }
+
+    long getLastSeq() {
+        return lastSeq;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return lastSeq < baseSeq;
+    }
+
+    private void addToIndex(long personId, long position) {
+        long[] offsets = index.get(personId);
+
+        if (offsets != null && offsets[offsets.length - 1] / blockBytes == position / blockBytes) {
+            return;
+        }
+
+        long[] next = offsets != null ? Arrays.copyOf(offsets, offsets.length + 1) : new long[1];
+        next[next.length - 1] = position;
+        index.put(personId, next);
+    }
+
+    // 처음부터 훑어 색인을 만들고, 온전하지 않은 꼬리는 잘라낸다.
+    private void recover() throws IOException {
+        long fileSize = channel.size();
+        Cursor cursor = new Cursor(fileSize);
+
+        index.clear();
+        size = HEADER_BYTES;
+        lastSeq = baseSeq - 1;
+
+        long position = HEADER_BYTES;
+        for (Frame frame = cursor.next(position); frame != null; frame = cursor.next(frame.next)) {
+            size = frame.next;
+            lastSeq = frame.record.getSeq();
+            lastTimestamp = frame.record.getTimestamp();
+            addToIndex(frame.record.getPersonId(), position);
+            position = frame.next;
+        }
+
+        if (size < fileSize) {
+            log.warn("저널 세그먼트 {} 의 끝 {} bytes 를 잘라냅니다. (기록 도중 종료)", path.getFileName(), fileSize - size);
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        Path target = indexPath(path);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            DataOutputStream body = new DataOutputStream(new CheckedOutputStream(out, crc));
+
+            body.writeInt(INDEX_MAGIC);
+            body.writeInt(VERSION);
+            body.writeLong(size);
+            body.writeLong(lastSeq);
+            body.writeLong(lastTimestamp);
+            body.writeInt(index.size());
+
+            for (Map.Entry<Long, long[]> entry : index.entrySet()) {
+                body.writeLong(entry.getKey());
+                body.writeInt(entry.getValue().length);
+                for (long offset : entry.getValue()) {
+                    body.writeLong(offset);
+                }
+            }
+
+            body.flush();
+            out.writeLong(crc.getValue());
+        }
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 세그먼트 크기가 다르거나 손상된 idx 는 쓰지 않는다.
+    private boolean loadIndex() throws IOException {
+        Path indexPath = indexPath(path);
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+
+        try {
+            ByteBuffer body = buffer.duplicate();
+            body.limit(buffer.limit() - 8);
+
+            CRC32 crc = new CRC32();
+            crc.update(body);
+
+            if (crc.getValue() != buffer.getLong(buffer.limit() - 8)
+                    || buffer.getInt() != INDEX_MAGIC || buffer.getInt() != VERSION || buffer.getLong() != channel.size()) {
+                log.warn("저널 색인 {} 을 쓸 수 없어 다시 만듭니다.", indexPath.getFileName());
+                return false;
+            }
+
+            size = channel.size();
+            lastSeq = buffer.getLong();
+            lastTimestamp = buffer.getLong();
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                long personId = buffer.getLong();
+                long[] offsets = new long[buffer.getInt()];
+                for (int j = 0; j < offsets.length; j++) {
+                    offsets[j] = buffer.getLong();
+                }
+
+                index.put(personId, offsets);
+            }
+
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("저널 색인 {} 을 읽을 수 없어 다시 만듭니다.", indexPath.getFileName(), e);
+            index.clear();
+            return false;
+        }
+    }
+
+    private static Path indexPath(Path logPath) {
+        String name = logPath.getFileName().toString();
+        return logPath.resolveSibling(name.substring(0, name.length() - LOG_SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+    }
+
+    // 파일 끝이면 읽은 만큼만 돌려준다.
+    private static ByteBuffer readAt(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static class Frame {
+        private final JournalRecord record;
+        private final long next;
+
+        private Frame(JournalRecord record, long next) {
+            this.record = record;
+            this.next = next;
+        }
+    }
+
+    // limit 까지의 frame 을 차례로 읽는다. 한 구간씩 읽어 두고 그 안에서 나누어 쓴다.
+    private class Cursor {
+        private final long limit;
+        private ByteBuffer window = ByteBuffer.allocate(0);
+        private long windowStart;
+
+        private Cursor(long limit) {
+            this.limit = limit;
+        }
+
+        // 다음 frame 이 없거나 온전하지 않으면 null
+        private Frame next(long position) throws IOException {
+            ByteBuffer header = get(position, JournalCodec.FRAME_HEADER_BYTES);
+            if (header == null) {
+                return null;
+            }
+
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length <= 0 || position + JournalCodec.FRAME_HEADER_BYTES + length > limit) {
+                return null;
+            }
+
+            ByteBuffer body = get(position + JournalCodec.FRAME_HEADER_BYTES, length);
+            if (body == null || !JournalCodec.verify(body, crc)) {
+                return null;
+            }
+
+            try {
+                return new Frame(JournalCodec.decode(body), position + JournalCodec.FRAME_HEADER_BYTES + length);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private ByteBuffer get(long position, int length) throws IOException {
+            if (position + length > limit) {
+                return null;
+            }
+
+            if (position < windowStart || position + length > windowStart + window.limit()) {
+                int read = (int) Math.min(Math.max(length, blockBytes), limit - position);
+                window = readAt(channel, position, read);
+                windowStart = position;
+
+                if (window.limit() < length) {
+                    return null;
+                }
+            }
+
+            ByteBuffer slice = window.duplicate();
+            slice.position((int) (position - windowStart));
+            slice.limit(slice.position() + length);
+
+            return slice.slice();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.service.journal.ChangeJournal.Change;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 한 트랜잭션의 변경을 모아 커밋 직전에 한 번에 기록하고(fsync 한 번), 끝난 뒤 결과 표시를 남긴다.
+// beforeCommit 에서 던진 JournalWriteException 은 트랜잭션을 롤백시키고 호출한 쪽으로 전달된다.
+class JournalTransaction extends TransactionSynchronizationAdapter {
+    private final ChangeJournal journal;
+    private final List<Change> changes = new ArrayList<>();
+    private long[] seqs;
+
+    JournalTransaction(ChangeJournal journal) {
+        this.journal = journal;
+    }
+
+    void add(Change change) {
+        changes.add(change);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        seqs = journal.prepare(changes);
+    }
+
+    // 결과를 알 수 없으면(STATUS_UNKNOWN) 표시를 남기지 않고 다음 기동 때 reconcile 에 맡긴다.
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(journal);
+
+        if (seqs != null && status != STATUS_UNKNOWN) {
+            journal.complete(changes, seqs, status == STATUS_COMMITTED);
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+// Person 을 열(column) 단위로 direct ByteBuffer 에 저장한다. (heap 밖, GC 대상 아님)
+//   id(long) birth(int, year<<9 | month<<5 | day, 없으면 0) job/city(int, 사전 코드) stamp(long) live(byte)
+//   문자열(name, hobby, address, phoneNumber)은 arena 에 UTF-8 로 붙여 쓰고 (offset, length) 만 둔다.
+// 행(slot)은 재사용하지 않는다. 삭제는 live 만 끄고 id 순서 목록에서 빼며, 수정된 문자열은 arena 뒤에 다시 쓴다.
+// 낭비가 절반을 넘으면 arena 를 다시 쓴다. 동시 접근은 PersonReadModel 이 막는다.
+// 조회 메소드는 read lock 만으로 여럿이 함께 부르므로 상태를 바꾸지 않는다. (바꾸는 일은 put/remove 에서 한다)
+class PersonColumnStore {
+    static final int NAME = 0;
+    static final int HOBBY = 1;
+    static final int ADDRESS = 2;
+    static final int PHONE_NUMBER = 3;
+
+    private static final int STRING_FIELDS = 4;
+    private static final int STRING_REF_BYTES = 8; // offset(int) + length(int, null 이면 -1)
+    private static final long NO_STAMP = Long.MIN_VALUE;
+    private static final int MIN_ARENA_COMPACTION = 1 << 20;
+
+    private final StringDictionary jobs = new StringDictionary();
+    private final StringDictionary cities = new StringDictionary();
+
+    private ByteBuffer ids;
+    private ByteBuffer births;
+    private ByteBuffer jobCodes;
+    private ByteBuffer cityCodes;
+    private ByteBuffer stamps;
+    private ByteBuffer live;
+    private ByteBuffer stringRefs;
+    private ByteBuffer arena;
+
+    private int capacity;
+    private int slots;
+    private int liveCount;
+    private int arenaUsed;
+    private int arenaGarbage;
+
+    // id -> slot (open addressing, id 0 은 빈 칸)
+    private long[] slotKeys;
+    private int[] slotValues;
+
+    // id 순서의 live slot 목록 order[0, liveCount). 커밋 순서가 id 순서와 다르면 추가할 때 제자리에 끼워 넣고,
+    // 삭제하면 바로 빼므로 페이지 조회가 죽은 행을 건너뛰지 않는다.
+    private int[] order;
+
+    PersonColumnStore(int initialCapacity) {
+        capacity = Math.max(16, initialCapacity);
+
+        ids = ByteBuffer.allocateDirect(capacity * 8);
+        births = ByteBuffer.allocateDirect(capacity * 4);
+        jobCodes = ByteBuffer.allocateDirect(capacity * 4);
+        cityCodes = ByteBuffer.allocateDirect(capacity * 4);
+        stamps = ByteBuffer.allocateDirect(capacity * 8);
+        live = ByteBuffer.allocateDirect(capacity);
+        stringRefs = ByteBuffer.allocateDirect(capacity * STRING_FIELDS * STRING_REF_BYTES);
+        arena = ByteBuffer.allocateDirect(capacity * 32);
+
+        slotKeys = new long[Integer.highestOneBit(capacity) * 4];
+        slotValues = new int[slotKeys.length];
+        order = new int[capacity];
+    }
+
+    int size() {
+        return liveCount;
+    }
+
+    // 추가 또는 교체
+    void put(Person person) {
+        long id = person.getId();
+        int slot = slotOf(id);
+
+        if (slot < 0) {
+            slot = append(id);
+            insertOrdered(slot, id);
+        } else if (isLive(slot)) {
+            releaseStrings(slot);
+        } else {
+            insertOrdered(slot, id);
+        }
+
+        BirthdayDto birthday = person.getBirthday();
+        births.putInt(slot * 4, pack(birthday));
+        jobCodes.putInt(slot * 4, jobs.encode(person.getJob()));
+        cityCodes.putInt(slot * 4, cities.encode(Person.cityOf(person.getAddress())));
+        stamps.putLong(slot * 8, person.getModifiedAt() != null
+                ? person.getModifiedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : NO_STAMP);
+        live.put(slot, (byte) 1);
+
+        writeString(slot, NAME, person.getName());
+        writeString(slot, HOBBY, person.getHobby());
+        writeString(slot, ADDRESS, person.getAddress());
+        writeString(slot, PHONE_NUMBER, person.getPhoneNumber());
+
+        compactIfNeeded();
+    }
+
+    void remove(long id) {
+        int slot = slotOf(id);
+
+        if (slot >= 0 && isLive(slot)) {
+            live.put(slot, (byte) 0);
+            releaseStrings(slot);
+            removeOrdered(id);
+            compactIfNeeded();
+        }
+    }
+
+    // id 순서로 offset 번째 live 행부터 limit 개의 slot 을 target 에 채우고, 채운 개수를 돌려준다.
+    int page(long offset, int limit, int[] target) {
+        if (offset >= liveCount) {
+            return 0;
+        }
+
+        int filled = Math.min(limit, liveCount - (int) offset);
+        System.arraycopy(order, (int) offset, target, 0, filled);
+
+        return filled;
+    }
+
+    // 생일(월, 일)이 같은 live 행의 slot. day 가 null 이면 월만 본다.
+    int birthdaySlots(int month, Integer day, int[] target) {
+        int filled = 0;
+
+        for (int slot = 0; slot < slots && filled < target.length; slot++) {
+            if (isLive(slot) && matches(births.getInt(slot * 4), month, day)) {
+                target[filled++] = slot;
+            }
+        }
+
+        return filled;
+    }
+
+    int countBirthday(int month, Integer day) {
+        int count = 0;
+
+        for (int slot = 0; slot < slots; slot++) {
+            if (isLive(slot) && matches(births.getInt(slot * 4), month, day)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    // 통계용: 열을 한 번씩 훑어 primitive 배열에 센다.
+    void count(long[] byMonth, long[] byYear, int minYear, long[] byJob, long[] byCity) {
+        for (int slot = 0; slot < slots; slot++) {
+            if (!isLive(slot)) {
+                continue;
+            }
+
+            int birth = births.getInt(slot * 4);
+            if (birth != 0) {
+                byMonth[month(birth)]++;
+
+                int yearIndex = year(birth) - minYear;
+                if (yearIndex >= 0 && yearIndex < byYear.length) {
+                    byYear[yearIndex]++;
+                }
+            }
+
+            int job = jobCodes.getInt(slot * 4);
+            if (job != StringDictionary.NONE && job < byJob.length) {
+                byJob[job]++;
+            }
+
+            int city = cityCodes.getInt(slot * 4);
+            if (city != StringDictionary.NONE && city < byCity.length) {
+                byCity[city]++;
+            }
+        }
+    }
+
+    // 통계 배열 크기를 정하기 위한 출생연도 범위 {min, max} (없으면 null)
+    int[] yearRange() {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        for (int slot = 0; slot < slots; slot++) {
+            int birth = births.getInt(slot * 4);
+
+            if (isLive(slot) && birth != 0) {
+                min = Math.min(min, year(birth));
+                max = Math.max(max, year(birth));
+            }
+        }
+
+        return min <= max ? new int[]{min, max} : null;
+    }
+
+    StringDictionary getJobs() {
+        return jobs;
+    }
+
+    StringDictionary getCities() {
+        return cities;
+    }
+
+    // 응답으로 내보낼 때만 객체를 만든다.
+    Person toPerson(int slot) {
+        int birth = births.getInt(slot * 4);
+        long stamp = stamps.getLong(slot * 8);
+
+        return Person.builder()
+                .id(ids.getLong(slot * 8))
+                .name(readString(slot, NAME))
+                .hobby(readString(slot, HOBBY))
+                .address(readString(slot, ADDRESS))
+                .birthday(birth != 0 ? new BirthdayDto(year(birth), month(birth), day(birth)) : null)
+                .job(jobs.decode(jobCodes.getInt(slot * 4)))
+                .phoneNumber(readString(slot, PHONE_NUMBER))
+                .modifiedAt(stamp != NO_STAMP ? LocalDateTime.ofInstant(Instant.ofEpochMilli(stamp), ZoneId.systemDefault()) : null)
+                .build();
+    }
+
+    // heap 밖에 잡은 바이트 수 (보고용)
+    long offHeapBytes() {
+        return (long) ids.capacity() + births.capacity() + jobCodes.capacity() + cityCodes.capacity()
+                + stamps.capacity() + live.capacity() + stringRefs.capacity() + arena.capacity();
+    }
+
+    static int pack(BirthdayDto birthday) {
+        if (birthday == null || birthday.getYearOfBirthday() == null
+                || birthday.getMonthOfBirthday() == null || birthday.getDayOfBirthday() == null) {
+            return 0;
+        }
+
+        return birthday.getYearOfBirthday() << 9 | birthday.getMonthOfBirthday() << 5 | birthday.getDayOfBirthday();
+    }
+
+    static int year(int birth) {
+        return birth >>> 9;
+    }
+
+    static int month(int birth) {
+        return birth >>> 5 & 0xF;
+    }
+
+    static int day(int birth) {
+        return birth & 0x1F;
+    }
+
+    private static boolean matches(int birth, int month, Integer day) {
+        return birth != 0 && month(birth) == month && (day == null || day(birth) == day);
+    }
+
+    private boolean isLive(int slot) {
+        return live.get(slot) != 0;
+    }
+
+    private int append(long id) {
+        if (slots == capacity) {
+            grow();
+        }
+
+        int slot = slots++;
+        ids.putLong(slot * 8, id);
+
+        for (int field = 0; field < STRING_FIELDS; field++) {
+            stringRefs.putInt(refIndex(slot, field) + 4, -1);
+        }
+
+        mapSlot(id, slot);
+
+        return slot;
+    }
+
+    private void grow() {
+        int grown = capacity * 2;
+
+        ids = copy(ids, grown * 8);
+        births = copy(births, grown * 4);
+        jobCodes = copy(jobCodes, grown * 4);
+        cityCodes = copy(cityCodes, grown * 4);
+        stamps = copy(stamps, grown * 8);
+        live = copy(live, grown);
+        stringRefs = copy(stringRefs, grown * STRING_FIELDS * STRING_REF_BYTES);
+        order = Arrays.copyOf(order, grown);
+
+        capacity = grown;
+    }
+
+    private static ByteBuffer copy(ByteBuffer source, int bytes) {
+        ByteBuffer target = ByteBuffer.allocateDirect(bytes);
+        ByteBuffer from = source.duplicate();
+        from.clear();
+        target.put(from);
+        target.clear();
+
+        return target;
+    }
+
+    private void writeString(int slot, int field, String value) {
+        int ref = refIndex(slot, field);
+
+        if (value == null) {
+            stringRefs.putInt(ref + 4, -1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (arenaUsed + bytes.length > arena.capacity()) {
+            arena = copy(arena, Math.max(arena.capacity() * 2, arenaUsed + bytes.length));
+        }
+
+        ByteBuffer target = arena.duplicate();
+        target.position(arenaUsed);
+        target.put(bytes);
+
+        stringRefs.putInt(ref, arenaUsed);
+        stringRefs.putInt(ref + 4, bytes.length);
+        arenaUsed += bytes.length;
+    }
+
+    private String readString(int slot, int field) {
+        int ref = refIndex(slot, field);
+        int length = stringRefs.getInt(ref + 4);
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        ByteBuffer source = arena.duplicate();
+        source.position(stringRefs.getInt(ref));
+        source.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void releaseStrings(int slot) {
+        for (int field = 0; field < STRING_FIELDS; field++) {
+            int length = stringRefs.getInt(refIndex(slot, field) + 4);
+
+            if (length > 0) {
+                arenaGarbage += length;
+            }
+        }
+    }
+
+    // 살아 있는 행의 문자열만 새 arena 로 옮긴다.
+    private void compactIfNeeded() {
+        if (arenaGarbage < MIN_ARENA_COMPACTION || arenaGarbage * 2 < arenaUsed) {
+            return;
+        }
+
+        int liveBytes = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            for (int field = 0; isLive(slot) && field < STRING_FIELDS; field++) {
+                liveBytes += Math.max(0, stringRefs.getInt(refIndex(slot, field) + 4));
+            }
+        }
+
+        ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(liveBytes * 2, 1024));
+        ByteBuffer source = arena.duplicate();
+        int used = 0;
+
+        for (int slot = 0; slot < slots; slot++) {
+            for (int field = 0; field < STRING_FIELDS; field++) {
+                int ref = refIndex(slot, field);
+                int length = stringRefs.getInt(ref + 4);
+
+                if (length < 0) {
+                    continue;
+                }
+
+                if (!isLive(slot)) {
+                    stringRefs.putInt(ref + 4, -1);
+                    continue;
+                }
+
+                source.limit(stringRefs.getInt(ref) + length).position(stringRefs.getInt(ref));
+                compacted.position(used);
+                compacted.put(source);
+                source.clear();
+
+                stringRefs.putInt(ref, used);
+                used += length;
+            }
+        }
+
+        compacted.clear();
+        arena = compacted;
+        arenaUsed = used;
+        arenaGarbage = 0;
+    }
+
+    private static int refIndex(int slot, int field) {
+        return (slot * STRING_FIELDS + field) * STRING_REF_BYTES;
+    }
+
+    // 들어갈 자리를 이분 탐색으로 찾고 뒤를 한 칸씩 민다. (대부분은 id 가 가장 커서 끝에 붙는다)
+    private void insertOrdered(int slot, long id) {
+        int index = liveCount > 0 && ids.getLong(order[liveCount - 1] * 8) > id ? orderIndex(id) : liveCount;
+
+        System.arraycopy(order, index, order, index + 1, liveCount - index);
+        order[index] = slot;
+        liveCount++;
+    }
+
+    private void removeOrdered(long id) {
+        int index = orderIndex(id);
+
+        System.arraycopy(order, index + 1, order, index, liveCount - index - 1);
+        liveCount--;
+    }
+
+    // order[0, liveCount) 에서 id 보다 작지 않은 첫 자리
+    private int orderIndex(long id) {
+        int low = 0;
+        int high = liveCount;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (ids.getLong(order[mid] * 8) < id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private int slotOf(long id) {
+        int mask = slotKeys.length - 1;
+
+        for (int i = hash(id) & mask; ; i = (i + 1) & mask) {
+            if (slotKeys[i] == id) {
+                return slotValues[i];
+            }
+
+            if (slotKeys[i] == 0) {
+                return -1;
+            }
+        }
+    }
+
+    private void mapSlot(long id, int slot) {
+        if (slots * 2 > slotKeys.length) {
+            rehash(slotKeys.length * 2);
+        }
+
+        int mask = slotKeys.length - 1;
+        int i = hash(id) & mask;
+        while (slotKeys[i] != 0) {
+            i = (i + 1) & mask;
+        }
+
+        slotKeys[i] = id;
+        slotValues[i] = slot;
+    }
+
+    private void rehash(int size) {
+        long[] keys = slotKeys;
+        int[] values = slotValues;
+        int mask = size - 1;
+
+        slotKeys = new long[size];
+        slotValues = new int[size];
+
+        for (int j = 0; j < keys.length; j++) {
+            if (keys[j] == 0) {
+                continue;
+            }
+
+            int i = hash(keys[j]) & mask;
+            while (slotKeys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+
+            slotKeys[i] = keys[j];
+            slotValues[i] = values[j];
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
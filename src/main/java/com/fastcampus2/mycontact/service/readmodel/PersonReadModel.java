@@ -0,0 +1,215 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.PersonChangeListener;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// 삭제되지 않은 Person 의 off-heap 읽기 모델 (PersonColumnStore).
+// 목록(id 순서), 생일, 통계 조회를 관리되는 엔티티 없이 처리한다.
+// 기동 시 PersonRepository 에서 나누어 읽고, 이후에는 커밋된 변경(PersonChangeListener)을 반영한다.
+// 읽는 도중 들어온 변경은 모아 두었다가 다 읽은 뒤에 다시 적용한다. (읽은 값이 더 새 변경을 덮지 않도록)
+@Slf4j
+public class PersonReadModel implements PersonChangeListener, ApplicationRunner {
+    private static final Sort ID_ORDER = Sort.by("id");
+
+    private final PersonRepository personRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadModelProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PersonColumnStore store;
+    private List<Consumer<PersonColumnStore>> pending;
+    private volatile boolean ready;
+
+    public PersonReadModel(PersonRepository personRepository, TransactionTemplate transactionTemplate, ReadModelProperties properties) {
+        this.personRepository = personRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.store = new PersonColumnStore(properties.getInitialCapacity());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    // primary 에서 읽도록 읽기 전용이 아닌 트랜잭션으로 나누어 읽는다.
+    public void load() {
+        long start = System.currentTimeMillis();
+        PersonColumnStore loading = new PersonColumnStore(properties.getInitialCapacity());
+
+        write(() -> {
+            ready = false;
+            pending = new ArrayList<>();
+        });
+
+        Pageable pageable = PageRequest.of(0, properties.getLoadBatchSize(), ID_ORDER);
+        while (pageable != null) {
+            // 페이지마다 트랜잭션을 끝내 영속성 컨텍스트가 쌓이지 않게 한다.
+            Pageable current = pageable;
+            Page<Person> loaded = transactionTemplate.execute(status -> personRepository.findAll(current));
+
+            loaded.forEach(loading::put);
+            pageable = loaded.hasNext() ? loaded.nextPageable() : null;
+        }
+
+        write(() -> {
+            pending.forEach(change -> change.accept(loading));
+            pending = null;
+            store = loading;
+            ready = true;
+        });
+
+        log.info("Person 읽기 모델 적재: {} 건, off-heap {} KB ({}ms)", loading.size(), loading.offHeapBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onPut(Person person) {
+        apply(store -> store.put(person));
+    }
+
+    @Override
+    public void onModify(Person before, Person after) {
+        apply(store -> store.put(after));
+    }
+
+    @Override
+    public void onDelete(Person person) {
+        apply(store -> store.remove(person.getId()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 정렬이 없거나 id 오름차순인 페이지만 처리한다.
+    public boolean supports(Pageable pageable) {
+        return pageable.getSort().isUnsorted() || pageable.getSort().equals(ID_ORDER);
+    }
+
+    public Page<Person> findAll(Pageable pageable) {
+        return read(store -> {
+            if (pageable.isUnpaged()) {
+                int[] slots = new int[store.size()];
+                return new PageImpl<>(toPeople(store, slots, store.page(0, slots.length, slots)));
+            }
+
+            int[] slots = new int[pageable.getPageSize()];
+            int filled = store.page(pageable.getOffset(), slots.length, slots);
+
+            return new PageImpl<>(toPeople(store, slots, filled), pageable, store.size());
+        });
+    }
+
+    public List<Person> findByBirthday(int month, Integer day) {
+        return read(store -> {
+            int[] slots = new int[store.countBirthday(month, day)];
+
+            return toPeople(store, slots, store.birthdaySlots(month, day, slots));
+        });
+    }
+
+    public int countByBirthday(int month, Integer day) {
+        return read(store -> store.countBirthday(month, day));
+    }
+
+    // 열을 primitive 배열로 세고, 결과 Map 만 새로 만든다. (PersonStatistics 와 같은 형태)
+    public PersonStatsDto getStats() {
+        return read(store -> {
+            int[] years = store.yearRange();
+            int minYear = years != null ? years[0] : 0;
+
+            long[] byMonth = new long[16];
+            long[] byYear = new long[years != null ? years[1] - years[0] + 1 : 0];
+            long[] byJob = new long[store.getJobs().size()];
+            long[] byCity = new long[store.getCities().size()];
+
+            store.count(byMonth, byYear, minYear, byJob, byCity);
+
+            Map<Integer, Long> byBirthMonth = new TreeMap<>();
+            for (int month = 1; month < byMonth.length; month++) {
+                if (byMonth[month] != 0) {
+                    byBirthMonth.put(month, byMonth[month]);
+                }
+            }
+
+            Map<Integer, Long> byBirthYear = new TreeMap<>();
+            for (int i = 0; i < byYear.length; i++) {
+                if (byYear[i] != 0) {
+                    byBirthYear.put(minYear + i, byYear[i]);
+                }
+            }
+
+            return PersonStatsDto.builder()
+                    .total(store.size())
+                    .byBirthMonth(byBirthMonth)
+                    .byAgeBucket(PersonStatistics.ageBuckets(byBirthYear))
+                    .byJob(decode(byJob, store.getJobs()))
+                    .byCity(decode(byCity, store.getCities()))
+                    .build();
+        });
+    }
+
+    private static Map<String, Long> decode(long[] counts, StringDictionary dictionary) {
+        Map<String, Long> decoded = new TreeMap<>();
+
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] != 0) {
+                decoded.put(dictionary.decode(code), counts[code]);
+            }
+        }
+
+        return decoded;
+    }
+
+    private static List<Person> toPeople(PersonColumnStore store, int[] slots, int count) {
+        List<Person> people = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            people.add(store.toPerson(slots[i]));
+        }
+
+        return people;
+    }
+
+    private void apply(Consumer<PersonColumnStore> change) {
+        write(() -> {
+            if (pending != null) {
+                pending.add(change);
+            }
+
+            change.accept(store);
+        });
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<PersonColumnStore, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(store);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mycontact.read-model")
+public class ReadModelProperties {
+    private boolean enabled;
+
+    // 처음 잡아 둘 행 수 (모자라면 두 배씩 늘린다)
+    private int initialCapacity = 1024;
+
+    // 기동 시 PersonRepository 에서 한 번에 읽는 건수
+    private int loadBatchSize = 1000;
+}
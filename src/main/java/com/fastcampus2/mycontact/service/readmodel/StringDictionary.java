@@ -0,0 +1,37 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 값 종류가 적은 문자열(직업, 도시)을 int 코드로 바꾼다. 코드는 지우지 않는다.
+class StringDictionary {
+    static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+
+        return code;
+    }
+
+    String decode(int code) {
+        return code == NONE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
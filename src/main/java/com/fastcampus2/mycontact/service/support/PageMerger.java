@@ -0,0 +1,64 @@
+package com.fastcampus2.mycontact.service.support;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+
+// 각각 정렬된 여러 페이지를 하나의 정렬된 페이지로 합친다. (k-way merge)
+// 각 페이지에는 전체 순서에서의 앞부분 (offset + size 건)이 들어 있어야 한다.
+public final class PageMerger {
+    private PageMerger() {
+    }
+
+    public static <T> Page<T> merge(List<Page<T>> pages, Pageable pageable, Comparator<? super T> comparator) {
+        long total = pages.stream().mapToLong(Page::getTotalElements).sum();
+
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, pages.size()), (left, right) -> comparator.compare(left.current, right.current));
+        for (Page<T> page : pages) {
+            Cursor<T> cursor = new Cursor<>(page.getContent().iterator());
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+
+        long skip = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<T> content = new ArrayList<>(Math.min(limit, 1024));
+
+        while (!heap.isEmpty() && content.size() < limit) {
+            Cursor<T> cursor = heap.poll();
+
+            if (skip > 0) {
+                skip--;
+            } else {
+                content.add(cursor.current);
+            }
+
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private static class Cursor<T> {
+        private final Iterator<T> iterator;
+        private T current;
+
+        private Cursor(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        private boolean advance() {
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
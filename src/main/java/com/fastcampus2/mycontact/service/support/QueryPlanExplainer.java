@@ -0,0 +1,52 @@
+package com.fastcampus2.mycontact.service.support;
+
+import com.fastcampus2.mycontact.domain.dto.QueryPlanDto;
+import com.fastcampus2.mycontact.domain.dto.QueryPlanDto.StatementPlan;
+import com.fastcampus2.mycontact.exception.SqlProfilerDisabledException;
+import com.fastcampus2.mycontact.profiler.CapturedStatement;
+import com.fastcampus2.mycontact.profiler.SqlProfiler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// 쿼리를 실제로 실행해 Hibernate 가 만든 SQL 을 잡아내고, 같은 바인딩 값으로 EXPLAIN 을 돌린다.
+// H2 는 인덱스를 쓰지 못하면 실행 계획에 tableScan 을 표시한다.
+// SqlProfiler 가 꺼져 있으면(mycontact.profiler.enabled=false) 쿼리를 잡을 수 없으므로 SqlProfilerDisabledException 을 던진다.
+@Component
+public class QueryPlanExplainer {
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private ObjectProvider<SqlProfiler> sqlProfiler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public QueryPlanDto explain(Runnable query) {
+        SqlProfiler profiler = sqlProfiler.getIfAvailable();
+        if (profiler == null) {
+            throw new SqlProfilerDisabledException();
+        }
+
+        List<StatementPlan> plans = new ArrayList<>();
+
+        for (CapturedStatement statement : profiler.capture(query)) {
+            if (!statement.getSql().trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                continue;
+            }
+
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + statement.getSql(), String.class, statement.getBinds());
+
+            plans.add(new StatementPlan(statement.getSql(), Arrays.asList(statement.getBinds()), plan,
+                    plan != null && !plan.contains(TABLE_SCAN)));
+        }
+
+        return new QueryPlanDto(plans);
+    }
+}
@@ -0,0 +1,75 @@
+package com.fastcampus2.mycontact.service.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+// 같은 key 에 대한 동시 조회를 하나의 로딩으로 합쳐준다. (single-flight)
+// 먼저 들어온 호출(leader)이 loader 를 실행하고, 그 동안 들어온 호출들은 같은 결과(또는 예외)를 공유한다.
+// 결과는 보관하지 않으므로 로딩이 끝난 뒤 들어온 호출은 다시 loader 를 실행한다.
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            call.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    // 현재 로딩 중인 key 의 수
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                try {
+                    return call.get();
+                } catch (InterruptedException e) {
+                    // leader 의 결과를 기다리는 중에는 중단하지 않고, 끝난 뒤 인터럽트 상태를 복구한다.
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw rethrow(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+
+        throw new CompletionException(cause);
+    }
+}
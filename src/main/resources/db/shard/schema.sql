@@ -0,0 +1,15 @@
+CREATE TABLE IF NOT EXISTS person (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    hobby VARCHAR(255),
+    address VARCHAR(255),
+    year_of_birthday INT,
+    month_of_birthday INT,
+    day_of_birthday INT,
+    job VARCHAR(255),
+    phone_number VARCHAR(255),
+    deleted BOOLEAN DEFAULT FALSE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_person_name ON person(name);
+CREATE INDEX IF NOT EXISTS idx_person_month_of_birthday ON person(month_of_birthday);
@@ -0,0 +1,109 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JSON / CBOR / Smile 의 크기와 인코딩/디코딩 비용 비교 (./gradlew benchmark)
+@Tag("benchmark")
+class PersonCodecBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(PersonCodecBenchmarkTest.class);
+    private static final int PAGE_SIZE = 1_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 500;
+
+    @Test
+    void compareCodecs() throws Exception {
+        Map<String, ObjectMapper> codecs = new LinkedHashMap<>();
+        codecs.put("json", new JsonConfig().objectMapper());
+        codecs.put("cbor", JsonConfig.cborObjectMapper());
+        codecs.put("smile", JsonConfig.smileObjectMapper());
+
+        List<Person> people = people();
+        List<PersonDto> dtos = dtos();
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        log.info(String.format("%-6s %12s %16s %16s", "codec", "page bytes", "encode us/page", "decode us/page"));
+
+        for (Map.Entry<String, ObjectMapper> codec : codecs.entrySet()) {
+            ObjectMapper mapper = codec.getValue();
+            JavaType dtoListType = mapper.getTypeFactory().constructCollectionType(List.class, PersonDto.class);
+            byte[] encodedPeople = mapper.writeValueAsBytes(people);
+            byte[] encodedDtos = mapper.writeValueAsBytes(dtos);
+
+            long encodeNanos = measure(() -> mapper.writeValueAsBytes(people));
+            long decodeNanos = measure(() -> mapper.readValue(encodedDtos, dtoListType));
+
+            sizes.put(codec.getKey(), encodedPeople.length);
+            log.info(String.format("%-6s %12d %16.1f %16.1f", codec.getKey(), encodedPeople.length, encodeNanos / 1_000.0, decodeNanos / 1_000.0));
+
+            List<PersonDto> decoded = mapper.readValue(encodedDtos, dtoListType);
+            assertThat(decoded).isEqualTo(dtos);
+        }
+
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+    }
+
+    private long measure(Codec codec) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            codec.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.run();
+        }
+
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private static List<Person> people() {
+        List<Person> people = new ArrayList<>();
+
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            people.add(Person.builder()
+                    .id(id)
+                    .name("person" + id)
+                    .hobby(id % 2 == 0 ? "reading" : "programming")
+                    .address(id % 3 == 0 ? "서울" : "판교")
+                    .birthday(BirthdayDto.of(LocalDate.of(1960 + (int) (id % 40), (int) (id % 12) + 1, (int) (id % 28) + 1)))
+                    .job(id % 5 == 0 ? "officer" : "programmer")
+                    .phoneNumber("010-" + (1000 + id % 9000) + "-" + (1000 + id % 9000))
+                    .build());
+        }
+
+        return people;
+    }
+
+    private static List<PersonDto> dtos() {
+        List<PersonDto> dtos = new ArrayList<>();
+
+        for (Person person : people()) {
+            dtos.add(PersonDto.of(person.getName(), person.getHobby(), person.getAddress(),
+                    LocalDate.of(person.getBirthday().getYearOfBirthday(), person.getBirthday().getMonthOfBirthday(), person.getBirthday().getDayOfBirthday()),
+                    person.getJob(), person.getPhoneNumber()));
+        }
+
+        return dtos;
+    }
+
+    @FunctionalInterface
+    private interface Codec {
+        void run() throws Exception;
+    }
+}
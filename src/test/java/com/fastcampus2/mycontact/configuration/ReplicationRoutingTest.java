@@ -0,0 +1,137 @@
+package com.fastcampus2.mycontact.configuration;
+
+import com.fastcampus2.mycontact.configuration.replication.H2ReplicaSynchronizer;
+import com.fastcampus2.mycontact.configuration.replication.ReadYourWritesInterceptor;
+import com.fastcampus2.mycontact.configuration.replication.ReplicationContext;
+import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.service.PersonService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.generate-unique-name=true",
+        "mycontact.replication.enabled=true",
+        "mycontact.replication.replica-urls=jdbc:h2:mem:routing-test-replica0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:routing-test-replica1;DB_CLOSE_DELAY=-1",
+        "mycontact.replication.sticky-window=1h",
+        "mycontact.replication.local-sync=true",
+        // 테스트에서는 직접 동기화한다.
+        "mycontact.replication.sync-interval=1h"
+})
+class ReplicationRoutingTest {
+    @Autowired
+    private WebApplicationContext wac;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private H2ReplicaSynchronizer synchronizer;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .build();
+
+        synchronizer.synchronize();
+    }
+
+    @Test
+    void replicaHasInitialData() {
+        assertThat(personService.getPeopleByName("martin")).hasSize(1);
+    }
+
+    @Test
+    void readOnlyTransactionReadsReplica() {
+        personService.put(PersonDto.builder().name("replica-lag").build());
+
+        // 아직 동기화되지 않은 replica 에서 읽는다.
+        assertThat(personService.getPeopleByName("replica-lag")).isEmpty();
+
+        synchronizer.synchronize();
+
+        assertThat(personService.getPeopleByName("replica-lag")).hasSize(1);
+    }
+
+    @Test
+    void writerReadsOwnWrites() throws Exception {
+        mockMvc.perform(post("/api/person")
+                .header(ReadYourWritesInterceptor.CLIENT_ID_HEADER, "writer")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(PersonDto.builder().name("sticky").build())))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/person")
+                .header(ReadYourWritesInterceptor.CLIENT_ID_HEADER, "writer")
+                .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", hasItem("sticky")));
+
+        mockMvc.perform(get("/api/person")
+                .header(ReadYourWritesInterceptor.CLIENT_ID_HEADER, "reader")
+                .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name", not(hasItem("sticky"))));
+    }
+
+    @Test
+    void stickyReadDoesNotJoinReplicaFlight() throws Exception {
+        personService.put(PersonDto.builder().name("flight").build());
+        synchronizer.synchronize();
+        Long id = personService.getPeopleByName("flight").get(0).getId();
+
+        // primary 에만 있는 변경
+        personService.modify(id, "flight-renamed");
+
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            readers.execute(() -> {
+                while (!stop.get()) {
+                    personService.getPerson(id);
+                }
+            });
+        }
+
+        try {
+            ReplicationContext.stickToPrimary();
+
+            for (int i = 0; i < 2_000; i++) {
+                assertThat(personService.getPerson(id).getName()).isEqualTo("flight-renamed");
+            }
+        } finally {
+            ReplicationContext.clear();
+            stop.set(true);
+            readers.shutdown();
+            readers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        // 고정되지 않은 조회는 아직 replica 의 값을 본다.
+        assertThat(personService.getPerson(id).getName()).isEqualTo("flight");
+    }
+}
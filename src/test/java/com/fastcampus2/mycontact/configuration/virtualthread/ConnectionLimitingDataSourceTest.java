@@ -0,0 +1,78 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void beforeEach() {
+        dataSource = new ConnectionLimitingDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void releaseOnClose() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getActiveConnections()).isEqualTo(2);
+
+        first.close();
+        first.close();
+        second.close();
+
+        assertThat(dataSource.getActiveConnections()).isEqualTo(0);
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void timeoutWhenExhausted() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getTimeouts()).isEqualTo(1);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    void releaseWhenTargetFails() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+        assertThat(dataSource.getActiveConnections()).isEqualTo(0);
+    }
+
+    @Test
+    void delegateOtherCalls() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+
+        assertThat(dataSource.getConnection().getAutoCommit()).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 플랫폼 스레드 풀(Tomcat 기본 200 개)과 가상 스레드의 처리량 비교 (./gradlew benchmark, JDK 21 이상)
+// 요청 하나는 다른 시스템 호출을 흉내 낸 대기(REMOTE_MILLIS)와 커넥션 10 개 풀에서의 조회 한 번으로 이루어진다.
+// 플랫폼 스레드는 대기하는 동안 스레드를 잡고 있어 스레드 수가 처리량을 묶고,
+// 가상 스레드는 대기 중에 carrier 를 내놓으므로 커넥션 수와 조회 시간이 처리량을 정한다.
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+    private static final int PLATFORM_THREADS = 200;
+    private static final int CONNECTIONS = 10;
+    private static final int REQUESTS = 10_000;
+    private static final int WARMUP = 1_000;
+    private static final long REMOTE_MILLIS = 20;
+
+    private HikariDataSource pool;
+    private ConnectionLimitingDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:virtual-thread-benchmark;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(CONNECTIONS);
+
+        dataSource = new ConnectionLimitingDataSource(pool, CONNECTIONS, Duration.ofSeconds(30));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS person (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("DELETE FROM person");
+        for (long id = 1; id <= 1_000; id++) {
+            jdbcTemplate.update("INSERT INTO person VALUES (?, ?)", id, "person" + id);
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        pool.close();
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "JDK 21 이상에서만 실행");
+
+        PinningMonitor pinningMonitor = new PinningMonitor(Duration.ofMillis(1));
+        pinningMonitor.afterPropertiesSet();
+
+        try {
+            Result platform = run("platform", () -> Executors.newFixedThreadPool(PLATFORM_THREADS));
+            Result virtual = run("virtual", () -> VirtualThreads.newExecutor("bench-vt-"));
+
+            log.info(String.format("%-9s %10s %10s %10s %10s", "mode", "req/s", "p50 ms", "p99 ms", "max ms"));
+            for (Result result : Arrays.asList(platform, virtual)) {
+                log.info(String.format("%-9s %10.0f %10.1f %10.1f %10.1f", result.mode, result.throughput, result.p50, result.p99, result.max));
+            }
+            log.info("커넥션 최대 대기 {}ms, 시간 초과 {} 건, 가상 스레드 고정 {} 건 {}", dataSource.getMaxWait().toMillis(), dataSource.getTimeouts(),
+                    pinningMonitor.getPinned(), pinningMonitor.getSites());
+
+            assertThat(dataSource.getTimeouts()).isZero();
+            assertThat(virtual.throughput).isGreaterThan(platform.throughput);
+        } finally {
+            pinningMonitor.destroy();
+        }
+    }
+
+    private Result run(String mode, ExecutorFactory factory) throws Exception {
+        execute(factory, WARMUP);
+
+        long start = System.nanoTime();
+        long[] latencies = execute(factory, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(mode, REQUESTS / (elapsed / 1e9), millis(latencies[latencies.length / 2]),
+                millis(latencies[latencies.length * 99 / 100]), millis(latencies[latencies.length - 1]));
+    }
+
+    // 모든 요청을 한꺼번에 넣고, 요청마다 넣은 시각부터 끝난 시각까지를 잰다. (대기열에서 기다린 시간 포함)
+    private long[] execute(ExecutorFactory factory, int requests) throws Exception {
+        ExecutorService executor = factory.create();
+        List<Future<Long>> futures = new ArrayList<>(requests);
+
+        try {
+            for (int i = 0; i < requests; i++) {
+                long id = i % 1_000 + 1;
+                long submitted = System.nanoTime();
+
+                futures.add(executor.submit(() -> {
+                    Thread.sleep(REMOTE_MILLIS);
+                    jdbcTemplate.queryForObject("SELECT name FROM person WHERE id = ?", String.class, id);
+
+                    return System.nanoTime() - submitted;
+                }));
+            }
+
+            long[] latencies = new long[requests];
+            for (int i = 0; i < requests; i++) {
+                latencies[i] = futures.get(i).get();
+            }
+
+            return latencies;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface ExecutorFactory {
+        ExecutorService create();
+    }
+
+    private static class Result {
+        private final String mode;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final double max;
+
+        private Result(String mode, double throughput, double p50, double p99, double max) {
+            this.mode = mode;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+    }
+}
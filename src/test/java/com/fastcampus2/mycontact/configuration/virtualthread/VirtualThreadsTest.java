@@ -0,0 +1,40 @@
+package com.fastcampus2.mycontact.configuration.virtualthread;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsTest {
+    @Test
+    void platformThreadIsNotVirtual() {
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread())).isFalse();
+    }
+
+    @Test
+    void runOnVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "JDK 21 이상에서만 실행");
+
+        ExecutorService executor = VirtualThreads.newExecutor("test-vt-");
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get();
+
+            assertThat(VirtualThreads.isVirtual(thread)).isTrue();
+            assertThat(thread.getName()).startsWith("test-vt-");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void unsupportedRuntime() {
+        assumeFalse(VirtualThreads.isSupported());
+
+        assertThatThrownBy(() -> VirtualThreads.newExecutor("test-vt-"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto.Status;
+import com.fastcampus2.mycontact.service.birthday.BirthdayDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 발송은 별도 스레드에서 커밋된 데이터를 읽으므로 테스트 트랜잭션으로 감싸지 않는다. (별도 DB 를 쓴다)
+@SpringBootTest(properties = {
+        "spring.datasource.generate-unique-name=true",
+        "mycontact.birthday.enabled=true",
+        "mycontact.birthday.sink=FILE"
+})
+class BirthdayControllerTest {
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void birthdayFiles(DynamicPropertyRegistry registry) {
+        registry.add("mycontact.birthday.checkpoint-directory", () -> directory.toString());
+        registry.add("mycontact.birthday.sink-file", () -> directory.resolve("greetings.log").toString());
+    }
+
+    @Autowired
+    private BirthdayDispatcher birthdayDispatcher;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .alwaysDo(print())
+                .build();
+    }
+
+    @Test
+    void dispatch() throws Exception {
+        mockMvc.perform(post("/internal/birthday-dispatch").param("date", "2026-07-10"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.date").value("2026-07-10"));
+
+        for (int i = 0; i < 100 && birthdayDispatcher.getReport().getStatus() == Status.RUNNING; i++) {
+            Thread.sleep(50);
+        }
+
+        mockMvc.perform(get("/internal/birthday-dispatch"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DONE"))
+                .andExpect(jsonPath("$.matched").value(1))
+                .andExpect(jsonPath("$.sent").value(1));
+
+        assertThat(Files.readAllLines(directory.resolve("greetings.log"))).containsExactly("2026-07-10:6\ttony\t010-2222-5555");
+    }
+
+    @Test
+    void dispatchFutureDate() throws Exception {
+        mockMvc.perform(post("/internal/birthday-dispatch").param("date", LocalDate.now().plusDays(2).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+    }
+}
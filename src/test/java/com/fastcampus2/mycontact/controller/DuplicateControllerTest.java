@@ -0,0 +1,113 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.MergeDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Transactional
+class DuplicateControllerTest {
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .alwaysDo(print())
+                .build();
+    }
+
+    @Test
+    void getReport() throws Exception {
+        mockMvc.perform(get("/api/person/duplicates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").exists());
+    }
+
+    @Test
+    void merge() throws Exception {
+        Person duplicate = personRepository.saveAndFlush(Person.builder()
+                .name("Martin")
+                .phoneNumber("010-1111-2222")
+                .job("programmer")
+                .build());
+
+        mockMvc.perform(post("/api/person/duplicates/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeDto(1L, Arrays.asList(duplicate.getId())))))
+                .andExpect(status().isOk());
+
+        Person survivor = personRepository.findById(1L).get();
+        assertThat(survivor.getName()).isEqualTo("martin");
+        assertThat(survivor.getPhoneNumber()).isEqualTo("010-1111-2222");
+        assertThat(survivor.getJob()).isEqualTo("programmer");
+        assertThat(survivor.getBirthday().getMonthOfBirthday()).isEqualTo(8);
+
+        assertThat(personRepository.findByName("Martin")).isEmpty();
+    }
+
+    @Test
+    void mergeKeepsSurvivorValues() throws Exception {
+        Person duplicate = personRepository.saveAndFlush(Person.builder()
+                .name("tony")
+                .phoneNumber("010-9999-9999")
+                .hobby("drawing")
+                .build());
+
+        mockMvc.perform(post("/api/person/duplicates/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeDto(6L, Arrays.asList(duplicate.getId())))))
+                .andExpect(status().isOk());
+
+        Person survivor = personRepository.findById(6L).get();
+        assertThat(survivor.getPhoneNumber()).isEqualTo("010-2222-5555");
+        assertThat(survivor.getHobby()).isEqualTo("reading");
+    }
+
+    @Test
+    void mergeWithoutDuplicates() throws Exception {
+        mockMvc.perform(post("/api/person/duplicates/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeDto(1L, Collections.emptyList()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void mergeUnknownDuplicate() throws Exception {
+        mockMvc.perform(post("/api/person/duplicates/merge")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new MergeDto(1L, Arrays.asList(999L)))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(personRepository.findById(1L).get().isDeleted()).isFalse();
+    }
+}
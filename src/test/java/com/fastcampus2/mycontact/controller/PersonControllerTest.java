@@ -1,11 +1,15 @@
 package com.fastcampus2.mycontact.controller;
 
+import com.fastcampus2.mycontact.configuration.JsonConfig;
 import com.fastcampus2.mycontact.domain.Person;
 import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
 import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.domain.dto.PersonQueryDto;
 import com.fastcampus2.mycontact.exception.handler.GlobalExceptionHandler;
 import com.fastcampus2.mycontact.repository.PersonRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.aspectj.weaver.patterns.PerObject;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +21,17 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.util.NestedServletException;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -34,6 +41,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @Transactional
 class PersonControllerTest {
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
     @Autowired
     private PersonRepository personRepository;
 
@@ -81,6 +91,165 @@ class PersonControllerTest {
                 .andExpect(jsonPath("$.birthdayToday").isBoolean());
     }
 
+    @Test
+    void getPersonAsCbor() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/person/1")
+                .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn();
+
+        JsonNode person = JsonConfig.cborObjectMapper().readTree(result.getResponse().getContentAsByteArray());
+
+        assertAll(
+                () -> assertThat(person.get("name").asText()).isEqualTo("martin"),
+                () -> assertThat(person.get("birthday").asText()).isEqualTo("1991-08-15")
+        );
+    }
+
+    @Test
+    void getAllAsSmile() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/person")
+                .param("page", "1")
+                .param("size", "2")
+                .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        JsonNode page = JsonConfig.smileObjectMapper().readTree(result.getResponse().getContentAsByteArray());
+
+        assertThat(page.get("totalElements").asInt()).isEqualTo(6);
+        assertThat(page.get("content").get(0).get("name").asText()).isEqualTo("dennis");
+    }
+
+    @Test
+    void postPersonAsCbor() throws Exception {
+        PersonDto dto = PersonDto.builder()
+                .name("martin")
+                .birthday(LocalDate.of(1991, 8, 15))
+                .job("programmer")
+                .build();
+
+        mockMvc.perform(post("/api/person")
+                .contentType(CBOR)
+                .content(JsonConfig.cborObjectMapper().writeValueAsBytes(dto)))
+                .andExpect(status().isCreated());
+
+        Person result = personRepository.findAll(Sort.by(Sort.Direction.DESC, "id")).get(0);
+
+        assertAll(
+                () -> assertThat(result.getName()).isEqualTo("martin"),
+                () -> assertThat(result.getBirthday()).isEqualTo(BirthdayDto.of(LocalDate.of(1991, 8, 15))),
+                () -> assertThat(result.getJob()).isEqualTo("programmer")
+        );
+    }
+
+    @Test
+    void modifyPersonAsSmile() throws Exception {
+        PersonDto dto = PersonDto.builder()
+                .name("martin")
+                .hobby("programming")
+                .build();
+
+        mockMvc.perform(put("/api/person/1")
+                .contentType(SMILE)
+                .content(JsonConfig.smileObjectMapper().writeValueAsBytes(dto)))
+                .andExpect(status().isOk());
+
+        assertThat(personRepository.findById(1L).get().getHobby()).isEqualTo("programming");
+    }
+
+    @Test
+    void getStats() throws Exception {
+        mockMvc.perform(get("/api/person/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(6))
+                .andExpect(jsonPath("$.byBirthMonth['8']").value(2))
+                .andExpect(jsonPath("$.byBirthMonth['7']").value(2))
+                .andExpect(jsonPath("$.byJob.officer").value(1))
+                .andExpect(jsonPath("$.byCity['서울']").value(1));
+    }
+
+    @Test
+    void getPeopleByBirthday() throws Exception {
+        mockMvc.perform(get("/api/person/birthday")
+                .param("month", "8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].name").value("martin"))
+                .andExpect(jsonPath("$.[1].name").value("sophia"));
+
+        mockMvc.perform(get("/api/person/birthday")
+                .param("month", "7")
+                .param("day", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$.[0].name").value("tony"));
+    }
+
+    @Test
+    void queryByJobAndBirthYear() throws Exception {
+        mockMvc.perform(get("/api/person/query")
+                .param("job", "officer")
+                .param("birthYearFrom", "1990")
+                .param("birthYearTo", "1991"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content.[0].name").value("tony"));
+    }
+
+    @Test
+    void queryByBirthYearRange() throws Exception {
+        mockMvc.perform(get("/api/person/query")
+                .param("birthYearFrom", "1991")
+                .param("birthYearTo", "1992")
+                .param("sort", "id"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(3))
+                .andExpect(jsonPath("$.content.[0].name").value("martin"))
+                .andExpect(jsonPath("$.content.[1].name").value("david"))
+                .andExpect(jsonPath("$.content.[2].name").value("tony"));
+    }
+
+    @Test
+    void queryByCityPrefixAndPhone() throws Exception {
+        mockMvc.perform(get("/api/person/query")
+                .param("cityPrefix", "서")
+                .param("hasPhone", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content.[0].name").value("tony"));
+
+        mockMvc.perform(get("/api/person/query")
+                .param("hasPhone", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(5));
+    }
+
+    @Test
+    void queryCityPrefixIsNotWildcard() throws Exception {
+        mockMvc.perform(get("/api/person/query")
+                .param("cityPrefix", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(0));
+    }
+
+    @Test
+    void explainQuery() throws Exception {
+        mockMvc.perform(get("/api/person/query/explain")
+                .param("job", "officer")
+                .param("birthYearFrom", "1990"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statements.[0].indexUsed").value(true))
+                .andExpect(jsonPath("$.statements.[0].plan").value(containsString("IDX_PERSON_")));
+
+        mockMvc.perform(get("/api/person/query/explain")
+                .param("hasPhone", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statements.[0].indexUsed").value(false));
+    }
+
     @Test
     void postPerson() throws Exception {
         PersonDto dto = PersonDto.builder()
@@ -221,6 +390,68 @@ class PersonControllerTest {
         assertTrue(personRepository.findPeopleDeleted().stream().anyMatch(person -> person.getId().equals(1L)));
     }
 
+    @Test
+    void getHistoryWithoutJournal() throws Exception {
+        mockMvc.perform(get("/api/person/1/history"))
+                .andExpect(status().isNotImplemented())
+                .andExpect(jsonPath("$.code").value(501));
+    }
+
+    @Test
+    void bulkModify() throws Exception {
+        BulkPersonDto dto = BulkPersonDto.builder()
+                .ids(Arrays.asList(1L, 2L, 7L, 99L))
+                .job("teacher")
+                .build();
+
+        mockMvc.perform(patch("/api/person/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(4))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results.[0].status").value("OK"))
+                .andExpect(jsonPath("$.results.[1].status").value("OK"))
+                .andExpect(jsonPath("$.results.[2].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results.[3].status").value("NOT_FOUND"));
+
+        assertAll(
+                () -> assertThat(personRepository.findById(1L).get().getJob()).isEqualTo("teacher"),
+                () -> assertThat(personRepository.findById(2L).get().getJob()).isEqualTo("teacher"),
+                () -> assertThat(personRepository.findById(1L).get().getHobby()).isNull(),
+                () -> assertThat(personRepository.findById(6L).get().getJob()).isEqualTo("officer")
+        );
+    }
+
+    @Test
+    void bulkDeleteByFilter() throws Exception {
+        BulkPersonDto dto = BulkPersonDto.builder()
+                .filter(PersonQueryDto.builder().birthYearFrom(1991).birthYearTo(1991).build())
+                .build();
+
+        mockMvc.perform(delete("/api/person/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.results.[0].id").value(1))
+                .andExpect(jsonPath("$.results.[1].id").value(6));
+
+        assertThat(personRepository.findByName("martin")).isEmpty();
+        assertThat(personRepository.findByName("tony")).isEmpty();
+        assertThat(personRepository.findPeopleDeleted()).hasSize(3);
+    }
+
+    @Test
+    void bulkDeleteWithoutTarget() throws Exception {
+        mockMvc.perform(delete("/api/person/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(BulkPersonDto.builder().filter(new PersonQueryDto()).build())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("일괄 처리 대상(ids 또는 filter)이 없습니다."));
+    }
+
     // PersonDto 를 JSON 으로 Serialized 해준다.
     private String toJsonString(PersonDto personDto) throws JsonProcessingException {
         return objectMapper.writeValueAsString(personDto);
@@ -0,0 +1,97 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 변경 알림은 커밋된 뒤에 오므로 테스트 트랜잭션으로 감싸지 않는다. (별도 DB 를 쓴다)
+@SpringBootTest(properties = {
+        "spring.datasource.generate-unique-name=true",
+        "mycontact.journal.enabled=true",
+        "mycontact.journal.durability=GROUP"
+})
+class PersonHistoryControllerTest {
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) {
+        registry.add("mycontact.journal.directory", () -> directory.toString());
+    }
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .alwaysDo(print())
+                .build();
+    }
+
+    @Test
+    void getHistory() throws Exception {
+        mockMvc.perform(post("/api/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(PersonDto.builder().name("journal").hobby("reading").build())))
+                .andExpect(status().isCreated());
+
+        Long id = personRepository.findByName("journal").get(0).getId();
+
+        mockMvc.perform(put("/api/person/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(PersonDto.builder().name("journal").hobby("programming").build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/person/" + id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/person/" + id + "/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].type").value("PUT"))
+                .andExpect(jsonPath("$[0].before").value(nullValue()))
+                .andExpect(jsonPath("$[0].after.hobby").value("reading"))
+                .andExpect(jsonPath("$[1].type").value("MODIFY"))
+                .andExpect(jsonPath("$[1].before.hobby").value("reading"))
+                .andExpect(jsonPath("$[1].after.hobby").value("programming"))
+                .andExpect(jsonPath("$[2].type").value("DELETE"))
+                .andExpect(jsonPath("$[2].after.deleted").value(true));
+    }
+
+    @Test
+    void getHistoryOfUnchangedPerson() throws Exception {
+        mockMvc.perform(get("/api/person/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
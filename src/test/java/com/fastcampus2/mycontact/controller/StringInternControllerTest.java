@@ -0,0 +1,76 @@
+package com.fastcampus2.mycontact.controller;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Transactional
+class StringInternControllerTest {
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .build();
+    }
+
+    @Test
+    void loadedPeopleShareStrings() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            personRepository.save(Person.builder().name("intern" + i).job("designer").hobby("climbing").build());
+        }
+        personRepository.flush();
+        entityManager.clear();
+
+        List<Person> people = personRepository.findAll();
+        List<Person> designers = personRepository.findByName("intern3");
+        designers.addAll(personRepository.findByName("intern4"));
+
+        assertThat(designers.get(0).getJob()).isSameAs(designers.get(1).getJob());
+        assertThat(people).isNotEmpty();
+
+        mockMvc.perform(get("/internal/string-intern"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.fields[0].field").value("job"))
+                .andExpect(jsonPath("$.fields[0].hits").value(greaterThan(0)))
+                .andExpect(jsonPath("$.savedBytes").value(greaterThan(0)));
+    }
+
+    @Test
+    void remoteRequestIsForbidden() throws Exception {
+        mockMvc.perform(get("/internal/string-intern").with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                }))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.code").value(403));
+    }
+}
@@ -0,0 +1,85 @@
+package com.fastcampus2.mycontact.domain.intern;
+
+import com.fastcampus2.mycontact.domain.dto.StringInternReportDto.FieldReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringInternerTest {
+    @Test
+    void shareAfterAdmission() {
+        StringInterner interner = new StringInterner("job", 100, 64, 2);
+
+        String first = interner.intern(new String("programmer"));
+        String second = interner.intern(new String("programmer"));
+        String third = interner.intern(new String("programmer"));
+
+        // 두 번째에 사전에 들어가고, 세 번째부터 같은 String 을 돌려준다.
+        assertThat(first).isNotSameAs(second);
+        assertThat(third).isSameAs(second);
+
+        FieldReport report = interner.report();
+        assertThat(report.getEntries()).isEqualTo(1);
+        assertThat(report.getHits()).isEqualTo(1);
+        assertThat(report.getRejectedRare()).isEqualTo(1);
+        assertThat(report.getSavedBytes()).isEqualTo(StringInterner.sizeOf("programmer"));
+    }
+
+    @Test
+    void rejectLongValues() {
+        StringInterner interner = new StringInterner("address", 100, 8, 1);
+
+        String address = "서울 강남구 테헤란로 1";
+        interner.intern(address);
+        interner.intern(address);
+
+        assertThat(interner.report().getEntries()).isZero();
+        assertThat(interner.report().getRejectedTooLong()).isEqualTo(2);
+    }
+
+    @Test
+    void boundedByMaxEntries() {
+        StringInterner interner = new StringInterner("hobby", 10, 64, 1);
+
+        IntStream.range(0, 1_000).forEach(i -> interner.intern("hobby" + i));
+
+        assertThat(interner.report().getEntries()).isEqualTo(10);
+        assertThat(interner.report().getRejectedFull()).isEqualTo(990);
+    }
+
+    @Test
+    void highCardinalityValuesAreNotAdmitted() {
+        StringInterner interner = new StringInterner("hobby", 10_000, 64, 2);
+
+        IntStream.range(0, 5_000).forEach(i -> interner.intern("unique" + i));
+
+        // 한 번씩만 나온 값은 sketch 의 충돌로 일부만 들어간다.
+        assertThat(interner.report().getEntries()).isLessThan(100);
+    }
+
+    @Test
+    void concurrentIntern() {
+        StringInterner interner = new StringInterner("job", 100, 64, 2);
+
+        List<String> interned = IntStream.range(0, 10_000).parallel()
+                .mapToObj(i -> interner.intern(new String("job" + i % 5)))
+                .collect(Collectors.toList());
+
+        assertThat(interner.report().getEntries()).isEqualTo(5);
+        for (int i = 0; i < 5; i++) {
+            String canonical = interner.intern("job" + i);
+            assertThat(interned.stream().filter(canonical::equals).filter(value -> value == canonical).count()).isGreaterThan(1_000);
+        }
+    }
+
+    @Test
+    void sizeOf() {
+        assertThat(StringInterner.sizeOf("")).isEqualTo(40);
+        assertThat(StringInterner.sizeOf("programmer")).isEqualTo(24 + 32);
+        assertThat(StringInterner.sizeOf("서울")).isEqualTo(24 + 24);
+    }
+}
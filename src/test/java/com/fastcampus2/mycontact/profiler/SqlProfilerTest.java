@@ -0,0 +1,118 @@
+package com.fastcampus2.mycontact.profiler;
+
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto;
+import com.fastcampus2.mycontact.profiler.dto.SqlProfileReportDto.EndpointSummary;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Transactional
+class SqlProfilerTest {
+    @Autowired
+    private SqlProfiler sqlProfiler;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter;
+
+    @Autowired
+    private WebApplicationContext wac;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(wac)
+                .addFilters(sqlProfilingFilter.getFilter())
+                .build();
+
+        sqlProfiler.reset();
+    }
+
+    @Test
+    void shapeOf() {
+        assertThat(SqlShapes.shapeOf("select * from person where id = 10 and name = 'martin'"))
+                .isEqualTo("select * from person where id = ? and name = ?");
+        assertThat(SqlShapes.shapeOf("select * from person\n where id in (?, ?,  ?)"))
+                .isEqualTo("select * from person where id in (?)");
+        assertThat(SqlShapes.shapeOf("select person0_.id as id1_0_ from person person0_"))
+                .isEqualTo("select person0_.id as id1_0_ from person person0_");
+    }
+
+    @Test
+    void repeatedQueriesAreFlaggedAsNPlusOne() {
+        sqlProfiler.begin();
+        for (long id = 1; id <= 6; id++) {
+            personRepository.findByName("martin" + id);
+        }
+        sqlProfiler.end("GET /test", "/test");
+
+        SqlProfileReportDto report = sqlProfiler.top(10);
+
+        assertThat(report.getFlagged()).hasSize(1);
+        assertThat(report.getFlagged().get(0).getReason()).isEqualTo("N+1");
+        assertThat(report.getFlagged().get(0).getRepeated()).isEqualTo(6);
+        assertThat(report.getEndpoints().get(0).getStatements()).isEqualTo(6);
+    }
+
+    @Test
+    void fewQueriesAreNotFlagged() {
+        sqlProfiler.begin();
+        personRepository.findByName("martin");
+        sqlProfiler.end("GET /test", "/test");
+
+        assertThat(sqlProfiler.top(10).getFlagged()).isEmpty();
+    }
+
+    @Test
+    void statementsAreTimedByShape() {
+        personRepository.findByName("martin");
+        personRepository.findByName("tony");
+
+        SqlProfileReportDto report = sqlProfiler.top(10);
+
+        assertThat(report.getStatements()).hasSize(1);
+        assertThat(report.getStatements().get(0).getExecutions()).isEqualTo(2);
+        assertThat(report.getStatements().get(0).getShape()).contains("person0_.name=?");
+    }
+
+    @Test
+    void reportAttributesStatementsToPersonControllerRequests() throws Exception {
+        mockMvc.perform(get("/api/person/1"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/internal/sql-profile"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endpoints[*].endpoint", hasItem("GET /api/person/{id}")))
+                .andExpect(jsonPath("$.endpoints[0].requests").value(1));
+    }
+
+    @Test
+    void unmatchedRequestsShareOneEndpoint() throws Exception {
+        mockMvc.perform(get("/no-such-page/1"));
+        mockMvc.perform(get("/no-such-page/2"));
+
+        // 정적 리소스 매핑(/**)에 걸리면 그 패턴으로, 아니면 UNMATCHED 로 묶인다.
+        assertThat(sqlProfiler.top(10).getEndpoints())
+                .extracting(EndpointSummary::getEndpoint)
+                .hasSize(1)
+                .noneMatch(endpoint -> endpoint.contains("no-such-page"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.fastcampus2.mycontact.profiler.jfr;
+
+import com.fastcampus2.mycontact.profiler.jfr.JfrOperationAnalyzer.OperationSummary;
+import com.fastcampus2.mycontact.service.PersonService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@SpringBootTest
+class PersonOperationEventTest {
+    @Autowired
+    private PersonService personService;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsServiceAndRepositoryOperations() throws Exception {
+        Path file = dir.resolve("recording.jfr");
+
+        try (Recording recording = new Recording(bundledConfiguration())) {
+            recording.start();
+
+            personService.getPerson(1L);
+            personService.getAll(PageRequest.of(0, 2));
+            personService.getStats();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<OperationSummary> summaries = JfrOperationAnalyzer.analyze(file);
+
+        assertAll(
+                () -> assertThat(find(summaries, "PersonService.getPerson").getCacheHits()).isEqualTo(0),
+                () -> assertThat(find(summaries, "PersonService.getPerson").getRows()).isEqualTo(1),
+                () -> assertThat(find(summaries, "PersonRepository.findById").getCount()).isEqualTo(1),
+                () -> assertThat(find(summaries, "PersonService.getAll").getRows()).isEqualTo(2),
+                // 통계는 메모리 카운터에서 읽는다.
+                () -> assertThat(find(summaries, "PersonService.getStats").getCacheHits()).isEqualTo(1),
+                () -> assertThat(JfrOperationAnalyzer.format(summaries)).contains("PersonService.getPerson")
+        );
+    }
+
+    private static Configuration bundledConfiguration() throws Exception {
+        try (Reader reader = new InputStreamReader(
+                PersonOperationEventTest.class.getResourceAsStream("/jfr/mycontact.jfc"), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    private static OperationSummary find(List<OperationSummary> summaries, String operation) {
+        return summaries.stream()
+                .filter(summary -> summary.getOperation().equals(operation))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(operation + " 이벤트가 없습니다."));
+    }
+}
@@ -0,0 +1,206 @@
+package com.fastcampus2.mycontact.repository.shard;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.exception.PersonNotFoundException;
+import com.fastcampus2.mycontact.service.support.PageMerger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedPersonRepositoryTest {
+    private static final String[] NAMES = {"martin", "david", "dennis", "sophia", "benny", "tony", "andrew", "james"};
+
+    private final List<DataSource> dataSources = new ArrayList<>();
+
+    private ShardedPersonRepository repository;
+
+    @BeforeEach
+    void beforeEach() {
+        repository = new ShardedPersonRepository(newShards(3));
+
+        for (int i = 0; i < 40; i++) {
+            repository.insert(Person.builder()
+                    .name(NAMES[i % NAMES.length])
+                    .birthday(BirthdayDto.of(LocalDate.of(1990 + i % 10, i % 12 + 1, 1)))
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    void insertRoutesToOwningShard() {
+        for (long id = 1; id <= 40; id++) {
+            for (int shard = 0; shard < 3; shard++) {
+                Long count = new JdbcTemplate(dataSources.get(shard)).queryForObject("select count(*) from person where id = ?", Long.class, id);
+
+                assertThat(count).isEqualTo(shard == repository.shardOf(id) ? 1L : 0L);
+            }
+        }
+    }
+
+    @Test
+    void rowsAreSpreadOverAllShards() {
+        for (DataSource dataSource : dataSources) {
+            assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from person", Long.class)).isGreaterThan(0L);
+        }
+    }
+
+    @Test
+    void findById() {
+        Person person = repository.findById(1L).get();
+
+        assertAll(
+                () -> assertThat(person.getName()).isEqualTo("martin"),
+                () -> assertThat(person.getBirthday()).isEqualTo(BirthdayDto.of(LocalDate.of(1990, 1, 1)))
+        );
+    }
+
+    @Test
+    void updateOnOwningShard() {
+        repository.update(5L, person -> person.setJob("programmer"));
+
+        assertThat(repository.findById(5L).get().getJob()).isEqualTo("programmer");
+    }
+
+    @Test
+    void updateIfPersonNotFound() {
+        assertThrows(PersonNotFoundException.class, () -> repository.update(100L, person -> person.setJob("programmer")));
+    }
+
+    @Test
+    void deletedPersonIsHidden() {
+        repository.update(1L, person -> person.setDeleted(true));
+
+        assertThat(repository.findById(1L)).isEmpty();
+        assertThat(repository.findByName("martin")).extracting(Person::getId).doesNotContain(1L);
+    }
+
+    @Test
+    void findByNameGathersAllShards() {
+        List<Person> people = repository.findByName("martin");
+
+        assertThat(people).extracting(Person::getId).containsExactly(1L, 9L, 17L, 25L, 33L);
+    }
+
+    @Test
+    void findByMonthOfBirthday() {
+        List<Person> people = repository.findByMonthOfBirthday(1);
+
+        assertThat(people).extracting(Person::getId).containsExactly(1L, 13L, 25L, 37L);
+    }
+
+    @Test
+    void countsAreMergedAcrossShards() {
+        repository.update(1L, person -> person.setDeleted(true));
+
+        Map<Integer, Long> byMonth = repository.countByMonthOfBirthday().stream()
+                .collect(Collectors.toMap(row -> ((Number) row[0]).intValue(), row -> (Long) row[1]));
+
+        assertAll(
+                () -> assertThat(repository.count()).isEqualTo(39L),
+                () -> assertThat(byMonth).hasSize(12).containsEntry(1, 3L).containsEntry(2, 4L).containsEntry(12, 3L),
+                () -> assertThat(repository.countByYearOfBirthday()).hasSize(10)
+        );
+    }
+
+    @Test
+    void mergedPagesMatchSingleDatabaseOrder() {
+        Sort sort = Sort.by(Sort.Order.asc("name"), Sort.Order.desc("birthday.yearOfBirthday"));
+        List<Long> expected = IntStream.rangeClosed(1, 40)
+                .mapToObj(id -> repository.findById((long) id).get())
+                .sorted(repository.comparator(sort))
+                .map(Person::getId)
+                .collect(Collectors.toList());
+
+        List<Long> merged = new ArrayList<>();
+        for (int page = 0; page < 4; page++) {
+            Page<Person> result = mergedPage(PageRequest.of(page, 12, sort));
+
+            assertThat(result.getTotalElements()).isEqualTo(40);
+            merged.addAll(result.getContent().stream().map(Person::getId).collect(Collectors.toList()));
+        }
+
+        assertThat(merged).isEqualTo(expected);
+    }
+
+    @Test
+    void rebalanceAfterAddingShard() throws Exception {
+        List<DataSource> grown = new ArrayList<>(dataSources);
+        grown.addAll(newShards(1));
+
+        ShardedPersonRepository resized = new ShardedPersonRepository(grown);
+        int moved = new ShardRebalancer(resized).rebalance();
+
+        assertThat(moved).isGreaterThan(0);
+        for (long id = 1; id <= 40; id++) {
+            assertThat(resized.findById(id)).isPresent();
+        }
+        assertThat(new ShardRebalancer(resized).rebalance()).isEqualTo(0);
+
+        resized.close();
+    }
+
+    @Test
+    void rebalanceKeepsRowWrittenAfterResize() throws Exception {
+        List<DataSource> grown = new ArrayList<>(dataSources);
+        grown.addAll(newShards(1));
+
+        ShardedPersonRepository resized = new ShardedPersonRepository(grown);
+        long id = LongStream.rangeClosed(1, 40)
+                .filter(candidate -> resized.shardOf(candidate) != repository.shardOf(candidate))
+                .findFirst()
+                .getAsLong();
+        Person stale = repository.findById(id).get();
+        ShardedPersonRepository.insert(resized.getShards().get(resized.shardOf(id)), stale.toBuilder().name("renamed").build());
+
+        new ShardRebalancer(resized).rebalance();
+
+        assertThat(resized.findById(id).get().getName()).isEqualTo("renamed");
+        assertThat(new JdbcTemplate(dataSources.get(repository.shardOf(id)))
+                .queryForObject("select count(*) from person where id = ?", Long.class, id)).isZero();
+
+        resized.close();
+    }
+
+    private Page<Person> mergedPage(Pageable pageable) {
+        Pageable head = PageRequest.of(0, (int) pageable.getOffset() + pageable.getPageSize(), pageable.getSort());
+
+        return PageMerger.merge(repository.findAllOnEachShard(head), pageable, repository.comparator(pageable.getSort()));
+    }
+
+    private List<DataSource> newShards(int count) {
+        List<DataSource> shards = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+            shards.add(dataSource);
+            dataSources.add(dataSource);
+        }
+
+        return shards;
+    }
+}
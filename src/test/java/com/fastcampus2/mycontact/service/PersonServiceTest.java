@@ -2,7 +2,10 @@ package com.fastcampus2.mycontact.service;
 
 import com.fastcampus2.mycontact.domain.Person;
 import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.BulkPersonDto;
+import com.fastcampus2.mycontact.domain.dto.BulkResultDto;
 import com.fastcampus2.mycontact.domain.dto.PersonDto;
+import com.fastcampus2.mycontact.exception.InvalidBulkRequestException;
 import com.fastcampus2.mycontact.exception.PersonNotFoundException;
 import com.fastcampus2.mycontact.exception.RenameNotPermittedException;
 import com.fastcampus2.mycontact.repository.PersonRepository;
@@ -13,14 +16,21 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +42,10 @@ class PersonServiceTest {
     private PersonService personService;
     @Mock
     private PersonRepository personRepository;
+    @Mock
+    private PersonChangeListener personChangeListener;
+    @Mock
+    private TransactionTemplate transactionTemplate;
 
     @Test
     void getAll() {
@@ -81,6 +95,69 @@ class PersonServiceTest {
         assertThat(person).isNull();
     }
 
+    @Test
+    void getPersonConcurrentlyLoadsOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(personRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return Optional.of(Person.builder().name("martin").build());
+                });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Person>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> personService.getPerson(1L)));
+            }
+
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<Person> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getName()).isEqualTo("martin");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(personRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getPersonAfterWriteDoesNotJoinEarlierLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        when(personRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    if (calls.incrementAndGet() == 1) {
+                        loading.countDown();
+                        release.await(5, TimeUnit.SECONDS);
+                        return Optional.of(Person.builder().name("martin").build());
+                    }
+
+                    return Optional.of(Person.builder().name("daniel").build());
+                });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Person> earlier = executor.submit(() -> personService.getPerson(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            personService.modify(1L, "daniel");
+
+            assertThat(personService.getPerson(1L).getName()).isEqualTo("daniel");
+
+            release.countDown();
+            assertThat(earlier.get(5, TimeUnit.SECONDS).getName()).isEqualTo("martin");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(personRepository, times(3)).findById(1L);
+    }
+
     private PersonDto mockPersonDto() {
         return PersonDto.of("martin", "programming", "판교", LocalDate.now(), "programmer", "010-1111-2222");
     }
@@ -92,6 +169,15 @@ class PersonServiceTest {
         verify(personRepository, times(1)).save(argThat(new IsPersonWillBeInserted()));
     }
 
+    @Test
+    void putNotifiesListeners() {
+        ReflectionTestUtils.setField(personService, "personChangeListeners", Lists.newArrayList(personChangeListener));
+
+        personService.put(mockPersonDto());
+
+        verify(personChangeListener, times(1)).onPut(argThat(new IsPersonWillBeInserted()));
+    }
+
     private static class IsPersonWillBeInserted implements ArgumentMatcher<Person> {
         @Override
         public boolean matches(Person person) {
@@ -189,6 +275,82 @@ class PersonServiceTest {
         verify(personRepository, times(1)).save(argThat(new IsPersonWillBeDeleted()));
     }
 
+    @Test
+    void deleteNotifiesListeners() {
+        ReflectionTestUtils.setField(personService, "personChangeListeners", Lists.newArrayList(personChangeListener));
+        when(personRepository.findById(1L))
+                .thenReturn(Optional.of(Person.builder().name("martin").build()));
+
+        personService.delete(1L);
+
+        verify(personChangeListener, times(1)).onDelete(argThat(person -> !person.isDeleted()));
+        verify(personChangeListener, never()).onModify(any(), any());
+    }
+
+    @Test
+    void modifyNotifiesListenersWithBeforeAndAfter() {
+        ReflectionTestUtils.setField(personService, "personChangeListeners", Lists.newArrayList(personChangeListener));
+        when(personRepository.findById(1L))
+                .thenReturn(Optional.of(Person.builder().name("martin").build()));
+
+        personService.modify(1L, mockPersonDto());
+
+        verify(personChangeListener, times(1)).onModify(argThat(before -> before.getHobby() == null), argThat(new IsPersonWillBeUpdated()));
+    }
+
+    @Test
+    void bulkModifyNotifiesListenersPerPerson() {
+        ReflectionTestUtils.setField(personService, "personChangeListeners", Lists.newArrayList(personChangeListener));
+        runTransactionCallbacks();
+        when(personRepository.findAllByIdForUpdate(Arrays.asList(1L, 2L)))
+                .thenReturn(Lists.newArrayList(Person.builder().id(1L).name("martin").job("programmer").build()));
+
+        BulkResultDto result = personService.bulkModify(BulkPersonDto.builder().ids(Arrays.asList(1L, 2L)).job("teacher").build());
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getResults().get(1).getStatus()).isEqualTo(BulkResultDto.Status.NOT_FOUND);
+        verify(personRepository, times(1)).bulkModify(eq(Lists.newArrayList(1L)), any(), any());
+        verify(personChangeListener, times(1)).onModify(
+                argThat(before -> before.getJob().equals("programmer")),
+                argThat(after -> after.getJob().equals("teacher")));
+    }
+
+    @Test
+    void bulkDeleteRunsEachChunkInOwnTransaction() {
+        ReflectionTestUtils.setField(personService, "bulkChunkSize", 2);
+        runTransactionCallbacks();
+        when(personRepository.findAllByIdForUpdate(Arrays.asList(1L, 2L)))
+                .thenReturn(Lists.newArrayList(Person.builder().id(1L).name("martin").build(), Person.builder().id(2L).name("david").build()));
+        when(personRepository.findAllByIdForUpdate(Arrays.asList(3L)))
+                .thenThrow(new IllegalStateException("lock timeout"));
+
+        BulkResultDto result = personService.bulkDelete(BulkPersonDto.builder().ids(Arrays.asList(1L, 2L, 3L)).build());
+
+        verify(transactionTemplate, times(2)).execute(any());
+        assertThat(result.getRequested()).isEqualTo(3);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getResults().get(2).getStatus()).isEqualTo(BulkResultDto.Status.FAILED);
+        assertThat(result.getResults().get(2).getMessage()).doesNotContain("lock timeout");
+    }
+
+    @Test
+    void bulkDeleteWithoutTarget() {
+        assertThrows(InvalidBulkRequestException.class, () -> personService.bulkDelete(new BulkPersonDto()));
+    }
+
+    @Test
+    void bulkModifyWithoutChanges() {
+        assertThrows(InvalidBulkRequestException.class, () -> personService.bulkModify(BulkPersonDto.builder().ids(Arrays.asList(1L, 2L)).build()));
+
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionCallbacks() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+    }
+
     private static class IsPersonWillBeDeleted implements ArgumentMatcher<Person> {
         @Override
         public boolean matches(Person person) {
@@ -0,0 +1,152 @@
+package com.fastcampus2.mycontact.service;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersonStatisticsTest {
+    @InjectMocks
+    private PersonStatistics personStatistics;
+    @Mock
+    private PersonRepository personRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void onPut() {
+        personStatistics.onPut(mockPerson("programmer", "서울 강남구", LocalDate.of(1991, 8, 15)));
+
+        PersonStatsDto stats = personStatistics.getStats();
+
+        assertAll(
+                () -> assertThat(stats.getTotal()).isEqualTo(1),
+                () -> assertThat(stats.getByBirthMonth()).containsEntry(8, 1L),
+                () -> assertThat(stats.getByJob()).containsEntry("programmer", 1L),
+                () -> assertThat(stats.getByCity()).containsOnlyKeys("서울"),
+                () -> assertThat(stats.getByAgeBucket()).hasSize(1)
+        );
+    }
+
+    @Test
+    void onModifyMovesCounts() {
+        Person before = mockPerson("programmer", "서울", LocalDate.of(1991, 8, 15));
+        Person after = before.toBuilder().job("officer").address("판교").build();
+
+        personStatistics.onPut(before);
+        personStatistics.onModify(before, after);
+
+        PersonStatsDto stats = personStatistics.getStats();
+
+        assertAll(
+                () -> assertThat(stats.getTotal()).isEqualTo(1),
+                () -> assertThat(stats.getByJob()).containsOnlyKeys("officer"),
+                () -> assertThat(stats.getByCity()).containsOnlyKeys("판교")
+        );
+    }
+
+    @Test
+    void onDelete() {
+        Person person = mockPerson("programmer", "서울", LocalDate.of(1991, 8, 15));
+
+        personStatistics.onPut(person);
+        personStatistics.onDelete(person);
+
+        PersonStatsDto stats = personStatistics.getStats();
+
+        assertThat(stats.getTotal()).isEqualTo(0);
+        assertThat(stats.getByBirthMonth()).isEmpty();
+        assertThat(stats.getByJob()).isEmpty();
+    }
+
+    @Test
+    void personWithoutValuesIsCountedInTotalOnly() {
+        personStatistics.onPut(Person.builder().name("martin").build());
+
+        PersonStatsDto stats = personStatistics.getStats();
+
+        assertThat(stats.getTotal()).isEqualTo(1);
+        assertThat(stats.getByBirthMonth()).isEmpty();
+        assertThat(stats.getByCity()).isEmpty();
+    }
+
+    @Test
+    void concurrentUpdates() throws Exception {
+        Person person = mockPerson("programmer", "서울", LocalDate.of(1991, 8, 15));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> personStatistics.onPut(person));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(personStatistics.getStats().getByJob()).containsEntry("programmer", 10_000L);
+    }
+
+    @Test
+    void rebuildAndVerify() {
+        mockRepository();
+
+        personStatistics.rebuild();
+
+        PersonStatsDto stats = personStatistics.getStats();
+        assertAll(
+                () -> assertThat(stats.getTotal()).isEqualTo(3),
+                () -> assertThat(stats.getByBirthMonth()).containsEntry(8, 2L).containsEntry(7, 1L),
+                () -> assertThat(stats.getByJob()).containsEntry("officer", 1L),
+                () -> assertThat(stats.getByCity()).containsEntry("서울", 3L)
+        );
+        assertThat(personStatistics.verify()).isTrue();
+
+        personStatistics.onPut(mockPerson("programmer", "판교", LocalDate.of(1991, 8, 15)));
+
+        // DB 에 반영되지 않은 변경은 DB 값으로 되돌린다.
+        assertThat(personStatistics.verify()).isFalse();
+        assertThat(personStatistics.getStats().getTotal()).isEqualTo(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockRepository() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(personRepository.count()).thenReturn(3L);
+        when(personRepository.countByMonthOfBirthday())
+                .thenReturn(Lists.newArrayList(new Object[]{8, 2L}, new Object[]{7, 1L}));
+        when(personRepository.countByYearOfBirthday())
+                .thenReturn(Lists.newArrayList(new Object[]{1991, 3L}));
+        when(personRepository.countByJob())
+                .thenReturn(Lists.newArrayList(new Object[]{"officer", 1L}, new Object[]{null, 2L}));
+        when(personRepository.countByAddress())
+                .thenReturn(Collections.singletonList(new Object[]{"서울 강남구", 3L}));
+    }
+
+    private Person mockPerson(String job, String address, LocalDate birthday) {
+        return Person.builder()
+                .name("martin")
+                .job(job)
+                .address(address)
+                .birthday(BirthdayDto.of(birthday))
+                .build();
+    }
+}
@@ -0,0 +1,330 @@
+package com.fastcampus2.mycontact.service.birthday;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDispatchReportDto.Status;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class BirthdayDispatcherTest {
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 17);
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    Path directory;
+
+    private BirthdayProperties properties;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new BirthdayProperties();
+        properties.setBatchSize(5);
+        properties.setConcurrency(3);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+        properties.setCheckpointDirectory(directory.toString());
+    }
+
+    @Test
+    void birthdaysOn() {
+        assertThat(Person.birthdaysOn(LocalDate.of(2027, 2, 28))).containsExactly(MonthDay.of(2, 28), MonthDay.of(2, 29));
+        assertThat(Person.birthdaysOn(LocalDate.of(2028, 2, 28))).containsExactly(MonthDay.of(2, 28));
+        assertThat(Person.birthdaysOn(LocalDate.of(2028, 2, 29))).containsExactly(MonthDay.of(2, 29));
+
+        Person leapling = Person.builder().name("leapling").birthday(BirthdayDto.of(LocalDate.of(2000, 2, 29))).build();
+        assertThat(leapling.isBirthdayOn(LocalDate.of(2027, 2, 28))).isTrue();
+        assertThat(leapling.isBirthdayOn(LocalDate.of(2027, 3, 1))).isFalse();
+        assertThat(Person.builder().name("unknown").build().isBirthdayOn(DAY)).isFalse();
+    }
+
+    @Test
+    void dispatchInBatches() throws Exception {
+        List<Long> ids = givenPeople(23, DAY);
+        givenPeople(4, DAY.plusDays(1));
+        properties.setSink(BirthdayProperties.SinkType.FILE);
+        Path sinkFile = directory.resolve("greetings.log");
+
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, new FileBirthdaySink(sinkFile)).dispatchNow(DAY);
+
+        assertThat(report.getStatus()).isEqualTo(Status.DONE);
+        assertThat(report.getMatched()).isEqualTo(23);
+        assertThat(report.getSent()).isEqualTo(23);
+        assertThat(report.getBatches()).isEqualTo(5);
+
+        List<String> keys = Files.readAllLines(sinkFile).stream()
+                .map(line -> line.split("\t")[0])
+                .collect(Collectors.toList());
+        assertThat(keys).containsExactlyInAnyOrderElementsOf(ids.stream().map(id -> DAY + ":" + id).collect(Collectors.toList()));
+    }
+
+    @Test
+    void leapDayBirthdaysOnNonLeapYear() {
+        LocalDate day = LocalDate.of(2027, 2, 28);
+        List<Long> ids = givenPeople(2, LocalDate.of(1990, 2, 28));
+        ids.addAll(givenPeople(3, LocalDate.of(2000, 2, 29)));
+        RecordingSink sink = new RecordingSink(0);
+
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, sink).dispatchNow(day);
+
+        assertThat(report.getStatus()).isEqualTo(Status.DONE);
+        assertThat(report.getMatched()).isEqualTo(5);
+        assertThat(sink.ids()).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void retryFailedBatches() {
+        List<Long> ids = givenPeople(12, DAY);
+        RecordingSink sink = new RecordingSink(2);
+
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, sink).dispatchNow(DAY);
+
+        assertThat(report.getStatus()).isEqualTo(Status.DONE);
+        assertThat(report.getRetries()).isEqualTo(2);
+        assertThat(sink.ids()).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void resumeFromCheckpoint() {
+        List<Long> ids = givenPeople(23, DAY);
+        Long poisoned = ids.get(7);
+        properties.setMaxAttempts(2);
+
+        RecordingSink failing = new RecordingSink(0, poisoned);
+        BirthdayDispatchReportDto first = new BirthdayDispatcher(dataSource, properties, failing).dispatchNow(DAY);
+
+        assertThat(first.getStatus()).isEqualTo(Status.INCOMPLETE);
+        assertThat(first.getFailedBatches()).isEqualTo(1);
+        assertThat(first.getFailed()).isEqualTo(5);
+        assertThat(first.getSent()).isEqualTo(18);
+
+        RecordingSink healthy = new RecordingSink(0);
+        BirthdayDispatchReportDto second = new BirthdayDispatcher(dataSource, properties, healthy).dispatchNow(DAY);
+
+        // 실패한 묶음만 다시 보낸다.
+        assertThat(second.getStatus()).isEqualTo(Status.DONE);
+        assertThat(second.getSent()).isEqualTo(5);
+        assertThat(second.getSkipped()).isEqualTo(18);
+        assertThat(healthy.ids()).containsExactlyInAnyOrderElementsOf(ids.subList(5, 10));
+
+        List<Long> all = new ArrayList<>(failing.ids());
+        all.addAll(healthy.ids());
+        assertThat(all).containsExactlyInAnyOrderElementsOf(ids);
+
+        // 모두 보낸 뒤에는 다시 실행해도 보내지 않는다.
+        RecordingSink again = new RecordingSink(0);
+        BirthdayDispatchReportDto third = new BirthdayDispatcher(dataSource, properties, again).dispatchNow(DAY);
+        assertThat(third.getSent()).isZero();
+        assertThat(third.getSkipped()).isEqualTo(23);
+        assertThat(again.ids()).isEmpty();
+    }
+
+    @Test
+    void stopWhenWindowElapses() {
+        List<Long> ids = givenPeople(23, DAY);
+        properties.setConcurrency(1);
+        properties.setWindow(Duration.ofMillis(200));
+
+        RecordingSink slow = new RecordingSink(0);
+        slow.delayMillis = 300;
+        BirthdayDispatchReportDto first = new BirthdayDispatcher(dataSource, properties, slow).dispatchNow(DAY);
+
+        assertThat(first.getStatus()).isEqualTo(Status.INCOMPLETE);
+        assertThat(first.getSent()).isLessThan(23);
+
+        properties.setWindow(Duration.ofMinutes(1));
+        RecordingSink healthy = new RecordingSink(0);
+        BirthdayDispatchReportDto second = new BirthdayDispatcher(dataSource, properties, healthy).dispatchNow(DAY);
+
+        assertThat(second.getStatus()).isEqualTo(Status.DONE);
+        assertThat(second.getSkipped()).isEqualTo(first.getSent());
+
+        List<Long> all = new ArrayList<>(slow.ids());
+        all.addAll(healthy.ids());
+        assertThat(all).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void carryOverUnfinishedDate() {
+        List<Long> first = givenPeople(23, DAY);
+        List<Long> second = givenPeople(4, DAY.plusDays(1));
+        properties.setMaxAttempts(1);
+
+        BirthdayDispatchReportDto incomplete = new BirthdayDispatcher(dataSource, properties, new RecordingSink(0, first.get(7))).dispatchNow(DAY);
+        assertThat(incomplete.getStatus()).isEqualTo(Status.INCOMPLETE);
+        assertThat(BirthdayCheckpoint.pending(directory)).containsExactly(DAY);
+
+        // 다음 날 실행이 앞선 날짜의 남은 묶음을 먼저 보낸다.
+        RecordingSink healthy = new RecordingSink(0);
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, healthy).dispatchNow(DAY.plusDays(1));
+
+        assertThat(report.getStatus()).isEqualTo(Status.DONE);
+        assertThat(report.getCarriedOver()).containsExactly(DAY);
+        assertThat(report.getSent()).isEqualTo(9);
+        assertThat(healthy.ids()).containsExactlyInAnyOrderElementsOf(concat(first.subList(5, 10), second));
+        assertThat(healthy.sent).filteredOn(greeting -> greeting.getPersonId().equals(first.get(7))).extracting(BirthdayGreeting::getDate).containsExactly(DAY);
+
+        // 끝난 앞선 날짜의 파일은 지우고, 마지막 날짜의 파일만 남긴다.
+        assertThat(BirthdayCheckpoint.pending(directory)).isEmpty();
+        assertThat(BirthdayCheckpoint.saved(directory).keySet()).containsExactly(DAY.plusDays(1));
+    }
+
+    @Test
+    void dispatchMissedDates() {
+        new BirthdayDispatcher(dataSource, properties, new RecordingSink(0)).dispatchNow(DAY);
+        List<Long> missed = concat(givenPeople(2, DAY.plusDays(1)), givenPeople(3, DAY.plusDays(2)));
+        List<Long> today = givenPeople(1, DAY.plusDays(3));
+
+        // 멈춰 있던 이틀을 건너뛰지 않는다.
+        RecordingSink sink = new RecordingSink(0);
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, sink).dispatchNow(DAY.plusDays(3));
+
+        assertThat(report.getCarriedOver()).containsExactly(DAY.plusDays(1), DAY.plusDays(2));
+        assertThat(sink.ids()).containsExactlyInAnyOrderElementsOf(concat(missed, today));
+    }
+
+    @Test
+    void abandonDatesOlderThanCarryOverLimit() {
+        List<Long> ids = givenPeople(3, DAY);
+        properties.setMaxAttempts(1);
+        properties.setMaxCarryOverDays(2);
+        new BirthdayDispatcher(dataSource, properties, new RecordingSink(0, ids.get(0))).dispatchNow(DAY);
+
+        BirthdayDispatchReportDto report = new BirthdayDispatcher(dataSource, properties, new RecordingSink(0)).dispatchNow(DAY.plusDays(5));
+
+        assertThat(report.getCarriedOver()).containsExactly(DAY.plusDays(3), DAY.plusDays(4));
+        assertThat(BirthdayCheckpoint.pending(directory)).isEmpty();
+        assertThat(directory.resolve(DAY + ".checkpoint.abandoned")).exists();
+    }
+
+    // resume 은 별도 스레드에서 읽으므로 커밋한 데이터로 확인하고 지운다.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void resumeAfterRestartPastMidnight() throws Exception {
+        // 어제 시작한 발송이 window 를 넘겨 멈춘 뒤, 자정을 지나 다시 떴다.
+        LocalDate yesterday = LocalDate.now(ZoneId.of(properties.getZone())).minusDays(1);
+        List<Long> ids = givenPeople(23, yesterday);
+
+        try {
+            resumeAfterRestart(yesterday, ids);
+        } finally {
+            personRepository.deleteAll(personRepository.findAllById(ids));
+        }
+    }
+
+    private void resumeAfterRestart(LocalDate yesterday, List<Long> ids) throws Exception {
+        properties.setConcurrency(1);
+        properties.setWindow(Duration.ofMillis(200));
+
+        RecordingSink slow = new RecordingSink(0);
+        slow.delayMillis = 300;
+        assertThat(new BirthdayDispatcher(dataSource, properties, slow).dispatchNow(yesterday).getStatus()).isEqualTo(Status.INCOMPLETE);
+
+        properties.setWindow(Duration.ofMinutes(1));
+        RecordingSink healthy = new RecordingSink(0);
+        BirthdayDispatcher restarted = new BirthdayDispatcher(dataSource, properties, healthy);
+
+        // 기동할 때의 resume 은 오늘 날짜를 시작하지 않고 끝나지 않은 어제만 보낸다.
+        BirthdayDispatchReportDto running = restarted.resume();
+        assertThat(running.getDate()).isEqualTo(yesterday);
+
+        for (int i = 0; i < 100 && restarted.getReport().getStatus() == Status.RUNNING; i++) {
+            Thread.sleep(50);
+        }
+        restarted.destroy();
+
+        assertThat(restarted.getReport().getStatus()).isEqualTo(Status.DONE);
+        assertThat(BirthdayCheckpoint.pending(directory)).isEmpty();
+
+        List<Long> all = new ArrayList<>(slow.ids());
+        all.addAll(healthy.ids());
+        assertThat(all).filteredOn(ids::contains).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    private static List<Long> concat(List<Long> first, List<Long> second) {
+        List<Long> all = new ArrayList<>(first);
+        all.addAll(second);
+
+        return all;
+    }
+
+    private List<Long> givenPeople(int count, LocalDate birthday) {
+        List<Long> ids = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Person person = Person.builder()
+                    .name("birthday" + i)
+                    .phoneNumber("010-0000-" + (1000 + i))
+                    .birthday(BirthdayDto.of(birthday.minusYears(4L * i))) // 2월 29일생이 윤년에 머물도록 4 년씩
+                    .build();
+            ids.add(personRepository.save(person).getId());
+        }
+
+        personRepository.flush();
+
+        return ids;
+    }
+
+    private static class RecordingSink implements BirthdaySink {
+        private final List<BirthdayGreeting> sent = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failuresLeft;
+        private final Set<Long> poisoned = ConcurrentHashMap.newKeySet();
+        private volatile long delayMillis;
+
+        private RecordingSink(int failures, Long... poisoned) {
+            this.failuresLeft = new AtomicInteger(failures);
+            Collections.addAll(this.poisoned, poisoned);
+        }
+
+        @Override
+        public void send(List<BirthdayGreeting> greetings) throws Exception {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("일시적인 오류");
+            }
+
+            if (greetings.stream().anyMatch(greeting -> poisoned.contains(greeting.getPersonId()))) {
+                throw new IllegalStateException("보낼 수 없는 묶음");
+            }
+
+            sent.addAll(greetings);
+        }
+
+        private List<Long> ids() {
+            return sent.stream().map(BirthdayGreeting::getPersonId).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.fastcampus2.mycontact.service.dedup;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Cluster;
+import com.fastcampus2.mycontact.domain.dto.DuplicateReportDto.Member;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class DuplicateDetectorTest {
+    @Autowired
+    private DuplicateService duplicateService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void normalize() {
+        assertThat(ContactRecord.normalizeName(" Martin ")).isEqualTo("martin");
+        assertThat(ContactRecord.normalizeName("Ｍａｒｔｉｎ-Kim")).isEqualTo("martinkim");
+        assertThat(ContactRecord.normalizePhone("+82 10-1234-5678")).isEqualTo("01012345678");
+        assertThat(ContactRecord.normalizePhone("010.1234.5678")).isEqualTo("01012345678");
+        assertThat(ContactRecord.normalizePhone(null)).isEmpty();
+    }
+
+    @Test
+    void jaroWinkler() {
+        assertThat(DuplicateScorer.jaroWinkler("martin", "martin")).isEqualTo(1.0);
+        assertThat(DuplicateScorer.jaroWinkler("kimminsu", "kimminsoo")).isGreaterThan(0.9);
+        assertThat(DuplicateScorer.jaroWinkler("martin", "sophia")).isLessThan(0.5);
+        assertThat(DuplicateScorer.jaroWinkler("", "martin")).isEqualTo(0.0);
+    }
+
+    @Test
+    void unionFind() {
+        UnionFind unionFind = new UnionFind();
+        unionFind.union(5L, 3L);
+        unionFind.union(3L, 9L);
+        unionFind.union(7L, 8L);
+
+        assertThat(unionFind.find(9L)).isEqualTo(3L);
+        assertThat(unionFind.clusters()).containsExactly(Arrays.asList(3L, 5L, 9L), Arrays.asList(7L, 8L));
+    }
+
+    @Test
+    void detect() {
+        List<Long> ids = givenDuplicates();
+
+        DuplicateReportDto report = duplicateService.scanNow();
+
+        assertThat(report.getStatus()).isEqualTo(DuplicateReportDto.Status.DONE);
+        assertThat(report.getPasses()).isEqualTo(1);
+        assertThat(report.getClusters()).hasSize(1);
+
+        Cluster cluster = report.getClusters().get(0);
+        assertThat(cluster.getSurvivorId()).isEqualTo(ids.get(0));
+        assertThat(memberIds(cluster)).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(cluster.getMatches()).allMatch(match -> match.getScore() >= 0.7);
+    }
+
+    @Test
+    void detectInSeveralPasses() {
+        List<Long> ids = givenDuplicates();
+
+        DuplicateProperties properties = new DuplicateProperties();
+        properties.setMaxRecordsInMemory(3);
+        properties.setParallelism(2);
+
+        DuplicateReportDto report = new DuplicateDetector(dataSource, properties).detect();
+
+        assertThat(report.getPasses()).isGreaterThan(1);
+        assertThat(report.getClusters()).hasSize(1);
+        assertThat(memberIds(report.getClusters().get(0))).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+    }
+
+    @Test
+    void skipOversizedBlock() {
+        List<Long> ids = givenDuplicates();
+
+        DuplicateProperties properties = new DuplicateProperties();
+        properties.setMaxBlockSize(2);
+
+        DuplicateReportDto report = new DuplicateDetector(dataSource, properties).detect();
+
+        // 3명인 이름 블록과 연락처 블록은 건너뛰고, 생일 블록에서만 찾는다.
+        assertThat(report.getSkippedBlocks()).isEqualTo(2);
+        assertThat(report.getSkippedKeys()).containsExactlyInAnyOrder("n:kimminsu", "p:01012345678");
+        assertThat(report.getClusters()).hasSize(1);
+        assertThat(memberIds(report.getClusters().get(0))).containsExactly(ids.get(0), ids.get(2));
+    }
+
+    @Test
+    void comparePairInLaterBlockWhenEarlierBlockIsOversized() {
+        // 흔한 이름이라 이름 블록은 건너뛰지만, 연락처가 같은 두 사람은 연락처 블록에서 비교한다.
+        Long first = save("Lee Jiwon", "010-5555-6666", null);
+        Long second = save("lee jiwon", "010 5555 6666", null);
+        save("Lee Jiwon", "010-1111-2222", null);
+        save("LEE JIWON", "010-3333-4444", null);
+
+        DuplicateProperties properties = new DuplicateProperties();
+        properties.setMaxBlockSize(3);
+
+        DuplicateReportDto report = new DuplicateDetector(dataSource, properties).detect();
+
+        assertThat(report.getSkippedKeys()).containsExactly("n:leejiwon");
+        assertThat(report.getClusters()).hasSize(1);
+        assertThat(memberIds(report.getClusters().get(0))).containsExactly(first, second);
+    }
+
+    @Test
+    void samePairInSeveralPassesIsReportedOnce() {
+        List<Long> ids = givenDuplicates();
+
+        DuplicateProperties properties = new DuplicateProperties();
+        properties.setMaxRecordsInMemory(1);
+
+        DuplicateReportDto report = new DuplicateDetector(dataSource, properties).detect();
+
+        Cluster cluster = report.getClusters().get(0);
+        assertThat(memberIds(cluster)).containsExactly(ids.get(0), ids.get(1), ids.get(2));
+        assertThat(cluster.getMatches()).doesNotHaveDuplicates();
+    }
+
+    private List<Long> givenDuplicates() {
+        return Arrays.asList(
+                save("Kim Minsu", "010-1234-5678", LocalDate.of(1990, 1, 1)),
+                save("kim minsu ", "+82 10 1234 5678", null),
+                save("Kim Minsoo", "01012345678", LocalDate.of(1990, 1, 1)),
+                // 이름만 같고 연락처, 생일이 다르다.
+                save("KIM MINSU", "010-9999-9999", LocalDate.of(1985, 5, 5)));
+    }
+
+    private Long save(String name, String phoneNumber, LocalDate birthday) {
+        Person person = Person.builder()
+                .name(name)
+                .phoneNumber(phoneNumber)
+                .birthday(birthday != null ? BirthdayDto.of(birthday) : null)
+                .build();
+
+        return personRepository.saveAndFlush(person).getId();
+    }
+
+    private static List<Long> memberIds(Cluster cluster) {
+        return cluster.getMembers().stream().map(Member::getId).collect(Collectors.toList());
+    }
+}
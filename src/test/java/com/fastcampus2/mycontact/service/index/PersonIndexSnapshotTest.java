@@ -0,0 +1,105 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersonIndexSnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void writeAndRead() throws IOException {
+        Path path = dir.resolve("index.snap");
+        List<PersonIndexEntry> entries = Arrays.asList(
+                new PersonIndexEntry(1L, "martin", 1991, 8, 15, "programmer", "서울", 1_600_000_000_000L),
+                new PersonIndexEntry(2L, "david", null, null, null, null, null, PersonIndexEntry.NO_STAMP));
+
+        PersonIndexSnapshot.write(path, 1_700_000_000_000L, entries);
+        PersonIndexSnapshot.Loaded loaded = PersonIndexSnapshot.read(path);
+
+        assertAll(
+                () -> assertThat(loaded.getWatermark()).isEqualTo(1_700_000_000_000L),
+                () -> assertThat(loaded.getEntries()).isEqualTo(entries)
+        );
+    }
+
+    @Test
+    void readIfMissing() throws IOException {
+        assertThat(PersonIndexSnapshot.read(dir.resolve("missing.snap"))).isNull();
+    }
+
+    @Test
+    void readIfCorrupted() throws IOException {
+        Path path = dir.resolve("index.snap");
+        PersonIndexSnapshot.write(path, 0L, Collections.singletonList(
+                new PersonIndexEntry(1L, "martin", 1991, 8, 15, null, null, PersonIndexEntry.NO_STAMP)));
+
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(30);
+            file.write(0x7F);
+        }
+
+        assertThrows(IOException.class, () -> PersonIndexSnapshot.read(path));
+    }
+
+    @Test
+    void readIfVersionIsDifferent() throws IOException {
+        Path path = dir.resolve("index.snap");
+        PersonIndexSnapshot.write(path, 0L, Collections.emptyList());
+
+        // 버전과 checksum 을 함께 바꿔도 읽지 않는다.
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(4);
+            file.writeInt(PersonIndexSnapshot.VERSION + 1);
+
+            CRC32 crc = new CRC32();
+            byte[] body = new byte[(int) file.length() - 8];
+            file.seek(0);
+            file.readFully(body);
+            crc.update(body);
+            file.writeLong(crc.getValue());
+        }
+
+        IOException e = assertThrows(IOException.class, () -> PersonIndexSnapshot.read(path));
+        assertThat(e.getMessage()).contains("버전");
+    }
+
+    @Test
+    void indexFollowsChanges() {
+        PersonIndex index = new PersonIndex();
+        Person martin = Person.builder().id(1L).name("martin").birthday(BirthdayDto.of(LocalDate.of(1991, 8, 15))).build();
+        Person renamed = martin.toBuilder().name("martin2").birthday(BirthdayDto.of(LocalDate.of(1991, 2, 1))).build();
+
+        index.onPut(martin);
+        index.onPut(Person.builder().id(2L).name("martin").build());
+        assertThat(index.idsByName("martin")).containsExactly(1L, 2L);
+        assertThat(index.idsByBirthday(8, 15)).containsExactly(1L);
+
+        index.onModify(martin, renamed);
+        assertAll(
+                () -> assertThat(index.idsByName("martin")).containsExactly(2L),
+                () -> assertThat(index.idsByName("martin2")).containsExactly(1L),
+                () -> assertThat(index.idsByBirthday(8, 15)).isEmpty(),
+                () -> assertThat(index.idsByBirthday(2, 1)).containsExactly(1L)
+        );
+
+        index.onDelete(renamed);
+        assertThat(index.idsByName("martin2")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+}
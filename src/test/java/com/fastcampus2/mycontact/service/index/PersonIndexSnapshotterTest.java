@@ -0,0 +1,127 @@
+package com.fastcampus2.mycontact.service.index;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PersonIndexSnapshotterTest {
+    @TempDir
+    Path dir;
+
+    @Mock
+    private PersonRepository personRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PersonIndex personIndex;
+    private PersonStatistics personStatistics;
+    private PersonIndexSnapshotter snapshotter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        IndexSnapshotProperties properties = new IndexSnapshotProperties();
+        properties.setPath(dir.resolve("index.snap").toString());
+
+        personIndex = new PersonIndex();
+        personStatistics = new PersonStatistics();
+        ReflectionTestUtils.setField(personStatistics, "personRepository", personRepository);
+        ReflectionTestUtils.setField(personStatistics, "transactionTemplate", transactionTemplate);
+        snapshotter = new PersonIndexSnapshotter(personIndex, personStatistics, personRepository, transactionTemplate, properties);
+    }
+
+    @Test
+    void restoreWithoutSnapshotRebuilds() {
+        when(personRepository.findAll()).thenReturn(Lists.newArrayList(martin(), david()));
+        when(personRepository.count()).thenReturn(2L);
+
+        snapshotter.restore();
+
+        assertAll(
+                () -> assertThat(personIndex.isReady()).isTrue(),
+                () -> assertThat(personIndex.idsByName("martin")).containsExactly(1L),
+                () -> assertThat(personStatistics.getStats().getTotal()).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void restoreCatchesUpChangedRows() {
+        personIndex.replaceAll(Arrays.asList(PersonIndexEntry.of(martin()), PersonIndexEntry.of(david())));
+        personIndex.setReady(true);
+        snapshotter.save();
+
+        PersonIndex restarted = new PersonIndex();
+        PersonStatistics restartedStatistics = new PersonStatistics();
+        IndexSnapshotProperties properties = new IndexSnapshotProperties();
+        properties.setPath(dir.resolve("index.snap").toString());
+        PersonIndexSnapshotter restartedSnapshotter = new PersonIndexSnapshotter(restarted, restartedStatistics, personRepository, transactionTemplate, properties);
+
+        Person davidModified = david().toBuilder().job("officer").build();
+        Person martinDeleted = martin().toBuilder().deleted(true).build();
+        Person tony = Person.builder().id(6L).name("tony").birthday(BirthdayDto.of(LocalDate.of(1991, 7, 10))).build();
+        when(personRepository.findModifiedSince(any())).thenReturn(Arrays.asList(martinDeleted, davidModified, tony));
+        when(personRepository.count()).thenReturn(2L);
+
+        restartedSnapshotter.restore();
+
+        verify(personRepository, never()).findAll();
+        assertAll(
+                () -> assertThat(restarted.idsByName("martin")).isEmpty(),
+                () -> assertThat(restarted.get(2L).getJob()).isEqualTo("officer"),
+                () -> assertThat(restarted.idsByBirthday(7, 10)).containsExactly(6L),
+                () -> assertThat(restartedStatistics.getStats().getTotal()).isEqualTo(2),
+                () -> assertThat(restartedStatistics.getStats().getByJob()).containsEntry("officer", 1L),
+                () -> assertThat(restartedStatistics.getStats().getByBirthMonth()).doesNotContainKey(8)
+        );
+    }
+
+    @Test
+    void restoreRebuildsIfCountDiffers() {
+        personIndex.replaceAll(Collections.singletonList(PersonIndexEntry.of(martin())));
+        personIndex.setReady(true);
+        snapshotter.save();
+
+        when(personRepository.findModifiedSince(any())).thenReturn(Collections.emptyList());
+        when(personRepository.count()).thenReturn(2L);
+        when(personRepository.findAll()).thenReturn(Lists.newArrayList(martin(), david()));
+
+        snapshotter.restore();
+
+        assertThat(personIndex.size()).isEqualTo(2);
+        verify(personRepository, times(1)).findAll();
+    }
+
+    private static Person martin() {
+        return Person.builder().id(1L).name("martin").address("서울 강남구").job("programmer")
+                .birthday(BirthdayDto.of(LocalDate.of(1991, 8, 15))).build();
+    }
+
+    private static Person david() {
+        return Person.builder().id(2L).name("david").birthday(BirthdayDto.of(LocalDate.of(1992, 7, 21))).build();
+    }
+}
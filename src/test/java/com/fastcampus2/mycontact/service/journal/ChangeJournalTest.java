@@ -0,0 +1,321 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.exception.JournalWriteException;
+import com.fastcampus2.mycontact.service.journal.ChangeJournal.Change;
+import com.fastcampus2.mycontact.service.journal.JournalProperties.Durability;
+import com.fastcampus2.mycontact.service.journal.JournalRecord.ChangeType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChangeJournalTest {
+    @TempDir
+    Path directory;
+
+    private ChangeJournal journal;
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (journal != null) {
+            journal.destroy();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Durability.class)
+    void history(Durability durability) throws Exception {
+        journal = new ChangeJournal(properties(durability, DataSize.ofMegabytes(1)));
+
+        Person martin = person(1L, "martin", null);
+        Person modified = martin.toBuilder().hobby("reading").build();
+
+        journal.record(Change.put(martin));
+        journal.record(Change.put(person(2L, "david", null)));
+        journal.record(Change.modify(martin, modified));
+        journal.record(Change.delete(modified, modified.toBuilder().deleted(true).build()));
+
+        awaitWritten(durability, 1L, 3);
+
+        // 변경마다 COMMIT 표시가 뒤따른다.
+        List<JournalRecord> history = journal.history(1L);
+        assertThat(history).extracting(JournalRecord::getType).containsExactly(ChangeType.PUT, ChangeType.MODIFY, ChangeType.DELETE);
+        assertThat(history).extracting(JournalRecord::getSeq).containsExactly(1L, 5L, 7L);
+
+        assertThat(history.get(0).getBefore()).isNull();
+        assertThat(history.get(0).getAfter()).isEqualTo(martin);
+        assertThat(history.get(1).getBefore().getHobby()).isNull();
+        assertThat(history.get(1).getAfter().getHobby()).isEqualTo("reading");
+        assertThat(history.get(2).getAfter().isDeleted()).isTrue();
+
+        assertThat(journal.history(2L)).hasSize(1);
+        assertThat(journal.history(3L)).isEmpty();
+    }
+
+    @Test
+    void rotateAndReopen() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+        writeChanges(100);
+
+        assertThat(logFiles()).hasSizeGreaterThan(3);
+        assertThat(indexFiles()).hasSize(logFiles().size() - 1);
+        assertHistory(100);
+
+        journal.destroy();
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+
+        assertHistory(100);
+
+        journal.record(Change.put(person(1L, "martin", null)));
+        assertThat(journal.history(1L)).extracting(JournalRecord::getSeq).last().isEqualTo(201L);
+    }
+
+    @Test
+    void truncateTornTail() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+        writeChanges(10);
+        journal.destroy();
+
+        // 기록 도중 종료되어 frame 일부만 남은 상태
+        Path last = logFiles().get(logFiles().size() - 1);
+        long size = Files.size(last);
+        Files.write(last, new byte[]{0, 0, 0, 100, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+
+        assertThat(Files.size(last)).isEqualTo(size);
+        assertHistory(10);
+
+        journal.record(Change.put(person(1L, "martin", null)));
+        assertThat(journal.history(1L)).extracting(JournalRecord::getSeq).last().isEqualTo(21L);
+    }
+
+    @Test
+    void rebuildCorruptedIndex() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+        writeChanges(50);
+        journal.destroy();
+
+        Files.write(indexFiles().get(0), new byte[]{1, 2, 3});
+
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+
+        assertHistory(50);
+    }
+
+    @Test
+    void compact() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+        writeChanges(100);
+        journal.destroy();
+
+        int before = logFiles().size();
+
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofKilobytes(64)));
+        journal.compact();
+
+        // 닫힌 세그먼트는 하나로 합치고, 쓰고 있던 세그먼트는 그대로 둔다.
+        assertThat(before).isGreaterThan(2);
+        assertThat(logFiles()).hasSize(2);
+        assertHistory(100);
+
+        journal.destroy();
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofKilobytes(64)));
+
+        assertHistory(100);
+    }
+
+    @Test
+    void expire() throws Exception {
+        JournalProperties properties = properties(Durability.GROUP, DataSize.ofBytes(1024));
+        properties.setRetention(Duration.ZERO);
+
+        journal = new ChangeJournal(properties);
+        writeChanges(100);
+        Thread.sleep(5);
+
+        journal.compact();
+
+        assertThat(logFiles()).hasSize(1);
+        assertThat(journal.history(1L).size()).isLessThan(34);
+    }
+
+    @Test
+    void preparedChangeIsHiddenUntilCommitted() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+
+        long[] seqs = journal.prepare(Arrays.asList(Change.put(person(1L, "martin", null)), Change.put(person(2L, "david", null))));
+
+        assertThat(journal.history(1L)).isEmpty();
+
+        journal.complete(Arrays.asList(Change.put(person(1L, "martin", null)), Change.put(person(2L, "david", null))), seqs, true);
+
+        assertThat(journal.history(1L)).extracting(JournalRecord::getSeq).containsExactly(seqs[0]);
+        assertThat(journal.history(2L)).extracting(JournalRecord::getSeq).containsExactly(seqs[1]);
+    }
+
+    @Test
+    void abortedChangeIsHidden() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+
+        List<Change> changes = Collections.singletonList(Change.put(person(1L, "martin", null)));
+        journal.complete(changes, journal.prepare(changes), false);
+
+        assertThat(journal.history(1L)).isEmpty();
+
+        journal.destroy();
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+
+        assertThat(journal.getInDoubt()).isEmpty();
+        assertThat(journal.history(1L)).isEmpty();
+    }
+
+    // 커밋 전에 기록했지만 결과 표시를 남기기 전에 종료된 경우
+    @Test
+    void reconcileInDoubtChanges() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+        writeChanges(30);
+        journal.prepare(Arrays.asList(Change.put(person(4L, "dennis", null)), Change.put(person(5L, "sophia", null))));
+        journal.destroy();
+
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+
+        assertThat(journal.getInDoubt()).extracting(JournalRecord::getPersonId).containsExactly(4L, 5L);
+        assertThat(journal.history(4L)).isEmpty();
+
+        journal.reconcile(record -> record.getPersonId() == 4L);
+
+        assertThat(journal.getInDoubt()).isEmpty();
+        assertThat(journal.history(4L)).hasSize(1);
+        assertThat(journal.history(5L)).isEmpty();
+
+        journal.destroy();
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofBytes(1024)));
+
+        assertThat(journal.getInDoubt()).isEmpty();
+        assertThat(journal.history(4L)).hasSize(1);
+        assertHistory(30);
+    }
+
+    // 트랜잭션 안의 변경은 커밋 직전에 한 번에 기록하고, 커밋된 뒤에 보인다.
+    @Test
+    void appendInTransaction() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            journal.append(Change.put(person(1L, "martin", null)));
+            journal.append(Change.put(person(2L, "david", null)));
+
+            assertThat(logFiles()).allMatch(path -> path.toFile().length() == JournalSegment.HEADER_BYTES);
+
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            assertThat(journal.history(1L)).isEmpty();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(journal.history(1L)).hasSize(1);
+        assertThat(journal.history(2L)).hasSize(1);
+        assertThat(TransactionSynchronizationManager.getResource(journal)).isNull();
+    }
+
+    @Test
+    void prepareFailsWhenJournalIsClosed() throws Exception {
+        journal = new ChangeJournal(properties(Durability.GROUP, DataSize.ofMegabytes(1)));
+        journal.destroy();
+
+        assertThrows(JournalWriteException.class, () -> journal.prepare(Collections.singletonList(Change.put(person(1L, "martin", null)))));
+
+        journal = null;
+    }
+
+    private JournalProperties properties(Durability durability, DataSize segmentSize) {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setDurability(durability);
+        properties.setSegmentSize(segmentSize);
+        properties.setIndexBlockBytes(256);
+
+        return properties;
+    }
+
+    // 세 사람을 번갈아 가며 바꾼다.
+    private void writeChanges(int count) {
+        for (int i = 0; i < count; i++) {
+            long id = i % 3 + 1;
+            Person before = person(id, "person" + id, "hobby" + (i - 3));
+            Person after = person(id, "person" + id, "hobby" + i);
+
+            journal.record(i < 3 ? Change.put(after) : Change.modify(before, after));
+        }
+    }
+
+    private void assertHistory(int count) {
+        for (long id = 1; id <= 3; id++) {
+            List<JournalRecord> history = journal.history(id);
+            List<String> hobbies = history.stream().map(record -> record.getAfter().getHobby()).collect(Collectors.toList());
+
+            assertThat(history).hasSize((int) ((count - id) / 3 + 1));
+            assertThat(history).extracting(JournalRecord::getSeq).isSorted();
+            assertThat(hobbies.get(0)).isEqualTo("hobby" + (id - 1));
+            assertThat(hobbies.get(hobbies.size() - 1)).isEqualTo("hobby" + (id - 1 + (hobbies.size() - 1) * 3));
+        }
+    }
+
+    // ASYNC 는 기다리지 않으므로 기록될 때까지 조회해 본다.
+    private void awaitWritten(Durability durability, long personId, int count) throws InterruptedException {
+        for (int i = 0; durability == Durability.ASYNC && i < 100 && journal.history(personId).size() < count; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private List<Path> logFiles() throws IOException {
+        return files(".log");
+    }
+
+    private List<Path> indexFiles() throws IOException {
+        return files(".idx");
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static Person person(Long id, String name, String hobby) {
+        return Person.builder()
+                .id(id)
+                .name(name)
+                .hobby(hobby)
+                .birthday(BirthdayDto.of(LocalDate.of(1991, 8, 15)))
+                .build();
+    }
+}
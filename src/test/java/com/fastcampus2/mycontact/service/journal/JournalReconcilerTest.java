@@ -0,0 +1,112 @@
+package com.fastcampus2.mycontact.service.journal;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.journal.ChangeJournal.Change;
+import com.fastcampus2.mycontact.service.journal.JournalRecord.ChangeType;
+import org.assertj.core.util.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JournalReconcilerTest {
+    private static final LocalDateTime WRITTEN = LocalDateTime.of(2020, 7, 1, 10, 0, 0, 123_000_000);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private PersonRepository personRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private ChangeJournal journal;
+
+    @AfterEach
+    void afterEach() throws Exception {
+        if (journal != null) {
+            journal.destroy();
+        }
+    }
+
+    @Test
+    void committedWhenDbHasWrittenOrLaterValue() {
+        assertThat(JournalReconciler.isCommitted(record(WRITTEN), person(1L, WRITTEN.plusNanos(456_000)))).isTrue();
+        assertThat(JournalReconciler.isCommitted(record(WRITTEN), person(1L, WRITTEN.plusSeconds(1)))).isTrue();
+    }
+
+    @Test
+    void abortedWhenDbHasEarlierValueOrNoRow() {
+        assertThat(JournalReconciler.isCommitted(record(WRITTEN), person(1L, WRITTEN.minusSeconds(1)))).isFalse();
+        assertThat(JournalReconciler.isCommitted(record(WRITTEN), null)).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile() throws Exception {
+        journal = new ChangeJournal(properties());
+        journal.prepare(Arrays.asList(
+                Change.modify(person(1L, WRITTEN.minusDays(1)), person(1L, WRITTEN)),
+                Change.modify(person(2L, WRITTEN.minusDays(1)), person(2L, WRITTEN))));
+        journal.destroy();
+
+        journal = new ChangeJournal(properties());
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        when(personRepository.findAllByIdIncludingDeleted(any()))
+                .thenReturn(Lists.newArrayList(person(1L, WRITTEN), person(2L, WRITTEN.minusDays(1))));
+
+        new JournalReconciler(journal, personRepository, transactionTemplate, false).reconcile();
+
+        assertThat(journal.getInDoubt()).isEmpty();
+        assertThat(journal.history(1L)).extracting(JournalRecord::getType).containsExactly(ChangeType.MODIFY);
+        assertThat(journal.history(2L)).isEmpty();
+    }
+
+    @Test
+    void reconcileInShardingMode() throws Exception {
+        journal = new ChangeJournal(properties());
+        journal.prepare(Collections.singletonList(Change.put(person(1L, null))));
+        journal.destroy();
+
+        journal = new ChangeJournal(properties());
+        new JournalReconciler(journal, personRepository, transactionTemplate, true).reconcile();
+
+        assertThat(journal.history(1L)).hasSize(1);
+    }
+
+    private JournalProperties properties() {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+
+        return properties;
+    }
+
+    private static JournalRecord record(LocalDateTime modifiedAt) {
+        return new JournalRecord(1L, 0L, ChangeType.MODIFY, 1L, 0L, person(1L, null), person(1L, modifiedAt));
+    }
+
+    private static Person person(Long id, LocalDateTime modifiedAt) {
+        return Person.builder()
+                .id(id)
+                .name("martin")
+                .modifiedAt(modifiedAt)
+                .build();
+    }
+}
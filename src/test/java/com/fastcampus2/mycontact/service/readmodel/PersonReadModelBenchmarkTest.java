@@ -0,0 +1,123 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.domain.dto.PersonStatsDto;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 엔티티 목록과 off-heap 읽기 모델의 heap 사용량, 조회 시 GC 비교 (./gradlew benchmark)
+@Tag("benchmark")
+class PersonReadModelBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(PersonReadModelBenchmarkTest.class);
+    private static final int PEOPLE = 300_000;
+    private static final int ITERATIONS = 50;
+    private static final String[] JOBS = {"programmer", "officer", "designer", "teacher", "doctor"};
+    private static final String[] CITIES = {"서울 강남구", "판교", "부산 해운대구", "대구", "인천"};
+
+    @Test
+    void compareHeapAndGc() {
+        long baseline = usedHeap();
+
+        List<Person> entities = new ArrayList<>(PEOPLE);
+        for (int i = 1; i <= PEOPLE; i++) {
+            entities.add(person(i));
+        }
+        long entityHeap = usedHeap() - baseline;
+
+        PersonColumnStore store = new PersonColumnStore(1024);
+        long storeBaseline = usedHeap();
+        for (int i = 1; i <= PEOPLE; i++) {
+            store.put(person(i));
+        }
+        long storeHeap = usedHeap() - storeBaseline;
+
+        log.info(String.format("%-10s %14s %14s", "path", "heap KB", "off-heap KB"));
+        log.info(String.format("%-10s %14d %14d", "entity", entityHeap / 1024, 0));
+        log.info(String.format("%-10s %14d %14d", "columnar", storeHeap / 1024, store.offHeapBytes() / 1024));
+
+        PersonStatsDto entityStats = measure("entity", () -> {
+            PersonStatistics statistics = new PersonStatistics();
+            statistics.restore(entities);
+            return statistics.getStats();
+        });
+
+        PersonReadModel model = new PersonReadModel(null, null, new ReadModelProperties());
+        entities.forEach(model::onPut);
+        entities.clear();
+        PersonStatsDto columnarStats = measure("columnar", model::getStats);
+
+        assertThat(columnarStats).isEqualTo(entityStats);
+        assertThat(storeHeap).isLessThan(entityHeap);
+    }
+
+    private static <T> T measure(String path, Supplier<T> query) {
+        T result = query.get();
+
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = query.get();
+        }
+
+        log.info(String.format("%-10s stats %8.2f ms/op, GC %d회 %dms (%d회 조회)", path,
+                (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS, gcCount() - gcCount, gcMillis() - gcMillis, ITERATIONS));
+
+        return result;
+    }
+
+    private static Person person(long id) {
+        int i = (int) id;
+
+        return Person.builder()
+                .id(id)
+                .name("person" + id)
+                .hobby(i % 2 == 0 ? "reading" : "programming")
+                .address(CITIES[i % CITIES.length])
+                .birthday(BirthdayDto.of(LocalDate.of(1950 + i % 50, i % 12 + 1, i % 28 + 1)))
+                .job(JOBS[i % JOBS.length])
+                .phoneNumber("010-" + (1000 + i % 9000) + "-" + (1000 + i % 9000))
+                .build();
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+
+        return millis;
+    }
+}
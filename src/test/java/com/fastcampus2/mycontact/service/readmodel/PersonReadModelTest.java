@@ -0,0 +1,223 @@
+package com.fastcampus2.mycontact.service.readmodel;
+
+import com.fastcampus2.mycontact.domain.Person;
+import com.fastcampus2.mycontact.domain.dto.BirthdayDto;
+import com.fastcampus2.mycontact.repository.PersonRepository;
+import com.fastcampus2.mycontact.service.PersonStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersonReadModelTest {
+    @Mock
+    private PersonRepository personRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PersonReadModel personReadModel;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+
+        ReadModelProperties properties = new ReadModelProperties();
+        properties.setInitialCapacity(2);
+        properties.setLoadBatchSize(2);
+
+        personReadModel = new PersonReadModel(personRepository, transactionTemplate, properties);
+
+        List<Person> people = Arrays.asList(
+                person(1L, "martin", LocalDate.of(1991, 8, 15), "programmer", "서울 강남구"),
+                person(2L, "david", LocalDate.of(1992, 7, 21), null, null),
+                person(3L, "dennis", LocalDate.of(1993, 10, 15), "programmer", "판교"),
+                person(4L, "sophia", LocalDate.of(1994, 8, 31), null, null),
+                person(6L, "tony", LocalDate.of(1991, 7, 10), "officer", "서울"));
+
+        when(personRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable pageable = invocation.getArgument(0);
+            int from = (int) Math.min(pageable.getOffset(), people.size());
+            int to = Math.min(from + pageable.getPageSize(), people.size());
+
+            return new PageImpl<>(people.subList(from, to), pageable, people.size());
+        });
+
+        personReadModel.load();
+    }
+
+    @Test
+    void load() {
+        Page<Person> page = personReadModel.findAll(PageRequest.of(1, 2));
+
+        assertAll(
+                () -> assertThat(personReadModel.isReady()).isTrue(),
+                () -> assertThat(page.getTotalElements()).isEqualTo(5),
+                () -> assertThat(page.getTotalPages()).isEqualTo(3),
+                () -> assertThat(names(page.getContent())).containsExactly("dennis", "sophia"),
+                () -> assertThat(page.getContent().get(0).getAddress()).isEqualTo("판교"),
+                () -> assertThat(page.getContent().get(0).getBirthday()).isEqualTo(BirthdayDto.of(LocalDate.of(1993, 10, 15)))
+        );
+    }
+
+    @Test
+    void pagesStayInIdOrderWhenCommitsArriveOutOfOrder() {
+        personReadModel.onPut(person(9L, "late", null, null, null));
+        personReadModel.onPut(person(8L, "early", null, null, null));
+
+        assertThat(names(personReadModel.findAll(PageRequest.of(0, 10)).getContent()))
+                .containsExactly("martin", "david", "dennis", "sophia", "tony", "early", "late");
+    }
+
+    @Test
+    void pagesSkipDeletedPeopleAndKeepRestoredOnesInOrder() {
+        personReadModel.onDelete(person(2L, "david", null, null, null));
+        personReadModel.onDelete(person(4L, "sophia", null, null, null));
+
+        assertThat(names(personReadModel.findAll(PageRequest.of(1, 2)).getContent())).containsExactly("tony");
+
+        personReadModel.onPut(person(2L, "david", null, null, null));
+
+        assertThat(names(personReadModel.findAll(PageRequest.of(0, 10)).getContent()))
+                .containsExactly("martin", "david", "dennis", "tony");
+    }
+
+    // 조회는 read lock 만 잡고 함께 실행되므로, 순서가 뒤바뀐 커밋이 들어오는 동안에도 페이지가 id 순서여야 한다.
+    @Test
+    void concurrentReadsWhileCommitsArriveOutOfOrder() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<Boolean>> readers = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                while (writing.get()) {
+                    List<Long> ids = personReadModel.findAll(PageRequest.of(0, 50)).map(Person::getId).getContent();
+
+                    if (!ids.stream().sorted().collect(Collectors.toList()).equals(ids)) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            personReadModel.onPut(person(i % 2 == 0 ? 1000L + i : 5000L - i, "person" + i, null, null, null));
+        }
+        writing.set(false);
+
+        for (Future<Boolean> reader : readers) {
+            assertThat(reader.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+
+        List<Long> ids = personReadModel.findAll(Pageable.unpaged()).map(Person::getId).getContent();
+        assertThat(ids).hasSize(2005).isSorted();
+    }
+
+    @Test
+    void followsChanges() {
+        Person martin = person(1L, "martin", LocalDate.of(1991, 8, 15), "programmer", "서울 강남구");
+        Person moved = martin.toBuilder().job("officer").address("판교").birthday(BirthdayDto.of(LocalDate.of(1991, 2, 1))).build();
+
+        personReadModel.onModify(martin, moved);
+        personReadModel.onDelete(person(4L, "sophia", null, null, null));
+
+        assertAll(
+                () -> assertThat(personReadModel.findByBirthday(8, null)).isEmpty(),
+                () -> assertThat(names(personReadModel.findByBirthday(2, 1))).containsExactly("martin"),
+                () -> assertThat(personReadModel.findAll(PageRequest.of(0, 10)).getTotalElements()).isEqualTo(4),
+                () -> assertThat(personReadModel.getStats().getByJob()).containsEntry("officer", 2L),
+                () -> assertThat(personReadModel.getStats().getByCity()).containsEntry("판교", 2L)
+        );
+    }
+
+    @Test
+    void findByBirthday() {
+        assertAll(
+                () -> assertThat(names(personReadModel.findByBirthday(8, null))).containsExactlyInAnyOrder("martin", "sophia"),
+                () -> assertThat(names(personReadModel.findByBirthday(7, 10))).containsExactly("tony"),
+                () -> assertThat(personReadModel.countByBirthday(7, null)).isEqualTo(2)
+        );
+    }
+
+    @Test
+    void statsMatchPersonStatistics() {
+        PersonStatistics personStatistics = new PersonStatistics();
+        personStatistics.restore(personReadModel.findAll(Pageable.unpaged()).getContent());
+
+        assertThat(personReadModel.getStats()).isEqualTo(personStatistics.getStats());
+    }
+
+    @Test
+    void supportsOnlyIdOrder() {
+        assertAll(
+                () -> assertThat(personReadModel.supports(PageRequest.of(0, 10))).isTrue(),
+                () -> assertThat(personReadModel.supports(PageRequest.of(0, 10, Sort.by("id")))).isTrue(),
+                () -> assertThat(personReadModel.supports(PageRequest.of(0, 10, Sort.by("name")))).isFalse()
+        );
+    }
+
+    @Test
+    void arenaIsCompactedAfterManyModifications() {
+        StringBuilder hobby = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            hobby.append('x');
+        }
+
+        Person martin = person(1L, "martin", LocalDate.of(1991, 8, 15), "programmer", "서울 강남구");
+        for (int i = 0; i < 300; i++) {
+            personReadModel.onModify(martin, martin.toBuilder().hobby(hobby.toString() + i).build());
+        }
+
+        List<Person> people = personReadModel.findAll(PageRequest.of(0, 10)).getContent();
+
+        assertAll(
+                () -> assertThat(people.get(0).getHobby()).isEqualTo(hobby.toString() + 299),
+                () -> assertThat(people.get(1).getName()).isEqualTo("david"),
+                () -> assertThat(people.get(4).getAddress()).isEqualTo("서울")
+        );
+    }
+
+    private static List<String> names(List<Person> people) {
+        return people.stream().map(Person::getName).collect(Collectors.toList());
+    }
+
+    static Person person(Long id, String name, LocalDate birthday, String job, String address) {
+        return Person.builder()
+                .id(id)
+                .name(name)
+                .birthday(birthday != null ? BirthdayDto.of(birthday) : null)
+                .job(job)
+                .address(address)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fastcampus2.mycontact.service.support;
+
+import com.fastcampus2.mycontact.exception.SqlProfilerDisabledException;
+import com.fastcampus2.mycontact.profiler.SqlProfiler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanExplainerTest {
+    @InjectMocks
+    private QueryPlanExplainer queryPlanExplainer;
+
+    @Mock
+    private ObjectProvider<SqlProfiler> sqlProfiler;
+
+    @Test
+    void explainWithoutProfiler() {
+        when(sqlProfiler.getIfAvailable()).thenReturn(null);
+
+        assertThrows(SqlProfilerDisabledException.class, () -> queryPlanExplainer.explain(() -> {
+        }));
+    }
+}
@@ -0,0 +1,128 @@
+package com.fastcampus2.mycontact.service.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int CALLERS = 32;
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "martin";
+        }));
+
+        awaitInFlight();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("martin");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    void failurePropagatesToAllWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new IllegalStateException("db down");
+        }));
+
+        awaitInFlight();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class).hasMessage("db down");
+        }
+        assertThat(singleFlight.inFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    void differentKeysLoadIndependently() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "martin" + loads.incrementAndGet());
+        singleFlight.execute(2L, () -> "david" + loads.incrementAndGet());
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void completedLoadIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "martin" + loads.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "martin" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("martin2");
+    }
+
+    @Test
+    void loadCanBeRetriedAfterFailure() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertThat(singleFlight.execute(1L, () -> "martin")).isEqualTo("martin");
+    }
+
+    private List<Future<String>> submitAll(Callable<String> task) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                ready.await();
+                return task.call();
+            }));
+        }
+
+        ready.await(5, TimeUnit.SECONDS);
+
+        return results;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (singleFlight.inFlightCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        // 나머지 호출들이 leader 에 합류할 시간을 준다.
+        Thread.sleep(100);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}